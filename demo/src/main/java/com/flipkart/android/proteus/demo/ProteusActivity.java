@@ -17,6 +17,7 @@
 package com.flipkart.android.proteus.demo;
 
 import android.content.DialogInterface;
+import android.os.AsyncTask;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.Menu;
@@ -25,6 +26,7 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Toast;
 
+import com.flipkart.android.proteus.AsyncProteusInflater;
 import com.flipkart.android.proteus.LayoutManager;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusLayoutInflater;
@@ -53,6 +55,7 @@ public class ProteusActivity extends AppCompatActivity implements ProteusManager
 
   private ProteusManager proteusManager;
   private ProteusLayoutInflater layoutInflater;
+  private AsyncProteusInflater asyncInflater;
 
   ObjectValue data;
   Layout layout;
@@ -145,6 +148,7 @@ public class ProteusActivity extends AppCompatActivity implements ProteusManager
       .build();
 
     layoutInflater = context.getInflater();
+    asyncInflater = new AsyncProteusInflater(context, AsyncTask.THREAD_POOL_EXECUTOR);
   }
 
   @Override
@@ -206,16 +210,24 @@ public class ProteusActivity extends AppCompatActivity implements ProteusManager
 
   void render() {
 
-    // remove the current view
-    container.removeAllViews();
+    // Inflate a new view using proteus, off the main thread
+    final long start = System.currentTimeMillis();
+    asyncInflater.inflate(layout, data, container, 0, new AsyncProteusInflater.Callback() {
+      @Override
+      public void onInflated(@NonNull ProteusView view) {
+        System.out.println("inflate time: " + (System.currentTimeMillis() - start));
 
-    // Inflate a new view using proteus
-    long start = System.currentTimeMillis();
-    view = layoutInflater.inflate(layout, data, container, 0);
-    System.out.println("inflate time: " + (System.currentTimeMillis() - start));
+        // replace the current view with the inflated view
+        container.removeAllViews();
+        ProteusActivity.this.view = view;
+        container.addView(view.getAsView());
+      }
 
-    // Add the inflated view to the container
-    container.addView(view.getAsView());
+      @Override
+      public void onError(@NonNull ProteusInflateException e) {
+        Toast.makeText(ProteusActivity.this, e.getMessage(), Toast.LENGTH_SHORT).show();
+      }
+    });
   }
 
   void reload() {
@@ -25,17 +25,18 @@ import com.flipkart.android.proteus.ViewTypeParser;
 import com.flipkart.android.proteus.processor.AttributeProcessor;
 import com.flipkart.android.proteus.value.Array;
 import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.BooleanPrimitive;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.Null;
 import com.flipkart.android.proteus.value.ObjectValue;
 import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.StringPrimitive;
 import com.flipkart.android.proteus.value.Value;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.internal.JsonReaderInternalAccess;
-import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
@@ -78,9 +79,9 @@ public class ProteusTypeAdapterFactory implements TypeAdapterFactory {
           return compileString(getContext(), in.nextString());
         case NUMBER:
           String number = in.nextString();
-          return new Primitive(new LazilyParsedNumber(number));
+          return Primitive.parseNumber(number);
         case BOOLEAN:
-          return new Primitive(in.nextBoolean());
+          return BooleanPrimitive.valueOf(in.nextBoolean());
         case NULL:
           in.nextNull();
           return Null.INSTANCE;
@@ -255,9 +256,9 @@ public class ProteusTypeAdapterFactory implements TypeAdapterFactory {
           return compileString(getContext(), in.nextString());
         case NUMBER:
           String number = in.nextString();
-          return new Primitive(new LazilyParsedNumber(number));
+          return Primitive.parseNumber(number);
         case BOOLEAN:
-          return new Primitive(in.nextBoolean());
+          return BooleanPrimitive.valueOf(in.nextBoolean());
         case NULL:
           in.nextNull();
           return Null.INSTANCE;
@@ -407,7 +408,7 @@ public class ProteusTypeAdapterFactory implements TypeAdapterFactory {
     if (Binding.isBindingValue(string)) {
       return Binding.valueOf(string, context, PROTEUS_INSTANCE_HOLDER.getProteus().functions);
     } else {
-      return new Primitive(string);
+      return new StringPrimitive(string);
     }
   }
 
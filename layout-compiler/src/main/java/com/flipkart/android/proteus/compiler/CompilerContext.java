@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.compiler;
+
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+
+import androidx.annotation.NonNull;
+
+/**
+ * CompilerContext
+ * <p>
+ * A {@link android.content.Context} for compiling layouts on the host. It only
+ * knows the package name of the application, which is used to look up the
+ * generated {@code R} classes. Resource references are resolved by the
+ * {@link LayoutCompiler} before the values are handed to the processors, so
+ * {@link #getResources()} is never expected to be called.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class CompilerContext extends ContextWrapper {
+
+  @NonNull
+  private final String packageName;
+
+  public CompilerContext(@NonNull String packageName) {
+    super(null);
+    this.packageName = packageName;
+  }
+
+  @Override
+  public String getPackageName() {
+    return packageName;
+  }
+
+  @Override
+  public Resources getResources() {
+    throw new UnsupportedOperationException("resources are not available while compiling layouts");
+  }
+}
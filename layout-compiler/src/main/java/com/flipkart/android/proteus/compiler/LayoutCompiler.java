@@ -0,0 +1,357 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.compiler;
+
+import com.flipkart.android.proteus.Function;
+import com.flipkart.android.proteus.Proteus;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.binary.BundleWriter;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.BooleanPrimitive;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.Null;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StringPrimitive;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * LayoutCompiler
+ * <p>
+ * Compiles the JSON layouts and styles into a bundle which can be opened on the device
+ * with {@link com.flipkart.android.proteus.binary.LayoutBundle}. Every attribute is
+ * resolved against the {@link Proteus} instance and precompiled by its processor,
+ * bindings are parsed and resource references are resolved from the generated
+ * {@code R} classes of the application, which must be on the class path.
+ * </p>
+ * <p>
+ * Unlike the JSON adapters, the compiler is strict: unknown attributes, unknown
+ * functions, malformed bindings and missing resources fail the compilation. Keys
+ * which are meant to be read from {@link Layout#extras} must be allowed with
+ * {@link #allowExtra(String)}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class LayoutCompiler {
+
+  private static final String RESOURCE_PREFIX = "@";
+  private static final String RESOURCE_TYPE_DELIMITER = "/";
+  private static final String STYLE_ATTRIBUTE_DELIMITER = ":";
+
+  @NonNull
+  private final Proteus proteus;
+
+  @NonNull
+  private final CompilerContext context;
+
+  @NonNull
+  private final BundleWriter writer = new BundleWriter();
+
+  @NonNull
+  private final Set<String> extras = new HashSet<>();
+
+  public LayoutCompiler(@NonNull Proteus proteus, @NonNull CompilerContext context) {
+    this.proteus = proteus;
+    this.context = context;
+    this.extras.add(ProteusConstants.LAYOUT);
+  }
+
+  public LayoutCompiler allowExtra(@NonNull String name) {
+    extras.add(name);
+    return this;
+  }
+
+  public LayoutCompiler addLayouts(@NonNull Reader reader) throws CompilerException {
+    return addLayouts(parse(reader));
+  }
+
+  public LayoutCompiler addLayouts(@NonNull JsonObject layouts) throws CompilerException {
+    for (Map.Entry<String, JsonElement> entry : layouts.entrySet()) {
+      String path = entry.getKey();
+      Value value = compile(path, entry.getValue());
+      if (!value.isLayout()) {
+        throw new CompilerException(path, "is not a layout of a known view type");
+      }
+      writer.addLayout(entry.getKey(), value.getAsLayout());
+    }
+    return this;
+  }
+
+  public LayoutCompiler addStyles(@NonNull Reader reader) throws CompilerException {
+    return addStyles(parse(reader));
+  }
+
+  public LayoutCompiler addStyles(@NonNull JsonObject styles) throws CompilerException {
+    for (Map.Entry<String, JsonElement> entry : styles.entrySet()) {
+      String path = entry.getKey();
+      if (!entry.getValue().isJsonObject()) {
+        throw new CompilerException(path, "a style must be an object");
+      }
+      Map<String, Value> style = new LinkedHashMap<>();
+      for (Map.Entry<String, JsonElement> attribute : entry.getValue().getAsJsonObject().entrySet()) {
+        String key = path + "." + attribute.getKey();
+        style.put(attribute.getKey(), precompile(key, compile(key, attribute.getValue())));
+      }
+      writer.addStyle(entry.getKey(), style);
+    }
+    return this;
+  }
+
+  public void writeTo(@NonNull OutputStream out) throws IOException {
+    writer.writeTo(out);
+  }
+
+  @NonNull
+  private JsonObject parse(@NonNull Reader reader) throws CompilerException {
+    JsonElement element;
+    try {
+      element = new JsonParser().parse(reader);
+    } catch (RuntimeException e) {
+      throw new CompilerException("$", "malformed json", e);
+    }
+    if (!element.isJsonObject()) {
+      throw new CompilerException("$", "expected a map of names to values");
+    }
+    return element.getAsJsonObject();
+  }
+
+  @NonNull
+  private Value compile(@NonNull String path, @NonNull JsonElement element) throws CompilerException {
+    if (element.isJsonNull()) {
+      return Null.INSTANCE;
+    } else if (element.isJsonPrimitive()) {
+      JsonPrimitive primitive = element.getAsJsonPrimitive();
+      if (primitive.isBoolean()) {
+        return BooleanPrimitive.valueOf(primitive.getAsBoolean());
+      } else if (primitive.isNumber()) {
+        return Primitive.parseNumber(primitive.getAsString());
+      } else {
+        return compile(path, primitive.getAsString());
+      }
+    } else if (element.isJsonArray()) {
+      Array array = new Array();
+      int index = 0;
+      for (JsonElement item : element.getAsJsonArray()) {
+        array.add(compile(path + "[" + index + "]", item));
+        index++;
+      }
+      return array;
+    } else {
+      JsonObject object = element.getAsJsonObject();
+      JsonElement type = object.get(ProteusConstants.TYPE);
+      if (null != type && type.isJsonPrimitive() && proteus.has(type.getAsString())) {
+        return compileLayout(path, type.getAsString(), object);
+      }
+      ObjectValue value = new ObjectValue();
+      for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+        value.add(entry.getKey(), compile(path + "." + entry.getKey(), entry.getValue()));
+      }
+      return value;
+    }
+  }
+
+  @NonNull
+  private Value compile(@NonNull String path, @NonNull String string) throws CompilerException {
+    if (!Binding.isBindingValue(string)) {
+      return new StringPrimitive(string);
+    }
+    Binding binding;
+    try {
+      binding = Binding.valueOf(string, context, proteus.functions);
+    } catch (RuntimeException e) {
+      throw new CompilerException(path, "malformed binding " + string, e);
+    }
+    verify(path, binding);
+    return binding;
+  }
+
+  @NonNull
+  private Layout compileLayout(@NonNull String path, @NonNull String type, @NonNull JsonObject object) throws CompilerException {
+    List<Layout.Attribute> attributes = new ArrayList<>();
+    Map<String, Value> data = null;
+    ObjectValue extras = new ObjectValue();
+    String name, key;
+    for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+      name = entry.getKey();
+      key = path + "." + name;
+      if (ProteusConstants.TYPE.equals(name)) {
+        continue;
+      }
+      if (ProteusConstants.DATA.equals(name)) {
+        data = compileData(key, entry.getValue());
+        continue;
+      }
+      ViewTypeParser.AttributeSet.Attribute attribute = proteus.getAttributeId(name, type);
+      if (null != attribute) {
+        Value value = resolve(key, compile(key, entry.getValue()));
+        try {
+          value = attribute.processor.precompile(value, context, proteus.functions);
+        } catch (RuntimeException e) {
+          throw new CompilerException(key, "could not be compiled", e);
+        }
+        attributes.add(new Layout.Attribute(attribute.id, value));
+        writer.addAttribute(type, name, attribute.id);
+      } else if (this.extras.contains(name)) {
+        extras.add(name, compile(key, entry.getValue()));
+      } else {
+        throw new CompilerException(key, "unknown attribute '" + name + "' for type '" + type + "'");
+      }
+    }
+    return new Layout(type, attributes.size() > 0 ? attributes : null, data, extras.entrySet().size() > 0 ? extras : null);
+  }
+
+  @NonNull
+  private Map<String, Value> compileData(@NonNull String path, @NonNull JsonElement element) throws CompilerException {
+    Map<String, Value> data = new LinkedHashMap<>();
+    if (element.isJsonNull()) {
+      return data;
+    }
+    if (!element.isJsonObject()) {
+      throw new CompilerException(path, "data must be a Map<String, String>.");
+    }
+    for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+      String key = path + "." + entry.getKey();
+      data.put(entry.getKey(), precompile(key, compile(key, entry.getValue())));
+    }
+    return data;
+  }
+
+  /**
+   * The equivalent of {@link AttributeProcessor#staticPreCompile(Value, android.content.Context,
+   * com.flipkart.android.proteus.FunctionManager)} for values which are not bound to a processor.
+   */
+  @NonNull
+  private Value precompile(@NonNull String path, @NonNull Value value) throws CompilerException {
+    if (value.isPrimitive()) {
+      return resolve(path, value);
+    } else if (value.isObject()) {
+      Value binding = value.getAsObject().get(NestedBinding.NESTED_BINDING_KEY);
+      if (null != binding) {
+        return NestedBinding.valueOf(binding);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Resolves all the resource references in the value, including the ones nested
+   * in objects and arrays, eg. in the definition of a drawable.
+   */
+  @NonNull
+  private Value resolve(@NonNull String path, @NonNull Value value) throws CompilerException {
+    if (value.isPrimitive() && value.getAsPrimitive().isString()) {
+      return resolve(path, value.getAsString());
+    } else if (value.isObject()) {
+      ObjectValue object = value.getAsObject();
+      for (Map.Entry<String, Value> entry : object.entrySet()) {
+        entry.setValue(resolve(path + "." + entry.getKey(), entry.getValue()));
+      }
+    } else if (value.isArray()) {
+      Array array = value.getAsArray();
+      for (int i = 0; i < array.size(); i++) {
+        array.set(i, resolve(path + "[" + i + "]", array.get(i)));
+      }
+    }
+    return value;
+  }
+
+  @NonNull
+  private Value resolve(@NonNull String path, @NonNull String string) throws CompilerException {
+    Value resource = null;
+    if (Resource.isResource(string)) {
+      int separator = string.indexOf(RESOURCE_TYPE_DELIMITER);
+      String type = string.substring(RESOURCE_PREFIX.length(), separator);
+      Integer id = getIdentifier(type, string.substring(separator + 1));
+      resource = null != id ? Resource.valueOf(id) : null;
+    } else if (AttributeResource.isAttributeResource(string)) {
+      resource = AttributeResource.valueOf(string, context);
+    } else if (StyleResource.isStyleResource(string) && string.contains(STYLE_ATTRIBUTE_DELIMITER)) {
+      resource = StyleResource.valueOf(string, context);
+    } else {
+      return new StringPrimitive(string);
+    }
+    if (null == resource) {
+      throw new CompilerException(path, "unknown resource " + string);
+    }
+    return resource;
+  }
+
+  @Nullable
+  private Integer getIdentifier(@NonNull String type, @NonNull String name) {
+    try {
+      Class<?> clazz = Class.forName(context.getPackageName() + ".R$" + type);
+      return clazz.getField(name).getInt(null);
+    } catch (ClassNotFoundException | NoSuchFieldException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private void verify(@NonNull String path, @NonNull Value value) throws CompilerException {
+    if (value instanceof Binding.DataBinding) {
+      Iterator<Binding.Token> tokens = ((Binding.DataBinding) value).getTokens();
+      if (!tokens.hasNext()) {
+        throw new CompilerException(path, "empty data binding " + value);
+      }
+      while (tokens.hasNext()) {
+        Binding.Token token = tokens.next();
+        if (token.value.isEmpty()
+          || token.value.indexOf(Binding.DELIMITER_ARRAY_OPENING) >= 0
+          || token.value.indexOf(Binding.DELIMITER_ARRAY_CLOSING) >= 0) {
+          throw new CompilerException(path, "malformed data binding " + value);
+        }
+        if (token.isArrayIndex && (token.opcode == Binding.Token.OPCODE_KEY || token.opcode == Binding.Token.OPCODE_EMPTY)) {
+          throw new CompilerException(path, "invalid array index '" + token.value + "' in " + value);
+        }
+      }
+    } else if (value instanceof Binding.FunctionBinding) {
+      Binding.FunctionBinding binding = (Binding.FunctionBinding) value;
+      if (Function.NOOP == binding.function) {
+        throw new CompilerException(path, "unknown function in " + value);
+      }
+      Iterator<Value> arguments = binding.getTokens();
+      while (arguments.hasNext()) {
+        verify(path, arguments.next());
+      }
+    }
+  }
+}
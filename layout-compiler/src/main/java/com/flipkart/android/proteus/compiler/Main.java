@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.compiler;
+
+import com.flipkart.android.proteus.Proteus;
+import com.flipkart.android.proteus.ProteusBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Main
+ * <p>
+ * Command line entry point of the layout compiler.
+ * <pre>
+ * --package &lt;name&gt;    package of the application, used to find its R classes
+ * --layouts &lt;file&gt;    json map of layout names to layouts, eg. data/layouts.json
+ * --styles &lt;file&gt;     json map of style names to styles, eg. data/styles.json
+ * --module &lt;class&gt;    a {@link ProteusBuilder.Module} to register, may be repeated
+ * --extra &lt;name&gt;      a key which is allowed in the layout extras, may be repeated
+ * --out &lt;file&gt;        the bundle to write
+ * </pre>
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class Main {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  public static void main(String[] args) throws Exception {
+    String packageName = null, layouts = null, styles = null, out = null;
+    List<String> modules = new ArrayList<>();
+    List<String> extras = new ArrayList<>();
+
+    for (int i = 0; i < args.length; i++) {
+      String value = i + 1 < args.length ? args[i + 1] : null;
+      switch (args[i]) {
+        case "--package":
+          packageName = value;
+          break;
+        case "--layouts":
+          layouts = value;
+          break;
+        case "--styles":
+          styles = value;
+          break;
+        case "--module":
+          modules.add(value);
+          break;
+        case "--extra":
+          extras.add(value);
+          break;
+        case "--out":
+          out = value;
+          break;
+        default:
+          usage("unknown option " + args[i]);
+      }
+      i++;
+    }
+
+    if (null == packageName || null == out || (null == layouts && null == styles)) {
+      usage("--package, --out and one of --layouts or --styles are required");
+    }
+
+    ProteusBuilder builder = new ProteusBuilder();
+    for (String module : modules) {
+      builder.register((ProteusBuilder.Module) Class.forName(module).getDeclaredConstructor().newInstance());
+    }
+    Proteus proteus = builder.build();
+
+    //noinspection ConstantConditions
+    LayoutCompiler compiler = new LayoutCompiler(proteus, new CompilerContext(packageName));
+    for (String extra : extras) {
+      compiler.allowExtra(extra);
+    }
+
+    try {
+      if (null != layouts) {
+        try (Reader reader = open(layouts)) {
+          compiler.addLayouts(reader);
+        }
+      }
+      if (null != styles) {
+        try (Reader reader = open(styles)) {
+          compiler.addStyles(reader);
+        }
+      }
+    } catch (CompilerException e) {
+      System.err.println("error: " + e.getMessage());
+      System.exit(1);
+    }
+
+    //noinspection ConstantConditions
+    try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(new File(out)))) {
+      compiler.writeTo(stream);
+    }
+  }
+
+  private static Reader open(String path) throws IOException {
+    return new InputStreamReader(new FileInputStream(new File(path)), UTF_8);
+  }
+
+  private static void usage(String message) {
+    System.err.println("error: " + message);
+    System.err.println("usage: --package <name> [--layouts <file>] [--styles <file>] [--module <class>]... [--extra <name>]... --out <file>");
+    System.exit(2);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.compiler;
+
+import com.flipkart.android.proteus.Proteus;
+import com.flipkart.android.proteus.ProteusBuilder;
+import com.flipkart.android.proteus.binary.LayoutBundle;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Dimension;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+
+/**
+ * LayoutCompilerTest
+ *
+ * @author adityasharat
+ */
+public class LayoutCompilerTest {
+
+  private static final String LAYOUTS = "{"
+    + "  'Example': {"
+    + "    'type': 'LinearLayout',"
+    + "    'layout_width': 'match_parent',"
+    + "    'padding': '16dp',"
+    + "    'background': '@drawable/btn_default',"
+    + "    'data': { 'name': '@{user.name}' },"
+    + "    'children': ["
+    + "      { 'type': 'TextView', 'text': '@{fn:join(@{name},@{user.surname})}', 'textSize': '12sp' },"
+    + "      { 'type': 'include', 'layout': 'Other' }"
+    + "    ]"
+    + "  }"
+    + "}";
+
+  private static final String STYLES = "{ 'title': { 'textSize': '18sp', 'textColor': '@color/black' } }";
+
+  private final Proteus proteus = new ProteusBuilder().build();
+
+  private LayoutCompiler compiler() {
+    // resolve resources against the framework R classes
+    return new LayoutCompiler(proteus, new CompilerContext("android"));
+  }
+
+  private LayoutBundle bundle(LayoutCompiler compiler) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    compiler.writeTo(out);
+    return new LayoutBundle(out.toByteArray(), proteus);
+  }
+
+  @Test
+  public void compile_layouts() throws Exception {
+    LayoutBundle bundle = bundle(compiler().addLayouts(new StringReader(LAYOUTS)));
+    Layout layout = bundle.getLayout("Example");
+
+    assertThat(layout.type, is("LinearLayout"));
+    assertThat(layout.data.get("name"), instanceOf(Binding.DataBinding.class));
+
+    for (Layout.Attribute attribute : layout.attributes) {
+      if (attribute.id == proteus.getAttributeId("padding", "LinearLayout").id) {
+        assertThat(((Dimension) attribute.value).unit, is(Dimension.DIMENSION_UNIT_DP));
+      } else if (attribute.id == proteus.getAttributeId("background", "LinearLayout").id) {
+        assertThat(((Resource) attribute.value).resId, is(android.R.drawable.btn_default));
+      } else if (attribute.id == proteus.getAttributeId("children", "LinearLayout").id) {
+        Layout text = attribute.value.getAsArray().get(0).getAsLayout();
+        assertThat(text.attributes.get(0).value, instanceOf(Binding.FunctionBinding.class));
+        Layout include = attribute.value.getAsArray().get(1).getAsLayout();
+        assertThat(include.extras.getAsString("layout"), is("Other"));
+      }
+    }
+  }
+
+  @Test
+  public void fold_constant_bindings() throws Exception {
+    LayoutBundle bundle = bundle(compiler().addLayouts(new StringReader("{ 'a': { 'type': 'TextView', 'text': '@{fn:add(1,2)}' } }")));
+    Value value = bundle.getLayout("a").attributes.get(0).value;
+
+    assertThat(value.isBinding(), is(false));
+    assertThat(value.getAsDouble(), is(3.0));
+  }
+
+  @Test
+  public void compile_styles() throws Exception {
+    LayoutBundle bundle = bundle(compiler().addStyles(new StringReader(STYLES)));
+    Map<String, Value> style = bundle.getStyles().get("title");
+
+    assertThat(style.get("textSize").getAsString(), is("18sp"));
+    assertThat(((Resource) style.get("textColor")).resId, is(android.R.color.black));
+  }
+
+  @Test(expected = CompilerException.class)
+  public void unknown_attribute() throws Exception {
+    compiler().addLayouts(new StringReader("{ 'a': { 'type': 'View', 'colour': '#fff' } }"));
+  }
+
+  @Test(expected = CompilerException.class)
+  public void unknown_function() throws Exception {
+    compiler().addLayouts(new StringReader("{ 'a': { 'type': 'TextView', 'text': '@{fn:concat(@{a},@{b})}' } }"));
+  }
+
+  @Test(expected = CompilerException.class)
+  public void malformed_binding() throws Exception {
+    compiler().addLayouts(new StringReader("{ 'a': { 'type': 'TextView', 'text': '@{a[b]}' } }"));
+  }
+
+  @Test(expected = CompilerException.class)
+  public void unknown_resource() throws Exception {
+    compiler().addLayouts(new StringReader("{ 'a': { 'type': 'View', 'background': '@drawable/does_not_exist' } }"));
+  }
+
+  @Test(expected = CompilerException.class)
+  public void unknown_type() throws Exception {
+    compiler().addLayouts(new StringReader("{ 'a': { 'type': 'Unknown' } }"));
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * AsyncProteusInflater
+ *
+ * <p>
+ * Inflates a {@link Layout} on the threads of an {@link Executor}. The detached view tree is
+ * built and all the attributes are processed in the background, and the {@link ProteusView}
+ * is delivered to the {@link Callback} on the main thread. Views which cannot be created in
+ * the background, eg. because they need a {@link Looper}, fail the background inflation; the
+ * layout is then inflated again on the main thread.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class AsyncProteusInflater {
+
+  private static final String TAG = "AsyncProteusInflater";
+
+  @NonNull
+  private final ProteusContext context;
+
+  @NonNull
+  private final ProteusLayoutInflater inflater;
+
+  @NonNull
+  private final Executor executor;
+
+  @NonNull
+  private final Handler handler;
+
+  public AsyncProteusInflater(@NonNull ProteusContext context, @NonNull Executor executor) {
+    this.context = context;
+    this.inflater = context.getInflater();
+    this.executor = executor;
+    this.handler = new Handler(Looper.getMainLooper());
+  }
+
+  /**
+   * Inflates the layout in the background and delivers the view on the main thread.
+   *
+   * @param layout    the layout to inflate.
+   * @param data      the data to bind the layout with.
+   * @param parent    the parent the view will be added to, it is only read in the background.
+   * @param dataIndex the data index of the view.
+   * @param callback  the callback to deliver the view to.
+   */
+  public void inflate(@NonNull final Layout layout, @NonNull final ObjectValue data, @Nullable final ViewGroup parent,
+                      final int dataIndex, @NonNull final Callback callback) {
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        ProteusView view;
+        try {
+          view = inflater.inflate(layout, data, parent, dataIndex);
+        } catch (ProteusInflateException e) {
+          deliver(e, callback);
+          return;
+        } catch (RuntimeException e) {
+          if (ProteusConstants.isLoggingEnabled()) {
+            Log.w(TAG, "could not inflate in the background, inflating on the main thread", e);
+          }
+          view = null;
+        }
+        deliver(view, layout, data, parent, dataIndex, callback);
+      }
+    });
+  }
+
+  public void inflate(@NonNull Layout layout, @NonNull ObjectValue data, @NonNull Callback callback) {
+    inflate(layout, data, null, -1, callback);
+  }
+
+  public void inflate(@NonNull String name, @NonNull ObjectValue data, @Nullable ViewGroup parent,
+                      int dataIndex, @NonNull Callback callback) {
+    Layout layout = context.getLayout(name);
+    if (null == layout) {
+      deliver(new ProteusInflateException("layout : '" + name + "' not found"), callback);
+      return;
+    }
+    inflate(layout, data, parent, dataIndex, callback);
+  }
+
+  public void inflate(@NonNull String name, @NonNull ObjectValue data, @NonNull Callback callback) {
+    inflate(name, data, null, -1, callback);
+  }
+
+  private void deliver(@Nullable final ProteusView view, @NonNull final Layout layout, @NonNull final ObjectValue data,
+                       @Nullable final ViewGroup parent, final int dataIndex, @NonNull final Callback callback) {
+    handler.post(new Runnable() {
+      @Override
+      public void run() {
+        ProteusView result = view;
+        if (null == result) {
+          try {
+            result = inflater.inflate(layout, data, parent, dataIndex);
+          } catch (ProteusInflateException e) {
+            callback.onError(e);
+            return;
+          }
+        }
+        callback.onInflated(result);
+      }
+    });
+  }
+
+  private void deliver(@NonNull final ProteusInflateException e, @NonNull final Callback callback) {
+    handler.post(new Runnable() {
+      @Override
+      public void run() {
+        callback.onError(e);
+      }
+    });
+  }
+
+  /**
+   * Callback
+   *
+   * @author adityasharat
+   */
+  public interface Callback {
+
+    /**
+     * Called on the main thread with the inflated view, which is not attached to the parent.
+     *
+     * @param view the inflated view.
+     */
+    void onInflated(@NonNull ProteusView view);
+
+    /**
+     * Called on the main thread if the layout could not be inflated.
+     *
+     * @param e the reason.
+     */
+    void onError(@NonNull ProteusInflateException e);
+  }
+}
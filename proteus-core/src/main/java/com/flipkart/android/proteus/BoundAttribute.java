@@ -18,21 +18,36 @@ package com.flipkart.android.proteus;
 
 import com.flipkart.android.proteus.managers.ViewManager;
 import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Color;
+import com.flipkart.android.proteus.value.Dimension;
 import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.concurrent.atomic.AtomicLong;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 /**
  * BoundAttribute holds the attribute id to binding pair
  * which is used in the update flow of a {@link ProteusView}
  * which is executed when {@link ViewManager#update(ObjectValue)}
  * is invoked.
+ * <p>
+ * It also remembers the last immutable value the binding evaluated to,
+ * so that the attribute is not applied again if the value is the same.
+ * </p>
  *
  * @author kirankumar
  * @author adityasharat
  */
 public class BoundAttribute {
 
+  private static final AtomicLong applied = new AtomicLong();
+
+  private static final AtomicLong skipped = new AtomicLong();
+
   /**
    * The {@code int} attribute id of the pair.
    */
@@ -44,8 +59,78 @@ public class BoundAttribute {
   @NonNull
   public final Binding binding;
 
+  /**
+   * The last value applied, {@code null} if it was not applied or is mutable.
+   */
+  @Nullable
+  private Value last;
+
   public BoundAttribute(int attributeId, @NonNull Binding binding) {
     this.attributeId = attributeId;
     this.binding = binding;
   }
+
+  /**
+   * Checks if the value is the same as the last value applied, and remembers it if not.
+   * Only {@link Primitive}, {@link Dimension}, {@link Color} and null values are compared,
+   * every other value is mutable and is always considered changed. Primitives are the same
+   * only if they are equal and print the same.
+   *
+   * @param value the evaluated value of the {@link #binding}.
+   * @return {@code true} if the attribute must be applied else {@code false}.
+   */
+  public boolean hasChanged(@NonNull Value value) {
+    if (null != last && isSame(last, value)) {
+      skipped.incrementAndGet();
+      return false;
+    }
+    last = isImmutable(value) ? value : null;
+    applied.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Forgets the last value applied, so that the attribute is applied on the next update.
+   */
+  public void reset() {
+    last = null;
+  }
+
+  /**
+   * @return the number of bound attributes applied since the last {@link #resetCounts()}.
+   */
+  public static long getAppliedCount() {
+    return applied.get();
+  }
+
+  /**
+   * @return the number of bound attributes which were not applied because their value
+   * did not change, since the last {@link #resetCounts()}.
+   */
+  public static long getSkippedCount() {
+    return skipped.get();
+  }
+
+  public static void resetCounts() {
+    applied.set(0);
+    skipped.set(0);
+  }
+
+  private static boolean isImmutable(Value value) {
+    return value.isPrimitive() || value.isNull() || value.isDimension() || value.isColor();
+  }
+
+  private static boolean isSame(Value a, Value b) {
+    if (a == b) {
+      return true;
+    } else if (a.isPrimitive() && b.isPrimitive()) {
+      // equal numbers may still print differently, eg. 1 and 1.0
+      return a.equals(b) && a.getAsString().equals(b.getAsString());
+    } else if (a.isDimension() && b.isDimension()) {
+      return a.getAsDimension().value == b.getAsDimension().value && a.getAsDimension().unit == b.getAsDimension().unit;
+    } else if (a instanceof Color.Int && b instanceof Color.Int) {
+      return ((Color.Int) a).value == ((Color.Int) b).value;
+    }
+    return false;
+  }
 }
@@ -17,6 +17,7 @@
 package com.flipkart.android.proteus;
 
 import com.flipkart.android.proteus.managers.ViewManager;
+import com.flipkart.android.proteus.toolbox.EvaluationCache;
 import com.flipkart.android.proteus.value.Binding.FunctionBinding;
 import com.flipkart.android.proteus.value.Null;
 import com.flipkart.android.proteus.value.ObjectValue;
@@ -59,9 +60,10 @@ public class DataContext {
   /**
    * This index is used to resolve the {@code $index} meta
    * values when dealing with arrays and data bound
-   * {@code children} attribute.
+   * {@code children} attribute. It changes when a data
+   * bound child is moved to another position.
    */
-  private final int index;
+  private int index;
 
   /**
    * The data which will be used to bind all data bound
@@ -149,19 +151,25 @@ public class DataContext {
 
     ObjectValue out = new ObjectValue();
 
-    for (Map.Entry<String, Value> entry : scope.entrySet()) {
-      String key = entry.getKey();
-      Value value = entry.getValue();
-      Value resolved;
-      if (value.isBinding()) {
-        resolved = value.getAsBinding().evaluate(context, out, index);
-        if (resolved == Null.INSTANCE) {
-          resolved = value.getAsBinding().evaluate(context, in, index);
+    // the scope is evaluated on out while it is being built, do not memoize those values
+    EvaluationCache.suspend();
+    try {
+      for (Map.Entry<String, Value> entry : scope.entrySet()) {
+        String key = entry.getKey();
+        Value value = entry.getValue();
+        Value resolved;
+        if (value.isBinding()) {
+          resolved = value.getAsBinding().evaluate(context, out, index);
+          if (resolved == Null.INSTANCE) {
+            resolved = value.getAsBinding().evaluate(context, in, index);
+          }
+        } else {
+          resolved = value;
         }
-      } else {
-        resolved = value;
+        out.add(key, resolved);
       }
-      out.add(key, resolved);
+    } finally {
+      EvaluationCache.resume();
     }
 
     data = out;
@@ -209,4 +217,14 @@ public class DataContext {
   public int getIndex() {
     return index;
   }
+
+  /**
+   * Sets the data index, eg. when a keyed data bound child is moved. The
+   * scope is evaluated with the new index on the next {@link #update}.
+   *
+   * @param index the new data index.
+   */
+  public void setIndex(int index) {
+    this.index = index;
+  }
 }
@@ -16,13 +16,18 @@
 
 package com.flipkart.android.proteus;
 
-import android.annotation.SuppressLint;
 import android.content.Context;
 
 import com.flipkart.android.proteus.parser.ParseHelper;
+import com.flipkart.android.proteus.toolbox.FormatTemplate;
+import com.flipkart.android.proteus.toolbox.Formatters;
 import com.flipkart.android.proteus.toolbox.Utils;
 import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.BooleanPrimitive;
+import com.flipkart.android.proteus.value.DoublePrimitive;
+import com.flipkart.android.proteus.value.IntPrimitive;
 import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.StringPrimitive;
 import com.flipkart.android.proteus.value.Value;
 
 import java.math.RoundingMode;
@@ -52,33 +57,32 @@ public abstract class Function {
     }
   };
 
-  @SuppressLint("SimpleDateFormat")
   public static final Function DATE = new Function() {
 
-    private SimpleDateFormat from = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-    private SimpleDateFormat to = new SimpleDateFormat("E, d MMM");
+    private static final String FROM_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    private static final String TO_FORMAT = "E, d MMM";
 
     @NonNull
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
       Date in = getFromFormat(arguments).parse(arguments[0].getAsString());
       String out = getToFormat(arguments).format(in);
-      return new Primitive(out);
+      return new StringPrimitive(out);
     }
 
     private SimpleDateFormat getFromFormat(Value[] arguments) {
       if (arguments.length > 2) {
-        return new SimpleDateFormat(arguments[2].getAsString());
+        return Formatters.getDateFormat(arguments[2].getAsString());
       } else {
-        return from;
+        return Formatters.getDateFormat(FROM_FORMAT);
       }
     }
 
     private SimpleDateFormat getToFormat(Value[] arguments) {
       if (arguments.length > 1) {
-        return new SimpleDateFormat(arguments[1].getAsString());
+        return Formatters.getDateFormat(arguments[1].getAsString());
       } else {
-        return to;
+        return Formatters.getDateFormat(TO_FORMAT);
       }
     }
 
@@ -92,18 +96,18 @@ public abstract class Function {
     @NonNull
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
-      String template = arguments[0].getAsString();
-      String[] values = new String[arguments.length - 1];
-      for (int i = 1; i < arguments.length; i++) {
-        values[i - 1] = arguments[i].getAsString();
-      }
-      return new Primitive(String.format(template, (Object[]) values));
+      return new StringPrimitive(FormatTemplate.valueOf(arguments[0].getAsString()).format(arguments, 1));
     }
 
     @Override
     public String getName() {
       return "format";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function JOIN = new Function() {
@@ -113,7 +117,7 @@ public abstract class Function {
     @NonNull
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
-      return new Primitive(Utils.join(arguments[0].getAsArray(), getDelimiter(arguments)));
+      return new StringPrimitive(Utils.join(arguments[0].getAsArray(), getDelimiter(arguments)));
     }
 
     private String getDelimiter(Value[] arguments) {
@@ -127,11 +131,16 @@ public abstract class Function {
     public String getName() {
       return "join";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function NUMBER = new Function() {
 
-    private final DecimalFormat DEFAULT_FORMATTER = new DecimalFormat("#,###");
+    private static final String DEFAULT_FORMAT = "#,###";
 
     @NonNull
     @Override
@@ -141,14 +150,14 @@ public abstract class Function {
       formatter.setRoundingMode(RoundingMode.FLOOR);
       formatter.setMinimumFractionDigits(0);
       formatter.setMaximumFractionDigits(2);
-      return new Primitive(formatter.format(number));
+      return new StringPrimitive(formatter.format(number));
     }
 
     private DecimalFormat getFormatter(Value[] arguments) {
       if (arguments.length > 1) {
-        return new DecimalFormat(arguments[1].getAsString());
+        return Formatters.getDecimalFormat(arguments[1].getAsString());
       }
-      return DEFAULT_FORMATTER;
+      return Formatters.getDecimalFormat(DEFAULT_FORMAT);
     }
 
     @Override
@@ -169,13 +178,36 @@ public abstract class Function {
         sum = sum + argument.getAsDouble();
       }
 
-      return new Primitive(sum);
+      return new DoublePrimitive(sum);
+    }
+
+    @NonNull
+    @Override
+    public Value call1(Context context, Value data, int dataIndex, Value x) throws Exception {
+      return new DoublePrimitive(0d + x.getAsDouble());
+    }
+
+    @NonNull
+    @Override
+    public Value call2(Context context, Value data, int dataIndex, Value x, Value y) throws Exception {
+      return new DoublePrimitive(0d + x.getAsDouble() + y.getAsDouble());
+    }
+
+    @NonNull
+    @Override
+    public Value call3(Context context, Value data, int dataIndex, Value x, Value y, Value z) throws Exception {
+      return new DoublePrimitive(0d + x.getAsDouble() + y.getAsDouble() + z.getAsDouble());
     }
 
     @Override
     public String getName() {
       return "add";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function SUBTRACT = new Function() {
@@ -188,13 +220,18 @@ public abstract class Function {
         sum = sum - arguments[i].getAsDouble();
       }
 
-      return new Primitive(sum);
+      return new DoublePrimitive(sum);
     }
 
     @Override
     public String getName() {
       return "sub";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function MULTIPLY = new Function() {
@@ -207,13 +244,18 @@ public abstract class Function {
         product = product * argument.getAsDouble();
       }
 
-      return new Primitive(product);
+      return new DoublePrimitive(product);
     }
 
     @Override
     public String getName() {
       return "mul";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function DIVIDE = new Function() {
@@ -226,13 +268,18 @@ public abstract class Function {
         quotient = quotient / arguments[i].getAsDouble();
       }
 
-      return new Primitive(quotient);
+      return new DoublePrimitive(quotient);
     }
 
     @Override
     public String getName() {
       return "div";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function MODULO = new Function() {
@@ -244,13 +291,18 @@ public abstract class Function {
         remainder = remainder % arguments[i].getAsDouble();
       }
 
-      return new Primitive(remainder);
+      return new DoublePrimitive(remainder);
     }
 
     @Override
     public String getName() {
       return "mod";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   // Logical
@@ -259,12 +311,18 @@ public abstract class Function {
     @NonNull
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
-      if (arguments.length < 1) {
+      return call(context, data, dataIndex, new ArrayArguments(arguments));
+    }
+
+    @NonNull
+    @Override
+    public Value call(Context context, Value data, int dataIndex, Arguments arguments) throws Exception {
+      if (arguments.size() < 1) {
         return ProteusConstants.FALSE;
       }
       boolean bool = true;
-      for (Value argument : arguments) {
-        bool = ParseHelper.parseBoolean(argument);
+      for (int i = 0; i < arguments.size(); i++) {
+        bool = ParseHelper.parseBoolean(arguments.get(i, context, data, dataIndex));
         if (!bool) {
           break;
         }
@@ -277,18 +335,34 @@ public abstract class Function {
     public String getName() {
       return "and";
     }
+
+    @Override
+    public boolean isLazy() {
+      return true;
+    }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function OR = new Function() {
     @NonNull
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
-      if (arguments.length < 1) {
+      return call(context, data, dataIndex, new ArrayArguments(arguments));
+    }
+
+    @NonNull
+    @Override
+    public Value call(Context context, Value data, int dataIndex, Arguments arguments) throws Exception {
+      if (arguments.size() < 1) {
         return ProteusConstants.FALSE;
       }
       boolean bool = false;
-      for (Value argument : arguments) {
-        bool = ParseHelper.parseBoolean(argument);
+      for (int i = 0; i < arguments.size(); i++) {
+        bool = ParseHelper.parseBoolean(arguments.get(i, context, data, dataIndex));
         if (bool) {
           break;
         }
@@ -301,6 +375,16 @@ public abstract class Function {
     public String getName() {
       return "or";
     }
+
+    @Override
+    public boolean isLazy() {
+      return true;
+    }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   // Unary
@@ -312,13 +396,24 @@ public abstract class Function {
       if (arguments.length < 1) {
         return ProteusConstants.TRUE;
       }
-      return ParseHelper.parseBoolean(arguments[0]) ? ProteusConstants.FALSE : ProteusConstants.TRUE;
+      return call1(context, data, dataIndex, arguments[0]);
+    }
+
+    @NonNull
+    @Override
+    public Value call1(Context context, Value data, int dataIndex, Value x) throws Exception {
+      return ParseHelper.parseBoolean(x) ? ProteusConstants.FALSE : ProteusConstants.TRUE;
     }
 
     @Override
     public String getName() {
       return "not";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   // Comparison
@@ -330,9 +425,12 @@ public abstract class Function {
       if (arguments.length < 2) {
         return ProteusConstants.FALSE;
       }
+      return call2(context, data, dataIndex, arguments[0], arguments[1]);
+    }
 
-      Value x = arguments[0];
-      Value y = arguments[1];
+    @NonNull
+    @Override
+    public Value call2(Context context, Value data, int dataIndex, Value x, Value y) throws Exception {
       boolean bool = false;
       if (x.isPrimitive() && y.isPrimitive()) {
         bool = x.getAsPrimitive().equals(y.getAsPrimitive());
@@ -345,6 +443,11 @@ public abstract class Function {
     public String getName() {
       return "eq";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function LESS_THAN = new Function() {
@@ -369,6 +472,11 @@ public abstract class Function {
     public String getName() {
       return "lt";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function GREATER_THAN = new Function() {
@@ -393,6 +501,11 @@ public abstract class Function {
     public String getName() {
       return "gt";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function LESS_THAN_OR_EQUALS = new Function() {
@@ -417,6 +530,11 @@ public abstract class Function {
     public String getName() {
       return "lte";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   public static final Function GREATER_THAN_OR_EQUALS = new Function() {
@@ -441,6 +559,11 @@ public abstract class Function {
     public String getName() {
       return "gte";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   // Conditional
@@ -449,17 +572,39 @@ public abstract class Function {
     @NonNull
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
-      Value i = arguments[0];
-      Value t = arguments[1];
-      Value e = arguments[2];
+      return call3(context, data, dataIndex, arguments[0], arguments[1], arguments[2]);
+    }
 
+    @NonNull
+    @Override
+    public Value call3(Context context, Value data, int dataIndex, Value i, Value t, Value e) throws Exception {
       return ParseHelper.parseBoolean(i) ? t : e;
     }
 
+    @NonNull
+    @Override
+    public Value call(Context context, Value data, int dataIndex, Arguments arguments) throws Exception {
+      if (ParseHelper.parseBoolean(arguments.get(0, context, data, dataIndex))) {
+        return arguments.get(1, context, data, dataIndex);
+      } else {
+        return arguments.get(2, context, data, dataIndex);
+      }
+    }
+
     @Override
     public String getName() {
       return "ternary";
     }
+
+    @Override
+    public boolean isLazy() {
+      return true;
+    }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   // String
@@ -472,13 +617,18 @@ public abstract class Function {
       String string = arguments[0].getAsString();
       int index = arguments[1].getAsInt();
       char charAtIndex = string.charAt(index);
-      return new Primitive(charAtIndex);
+      return new StringPrimitive(String.valueOf(charAtIndex));
     }
 
     @Override
     public String getName() {
       return "charAt";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   //String.contains()
@@ -489,13 +639,18 @@ public abstract class Function {
       String string = arguments[0].getAsString();
       String substring = arguments[1].getAsString();
       boolean bool = string.contains(substring);
-      return new Primitive(bool);
+      return BooleanPrimitive.valueOf(bool);
     }
 
     @Override
     public String getName() {
       return "contains";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   //String.endsWith()
@@ -507,13 +662,18 @@ public abstract class Function {
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
       String string = arguments[0].getAsString();
-      return new Primitive(ProteusConstants.EMPTY.equals(string));
+      return BooleanPrimitive.valueOf(ProteusConstants.EMPTY.equals(string));
     }
 
     @Override
     public String getName() {
       return "isEmpty";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   //String.lastIndexOf()
@@ -523,20 +683,30 @@ public abstract class Function {
     @NonNull
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
-      Value value = arguments[0];
+      return call1(context, data, dataIndex, arguments[0]);
+    }
+
+    @NonNull
+    @Override
+    public Value call1(Context context, Value data, int dataIndex, Value value) throws Exception {
       int length = 0;
       if (value.isPrimitive()) {
         length = value.getAsString().length();
       } else if (value.isArray()) {
         length = value.getAsArray().size();
       }
-      return new Primitive(length);
+      return new IntPrimitive(length);
     }
 
     @Override
     public String getName() {
       return "length";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   //String.matches()
@@ -554,14 +724,24 @@ public abstract class Function {
     @NonNull
     @Override
     public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
-      String string = arguments[0].getAsString().trim();
-      return new Primitive(string);
+      return call1(context, data, dataIndex, arguments[0]);
+    }
+
+    @NonNull
+    @Override
+    public Value call1(Context context, Value data, int dataIndex, Value x) throws Exception {
+      return new StringPrimitive(x.getAsString().trim());
     }
 
     @Override
     public String getName() {
       return "trim";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   //String.subSequence()
@@ -588,13 +768,18 @@ public abstract class Function {
           max = current;
         }
       }
-      return new Primitive(max);
+      return new DoublePrimitive(max);
     }
 
     @Override
     public String getName() {
       return "max";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   //Math.min
@@ -610,13 +795,18 @@ public abstract class Function {
           min = current;
         }
       }
-      return new Primitive(min);
+      return new DoublePrimitive(min);
     }
 
     @Override
     public String getName() {
       return "min";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   // Array
@@ -671,10 +861,114 @@ public abstract class Function {
     public String getName() {
       return "slice";
     }
+
+    @Override
+    public boolean isPure() {
+      return true;
+    }
   };
 
   @NonNull
   public abstract Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception;
 
+  /**
+   * Called instead of {@link #call(Context, Value, int, Value...)} when there are no arguments.
+   * Override it, and {@link #call1}, {@link #call2} and {@link #call3}, to avoid allocating the
+   * arguments array. By default each of them falls back to the varargs {@code call}.
+   */
+  @NonNull
+  public Value call0(Context context, Value data, int dataIndex) throws Exception {
+    return call(context, data, dataIndex);
+  }
+
+  @NonNull
+  public Value call1(Context context, Value data, int dataIndex, Value x) throws Exception {
+    return call(context, data, dataIndex, x);
+  }
+
+  @NonNull
+  public Value call2(Context context, Value data, int dataIndex, Value x, Value y) throws Exception {
+    return call(context, data, dataIndex, x, y);
+  }
+
+  @NonNull
+  public Value call3(Context context, Value data, int dataIndex, Value x, Value y, Value z) throws Exception {
+    return call(context, data, dataIndex, x, y, z);
+  }
+
+  /**
+   * Called instead of {@link #call(Context, Value, int, Value...)} for a {@link #isLazy() lazy}
+   * function. The arguments are evaluated only when they are read, so a function can skip
+   * the ones it does not need. By default all the arguments are evaluated and passed to
+   * the varargs {@code call}.
+   */
+  @NonNull
+  public Value call(Context context, Value data, int dataIndex, Arguments arguments) throws Exception {
+    Value[] values = new Value[arguments.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = arguments.get(i, context, data, dataIndex);
+    }
+    return call(context, data, dataIndex, values);
+  }
+
   public abstract String getName();
+
+  /**
+   * A lazy {@code Function} receives its arguments as {@link Arguments} which are evaluated
+   * on demand, eg. {@code fn:and}, {@code fn:or} and {@code fn:ternary} short circuit.
+   *
+   * @return {@code true} if {@link #call(Context, Value, int, Arguments)} should be used, {@code false} by default.
+   */
+  public boolean isLazy() {
+    return false;
+  }
+
+  /**
+   * A pure {@code Function} always returns the same result for the same arguments and does
+   * not read the {@code context}, {@code data} or {@code dataIndex}. Calls to a pure function
+   * with constant arguments are evaluated once, when the layout is compiled, and replaced
+   * by their result. A function whose result depends on the default {@link java.util.Locale},
+   * like {@link #NUMBER}, is not pure since the layout may be compiled on another machine.
+   *
+   * @return {@code true} if this function is pure, {@code false} by default.
+   */
+  public boolean isPure() {
+    return false;
+  }
+
+  /**
+   * Arguments
+   * <p>
+   * The arguments of a lazy function call. Each argument is evaluated on the given
+   * data when it is read, and again if it is read again.
+   * </p>
+   */
+  public static abstract class Arguments {
+
+    public abstract int size();
+
+    @NonNull
+    public abstract Value get(int index, Context context, Value data, int dataIndex);
+  }
+
+  private static class ArrayArguments extends Arguments {
+
+    @NonNull
+    private final Value[] values;
+
+    ArrayArguments(@NonNull Value[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @NonNull
+    @Override
+    public Value get(int index, Context context, Value data, int dataIndex) {
+      return values[index];
+    }
+  }
 }
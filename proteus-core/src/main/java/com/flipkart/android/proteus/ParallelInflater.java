@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * ParallelInflater
+ *
+ * <p>
+ * Inflates the independent subtrees of a {@link Layout} in parallel on a {@link ForkJoinPool}.
+ * Each view is created, managed and bound by the same steps as {@link SimpleLayoutInflater}, but
+ * its static {@code children} are split off: children with large subtrees are forked as tasks,
+ * small ones are inflated in place, and all of them are added to the view in order by the
+ * thread which created it. Work stealing balances trees with an uneven shape. The views of the
+ * layout must be safe to create off the main thread, see {@link AsyncProteusInflater}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+public class ParallelInflater {
+
+  /**
+   * The smallest number of views in a subtree for it to be inflated as a separate task.
+   */
+  public static final int DEFAULT_MIN_FORK_SIZE = 8;
+
+  private static final ThreadLocal<Node> CURRENT = new ThreadLocal<>();
+
+  @NonNull
+  private final ProteusContext context;
+
+  @NonNull
+  private final ForkJoinPool pool;
+
+  @NonNull
+  private final Inflater inflater;
+
+  private final int threshold;
+
+  public ParallelInflater(@NonNull ProteusContext context, @NonNull ForkJoinPool pool) {
+    this(context, pool, DEFAULT_MIN_FORK_SIZE);
+  }
+
+  /**
+   * @param context   the context to inflate the layouts with.
+   * @param pool      the pool to inflate the subtrees on.
+   * @param threshold the smallest number of views in a subtree for it to be forked.
+   */
+  public ParallelInflater(@NonNull ProteusContext context, @NonNull ForkJoinPool pool, int threshold) {
+    this.context = context;
+    this.pool = pool;
+    this.inflater = new Inflater(context);
+    this.threshold = threshold;
+  }
+
+  /**
+   * Inflates the layout, the subtrees are inflated on the pool while the calling thread waits.
+   *
+   * @param layout    the layout to inflate.
+   * @param data      the data to bind the layout with.
+   * @param parent    the parent the view will be added to.
+   * @param dataIndex the data index of the view.
+   * @return the inflated view.
+   */
+  @NonNull
+  public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+    return build(create(layout, data, parent, dataIndex), true);
+  }
+
+  @NonNull
+  public ProteusView inflate(@NonNull Layout layout, @NonNull ObjectValue data) {
+    return inflate(layout, data, null, -1);
+  }
+
+  @NonNull
+  private Node create(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+    Node node = new Node();
+    Node previous = CURRENT.get();
+    CURRENT.set(node);
+    try {
+      node.view = inflater.inflate(layout, data, parent, dataIndex);
+    } finally {
+      CURRENT.set(previous);
+    }
+    return node;
+  }
+
+  @NonNull
+  private ProteusView build(@NonNull Node node, boolean external) {
+    //noinspection ConstantConditions : the view is set by create()
+    ProteusView view = node.view;
+    if (null == node.children) {
+      return view;
+    }
+
+    ViewGroup group = (ViewGroup) view.getAsView();
+    Object[] children = new Object[node.children.size()];
+    Iterator<Value> iterator = node.children.iterator();
+    Layout layout;
+    Subtree task;
+    for (int i = 0; iterator.hasNext(); i++) {
+      layout = iterator.next().getAsLayout();
+      if (isLarge(layout, threshold)) {
+        task = new Subtree(layout, node.data, group, node.dataIndex);
+        if (external) {
+          pool.execute(task);
+        } else {
+          task.fork();
+        }
+        children[i] = task;
+      } else {
+        children[i] = context.getInflater().inflate(layout, node.data, group, node.dataIndex);
+      }
+    }
+
+    for (Object child : children) {
+      //noinspection ConstantConditions : the parser is set along with the children
+      node.parser.addView(view, child instanceof Subtree ? ((Subtree) child).join() : (ProteusView) child);
+    }
+    return view;
+  }
+
+  /**
+   * Checks if the layout has at least {@code size} views, counting only until it does.
+   */
+  private static boolean isLarge(@NonNull Layout layout, int size) {
+    return size - count(layout, size) <= 0;
+  }
+
+  private static int count(@NonNull Layout layout, int limit) {
+    int count = 1;
+    if (null != layout.attributes) {
+      for (Layout.Attribute attribute : layout.attributes) {
+        if (attribute.value.isArray()) {
+          Iterator<Value> iterator = attribute.value.getAsArray().iterator();
+          Value child;
+          while (count < limit && iterator.hasNext()) {
+            child = iterator.next();
+            if (child.isLayout()) {
+              count += count(child.getAsLayout(), limit - count);
+            }
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * A view, and the static children split off from it.
+   */
+  private static class Node {
+
+    @Nullable
+    ProteusView view;
+
+    @Nullable
+    ViewTypeParser parser;
+
+    @Nullable
+    Array children;
+
+    @Nullable
+    ObjectValue data;
+
+    int dataIndex;
+  }
+
+  /**
+   * Inflates a subtree on the pool.
+   */
+  private class Subtree extends RecursiveTask<ProteusView> {
+
+    @NonNull
+    private final Layout layout;
+
+    @NonNull
+    private final ObjectValue data;
+
+    @NonNull
+    private final ViewGroup parent;
+
+    private final int dataIndex;
+
+    Subtree(@NonNull Layout layout, @NonNull ObjectValue data, @NonNull ViewGroup parent, int dataIndex) {
+      this.layout = layout;
+      this.data = data;
+      this.parent = parent;
+      this.dataIndex = dataIndex;
+    }
+
+    @Override
+    protected ProteusView compute() {
+      return build(create(layout, data, parent, dataIndex), false);
+    }
+  }
+
+  /**
+   * Creates the views using the steps of {@link SimpleLayoutInflater}, but splits off the
+   * static children of the view being created.
+   */
+  private static class Inflater extends SimpleLayoutInflater {
+
+    Inflater(@NonNull ProteusContext context) {
+      super(context, context.getInflater().getIdGenerator());
+    }
+
+    @Override
+    protected boolean handleAttribute(@NonNull ViewTypeParser parser, @NonNull ProteusView view, int attribute, @NonNull Value value) {
+      Node node = CURRENT.get();
+      if (null != node && node.view == null && value.isArray()
+        && attribute == parser.getAttributeId(Attributes.ViewGroup.Children)) {
+        Iterator<Value> iterator = value.getAsArray().iterator();
+        while (iterator.hasNext()) {
+          if (!iterator.next().isLayout()) {
+            throw new ProteusInflateException("attribute  'children' must be an array of 'Layout' objects");
+          }
+        }
+        node.parser = parser;
+        node.children = value.getAsArray();
+        node.data = view.getViewManager().getDataContext().getData();
+        node.dataIndex = view.getViewManager().getDataContext().getIndex();
+        return true;
+      }
+      return super.handleAttribute(parser, view, attribute, value);
+    }
+  }
+}
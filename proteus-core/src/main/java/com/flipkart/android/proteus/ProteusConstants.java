@@ -16,7 +16,9 @@
 
 package com.flipkart.android.proteus;
 
+import com.flipkart.android.proteus.value.BooleanPrimitive;
 import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.StringPrimitive;
 
 /**
  * Contains data binding constants
@@ -28,6 +30,7 @@ public class ProteusConstants {
 
   public static final String DATA = "data";
   public static final String COLLECTION = "collection";
+  public static final String KEY = "key";
 
   public static final String DATA_NULL = "null";
 
@@ -35,9 +38,9 @@ public class ProteusConstants {
 
   public static final String EMPTY = "";
 
-  public static final Primitive EMPTY_STRING = new Primitive(EMPTY);
-  public static final Primitive TRUE = new Primitive(true);
-  public static final Primitive FALSE = new Primitive(false);
+  public static final Primitive EMPTY_STRING = new StringPrimitive(EMPTY);
+  public static final Primitive TRUE = BooleanPrimitive.TRUE;
+  public static final Primitive FALSE = BooleanPrimitive.FALSE;
 
   private static boolean isLoggingEnabled = false;
 
@@ -44,15 +44,19 @@ public class ProteusContext extends ContextWrapper {
   @Nullable
   private final ProteusLayoutInflater.ImageLoader loader;
 
+  @Nullable
+  private final ViewPool pool;
+
   private ProteusLayoutInflater inflater;
 
   ProteusContext(Context base, @NonNull ProteusResources resources,
                  @Nullable ProteusLayoutInflater.ImageLoader loader,
-                 @Nullable ProteusLayoutInflater.Callback callback) {
+                 @Nullable ProteusLayoutInflater.Callback callback, @Nullable ViewPool pool) {
     super(base);
     this.callback = callback;
     this.loader = loader;
     this.resources = resources;
+    this.pool = pool;
   }
 
   @Nullable
@@ -80,8 +84,13 @@ public class ProteusContext extends ContextWrapper {
     return loader;
   }
 
+  @Nullable
+  public ViewPool getViewPool() {
+    return pool;
+  }
+
   @NonNull
-  public ProteusLayoutInflater getInflater(@NonNull IdGenerator idGenerator) {
+  public synchronized ProteusLayoutInflater getInflater(@NonNull IdGenerator idGenerator) {
     if (null == this.inflater) {
       this.inflater = new SimpleLayoutInflater(this, idGenerator);
     }
@@ -136,6 +145,9 @@ public class ProteusContext extends ContextWrapper {
     @Nullable
     private StyleManager styleManager;
 
+    @Nullable
+    private ViewPool pool;
+
     Builder(@NonNull Context context, @NonNull Map<String, ViewTypeParser> parsers, @NonNull FunctionManager functionManager) {
       this.base = context;
       this.parsers = parsers;
@@ -162,9 +174,14 @@ public class ProteusContext extends ContextWrapper {
       return this;
     }
 
+    public Builder setViewPool(@Nullable ViewPool pool) {
+      this.pool = pool;
+      return this;
+    }
+
     public ProteusContext build() {
       ProteusResources resources = new ProteusResources(parsers, layoutManager, functionManager, styleManager);
-      return new ProteusContext(base, resources, loader, callback);
+      return new ProteusContext(base, resources, loader, callback, pool);
     }
 
   }
@@ -30,6 +30,6 @@ package com.flipkart.android.proteus;
 public class ProteusContextWrapper extends ProteusContext {
 
   public ProteusContextWrapper(ProteusContext context) {
-    super(context, context.getProteusResources(), context.getLoader(), context.getCallback());
+    super(context, context.getProteusResources(), context.getLoader(), context.getCallback(), context.getViewPool());
   }
 }
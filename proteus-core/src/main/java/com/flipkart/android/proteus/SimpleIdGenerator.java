@@ -63,7 +63,7 @@ public class SimpleIdGenerator implements IdGenerator {
    *              May be 0 or {@link #PARCELABLE_WRITE_RETURN_VALUE}.
    */
   @Override
-  public void writeToParcel(Parcel dest, int flags) {
+  public synchronized void writeToParcel(Parcel dest, int flags) {
     dest.writeInt(sNextGeneratedId.get());
     dest.writeMap(idMap);
   }
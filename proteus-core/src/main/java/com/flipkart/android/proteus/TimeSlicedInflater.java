@@ -0,0 +1,350 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * TimeSlicedInflater
+ *
+ * <p>
+ * Inflates a {@link Layout} across frames on the main thread. The root view is created
+ * right away, while the static {@code children} of every view group are queued and
+ * inflated breadth first on {@link Choreographer} frame callbacks, until the time budget
+ * of the frame is spent. Each child is added to its parent as soon as it is created, so the
+ * tree is attached progressively from the top. Views are created, managed and bound by the
+ * same steps as {@link SimpleLayoutInflater}; data bound children and includes are inflated
+ * in one go.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class TimeSlicedInflater {
+
+  private static final String TAG = "TimeSlicedInflater";
+
+  /**
+   * Half of a frame at 60 frames per second.
+   */
+  public static final long DEFAULT_FRAME_BUDGET_NANOS = 8000000L;
+
+  @NonNull
+  private final ProteusContext context;
+
+  private final long budget;
+
+  public TimeSlicedInflater(@NonNull ProteusContext context) {
+    this(context, DEFAULT_FRAME_BUDGET_NANOS);
+  }
+
+  /**
+   * @param context the context to inflate the layouts with.
+   * @param budget  the time, in nanoseconds, inflation may take in one frame.
+   */
+  public TimeSlicedInflater(@NonNull ProteusContext context, long budget) {
+    this.context = context;
+    this.budget = budget;
+  }
+
+  /**
+   * Creates the root view of the layout and schedules the inflation of its children.
+   * Must be called on the main thread.
+   *
+   * @param layout    the layout to inflate.
+   * @param data      the data to bind the layout with.
+   * @param parent    the parent the root view will be added to.
+   * @param dataIndex the data index of the root view.
+   * @param callback  the callback for progress and completion, may be {@code null}.
+   * @return the task, whose root view can be attached right away.
+   */
+  @NonNull
+  public Task inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent,
+                      int dataIndex, @Nullable Callback callback) {
+    Task task = new Task(context, budget, callback);
+    task.start(layout, data, parent, dataIndex);
+    return task;
+  }
+
+  @NonNull
+  public Task inflate(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable Callback callback) {
+    return inflate(layout, data, null, -1, callback);
+  }
+
+  /**
+   * Callback
+   *
+   * @author adityasharat
+   */
+  public interface Callback {
+
+    /**
+     * Called at the end of each frame in which views were inflated.
+     *
+     * @param task the task.
+     */
+    void onProgress(@NonNull Task task);
+
+    /**
+     * Called once every view of the layout has been inflated.
+     *
+     * @param task the task.
+     */
+    void onComplete(@NonNull Task task);
+
+    /**
+     * Called if a child layout could not be inflated, the task is cancelled and the views
+     * inflated so far remain attached.
+     *
+     * @param task      the task.
+     * @param exception the error.
+     */
+    void onError(@NonNull Task task, @NonNull ProteusInflateException exception);
+  }
+
+  /**
+   * A child layout waiting to be inflated into its parent.
+   */
+  private static class Pending {
+
+    @NonNull
+    final ViewTypeParser parser;
+
+    @NonNull
+    final ProteusView parent;
+
+    @NonNull
+    final Layout layout;
+
+    @NonNull
+    final ObjectValue data;
+
+    final int dataIndex;
+
+    Pending(@NonNull ViewTypeParser parser, @NonNull ProteusView parent, @NonNull Layout layout,
+            @NonNull ObjectValue data, int dataIndex) {
+      this.parser = parser;
+      this.parent = parent;
+      this.layout = layout;
+      this.data = data;
+      this.dataIndex = dataIndex;
+    }
+  }
+
+  /**
+   * Task
+   *
+   * <p>
+   * A time sliced inflation in progress.
+   * </p>
+   *
+   * @author adityasharat
+   */
+  public static class Task implements Choreographer.FrameCallback {
+
+    @NonNull
+    private final Inflater inflater;
+
+    private final long budget;
+
+    @Nullable
+    private final TimeSlicedInflater.Callback callback;
+
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+
+    @Nullable
+    private ProteusView view;
+
+    private int inflated;
+
+    private boolean cancelled;
+
+    @Nullable
+    private ProteusInflateException error;
+
+    Task(@NonNull ProteusContext context, long budget, @Nullable TimeSlicedInflater.Callback callback) {
+      this.inflater = new Inflater(context);
+      this.budget = budget;
+      this.callback = callback;
+    }
+
+    void start(@NonNull Layout layout, @NonNull ObjectValue data, @Nullable ViewGroup parent, int dataIndex) {
+      view = inflater.inflate(layout, data, parent, dataIndex);
+      inflated++;
+      if (queue.isEmpty()) {
+        complete();
+      } else {
+        schedule();
+      }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      if (cancelled) {
+        return;
+      }
+      long start = System.nanoTime();
+      Pending pending;
+      ProteusView child;
+      try {
+        do {
+          pending = queue.poll();
+          //noinspection ConstantConditions : the queue is never empty when a frame is posted
+          child = inflater.inflate(pending.layout, pending.data, (ViewGroup) pending.parent.getAsView(), pending.dataIndex);
+          pending.parser.addView(pending.parent, child);
+          inflated++;
+        } while (!queue.isEmpty() && System.nanoTime() - start < budget);
+      } catch (RuntimeException e) {
+        // thrown from a frame callback the exception would crash the app
+        fail(e instanceof ProteusInflateException ? (ProteusInflateException) e
+          : new ProteusInflateException("could not inflate child layout, " + e.getMessage(), e));
+        return;
+      }
+
+      if (queue.isEmpty()) {
+        complete();
+      } else {
+        if (null != callback) {
+          callback.onProgress(this);
+        }
+        schedule();
+      }
+    }
+
+    /**
+     * Posts the next frame of the task, overridden by the tests which run without a looper.
+     */
+    void schedule() {
+      Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    void unschedule() {
+      Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    private void complete() {
+      if (null != callback) {
+        callback.onComplete(this);
+      }
+    }
+
+    private void fail(@NonNull ProteusInflateException exception) {
+      error = exception;
+      cancel();
+      if (null != callback) {
+        callback.onError(this, exception);
+      } else if (ProteusConstants.isLoggingEnabled()) {
+        Log.e(TAG, "time sliced inflation failed, " + exception.getMessage(), exception);
+      }
+    }
+
+    /**
+     * Stops the inflation, the views inflated so far remain attached.
+     */
+    public void cancel() {
+      if (!cancelled) {
+        cancelled = true;
+        queue.clear();
+        unschedule();
+      }
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    public boolean isComplete() {
+      return !cancelled && queue.isEmpty();
+    }
+
+    /**
+     * @return the error which cancelled the task, {@code null} if there was none.
+     */
+    @Nullable
+    public ProteusInflateException getError() {
+      return error;
+    }
+
+    /**
+     * @return the root view.
+     */
+    @NonNull
+    public ProteusView getView() {
+      //noinspection ConstantConditions : the root is inflated when the task starts
+      return view;
+    }
+
+    /**
+     * @return the number of views inflated so far.
+     */
+    public int getInflatedCount() {
+      return inflated;
+    }
+
+    /**
+     * @return the number of child layouts known to be waiting, their own children are
+     * only counted once they are reached.
+     */
+    public int getPendingCount() {
+      return queue.size();
+    }
+
+    /**
+     * Creates the views using the steps of {@link SimpleLayoutInflater}, but queues the
+     * static children instead of inflating them.
+     */
+    private class Inflater extends SimpleLayoutInflater {
+
+      Inflater(@NonNull ProteusContext context) {
+        super(context, context.getInflater().getIdGenerator());
+      }
+
+      @Override
+      protected boolean handleAttribute(@NonNull ViewTypeParser parser, @NonNull ProteusView view, int attribute, @NonNull Value value) {
+        if (value.isArray() && attribute == parser.getAttributeId(Attributes.ViewGroup.Children)) {
+          // queue the static children instead of inflating them now
+          ObjectValue data = view.getViewManager().getDataContext().getData();
+          int dataIndex = view.getViewManager().getDataContext().getIndex();
+          Iterator<Value> iterator = value.getAsArray().iterator();
+          Value element;
+          while (iterator.hasNext()) {
+            element = iterator.next();
+            if (!element.isLayout()) {
+              throw new ProteusInflateException("attribute  'children' must be an array of 'Layout' objects");
+            }
+            queue.add(new Pending(parser, view, element.getAsLayout(), data, dataIndex));
+          }
+          return true;
+        }
+        return super.handleAttribute(parser, view, attribute, value);
+      }
+    }
+  }
+}
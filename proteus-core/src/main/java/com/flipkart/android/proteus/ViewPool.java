@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.view.View;
+
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * ViewPool
+ *
+ * <p>
+ * A bounded pool of detached {@link ProteusView}s, kept by the {@link Layout} they were
+ * inflated from, so that a view can be updated with new data using
+ * {@link ProteusView.Manager#update} instead of inflating the layout again. The pool is
+ * attached to a {@link ProteusContext} using {@link ProteusContext.Builder#setViewPool(ViewPool)}
+ * and can be used by background inflation.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class ViewPool {
+
+  public static final int DEFAULT_MAX_SIZE_PER_LAYOUT = 8;
+
+  public static final int DEFAULT_MAX_SIZE = 64;
+
+  private final Map<Layout, List<ProteusView>> views = new HashMap<>();
+
+  private final int maxSizePerLayout;
+
+  private final int maxSize;
+
+  private int size;
+
+  public ViewPool() {
+    this(DEFAULT_MAX_SIZE_PER_LAYOUT, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * @param maxSizePerLayout the maximum number of views kept for a layout.
+   * @param maxSize          the maximum number of views kept in the pool.
+   */
+  public ViewPool(int maxSizePerLayout, int maxSize) {
+    this.maxSizePerLayout = maxSizePerLayout;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns a view inflated from the layout and removes it from the pool. The view must be
+   * updated with the new data before it is used.
+   *
+   * @param layout the layout the view must have been inflated from.
+   * @return a pooled view or {@code null} if there is none.
+   */
+  @Nullable
+  public synchronized ProteusView acquire(@NonNull Layout layout) {
+    List<ProteusView> list = views.get(layout);
+    if (null == list || list.isEmpty()) {
+      return null;
+    }
+    size--;
+    return list.remove(list.size() - 1);
+  }
+
+  /**
+   * Returns a view inflated from the layout, updated with the data and index, and removes it
+   * from the pool.
+   *
+   * @param layout    the layout the view must have been inflated from.
+   * @param data      the data to update the view with.
+   * @param dataIndex the data index of the view, used if the view has its own scope.
+   * @return a pooled view or {@code null} if there is none.
+   */
+  @Nullable
+  public ProteusView acquire(@NonNull Layout layout, @NonNull ObjectValue data, int dataIndex) {
+    ProteusView view = acquire(layout);
+    if (null != view) {
+      DataContext dataContext = view.getViewManager().getDataContext();
+      if (dataContext.hasOwnProperties()) {
+        dataContext.setIndex(dataIndex);
+      }
+      view.getViewManager().update(data);
+    }
+    return view;
+  }
+
+  /**
+   * Adds a view to the pool, unless the pool is full or the view is still attached to a parent.
+   *
+   * @param layout the layout the view was inflated from.
+   * @param view   the view.
+   * @return {@code true} if the view was added to the pool else {@code false}.
+   */
+  public synchronized boolean release(@NonNull Layout layout, @NonNull ProteusView view) {
+    View v = view.getAsView();
+    if (size >= maxSize || null != v.getParent()) {
+      return false;
+    }
+    List<ProteusView> list = views.get(layout);
+    if (null == list) {
+      list = new ArrayList<>();
+      views.put(layout, list);
+    }
+    if (list.size() >= maxSizePerLayout || list.contains(view)) {
+      return false;
+    }
+    list.add(view);
+    size++;
+    return true;
+  }
+
+  /**
+   * @return the number of views in the pool.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Removes views from the pool until it has at most {@code size} views, eg. when
+   * the system is running low on memory.
+   *
+   * @param size the number of views to keep.
+   */
+  public synchronized void trimToSize(int size) {
+    Iterator<List<ProteusView>> iterator = views.values().iterator();
+    List<ProteusView> list;
+    while (this.size > size && iterator.hasNext()) {
+      list = iterator.next();
+      while (this.size > size && !list.isEmpty()) {
+        list.remove(list.size() - 1);
+        this.size--;
+      }
+      if (list.isEmpty()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    views.clear();
+    size = 0;
+  }
+}
@@ -226,6 +226,19 @@ public abstract class ViewTypeParser<V extends View> {
     return null != attribute ? attribute.id : -1;
   }
 
+  /**
+   * @param attributeId the id of the attribute.
+   * @return the processor of the attribute, from this parser or one of its parents.
+   */
+  @Nullable
+  public AttributeProcessor getAttributeProcessor(int attributeId) {
+    int position = getPosition(attributeId);
+    if (position < 0) {
+      return null != parent ? parent.getAttributeProcessor(attributeId) : null;
+    }
+    return processors[position];
+  }
+
   /**
    * @return
    */
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.binary;
+
+/**
+ * BinaryFormat
+ * <p>
+ * Constants describing the compiled binary representation of proteus values.
+ * A document consists of a header ({@link #MAGIC} followed by {@link #VERSION}),
+ * a table of all the strings used by the document, the length of the body, the
+ * offset of the root value and a body of tagged values which refer to the strings
+ * by their index in the table. All the integers are
+ * written as variable length (LEB128) integers; signed integers are zig-zag encoded.
+ * </p>
+ * <p>
+ * Attribute ids are written as they were assigned by the {@link com.flipkart.android.proteus.Proteus}
+ * instance used to compile the layouts, hence a document must be read with a
+ * {@link com.flipkart.android.proteus.Proteus} instance built with the same configuration.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public final class BinaryFormat {
+
+  /**
+   * The magic number identifying a proteus binary document, "PRTS".
+   */
+  public static final int MAGIC = 0x50525453;
+
+  public static final int VERSION = 1;
+
+  static final String BUNDLE_LAYOUTS = "layouts";
+  static final String BUNDLE_STYLES = "styles";
+  static final String BUNDLE_ATTRIBUTES = "attributes";
+
+  static final byte TAG_ABSENT = 0;
+  static final byte TAG_NULL = 1;
+  static final byte TAG_TRUE = 2;
+  static final byte TAG_FALSE = 3;
+  static final byte TAG_INT = 4;
+  static final byte TAG_LONG = 5;
+  static final byte TAG_FLOAT = 6;
+  static final byte TAG_DOUBLE = 7;
+  static final byte TAG_NUMBER = 8;
+  static final byte TAG_STRING = 9;
+  static final byte TAG_OBJECT = 10;
+  static final byte TAG_ARRAY = 11;
+  static final byte TAG_LAYOUT = 12;
+  static final byte TAG_DATA_BINDING = 13;
+  static final byte TAG_FUNCTION_BINDING = 14;
+  static final byte TAG_NESTED_BINDING = 15;
+  static final byte TAG_DIMENSION = 16;
+  static final byte TAG_COLOR_INT = 17;
+  static final byte TAG_COLOR_STATE_LIST = 18;
+  static final byte TAG_RESOURCE = 19;
+  static final byte TAG_ATTRIBUTE_RESOURCE = 20;
+  static final byte TAG_STYLE_RESOURCE = 21;
+  static final byte TAG_DRAWABLE_COLOR = 22;
+  static final byte TAG_DRAWABLE_SHAPE = 23;
+  static final byte TAG_DRAWABLE_LAYER_LIST = 24;
+  static final byte TAG_DRAWABLE_STATE_LIST = 25;
+  static final byte TAG_DRAWABLE_LEVEL_LIST = 26;
+  static final byte TAG_DRAWABLE_RIPPLE = 27;
+  static final byte TAG_DRAWABLE_URL = 28;
+  static final byte TAG_GRADIENT = 29;
+  static final byte TAG_CORNERS = 30;
+  static final byte TAG_SOLID = 31;
+  static final byte TAG_SIZE = 32;
+  static final byte TAG_STROKE = 33;
+
+  static final int TOKEN_ARRAY = 1;
+  static final int TOKEN_ARRAY_INDEX = 1 << 1;
+
+  static final int GRADIENT_ANGLE = 1;
+  static final int GRADIENT_CENTER_X = 1 << 1;
+  static final int GRADIENT_CENTER_Y = 1 << 2;
+  static final int GRADIENT_USE_LEVEL = 1 << 3;
+  static final int GRADIENT_USE_LEVEL_TRUE = 1 << 4;
+
+  private BinaryFormat() {
+  }
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.binary;
+
+import com.flipkart.android.proteus.FunctionManager;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.BooleanPrimitive;
+import com.flipkart.android.proteus.value.Color;
+import com.flipkart.android.proteus.value.Dimension;
+import com.flipkart.android.proteus.value.DoublePrimitive;
+import com.flipkart.android.proteus.value.DrawableValue;
+import com.flipkart.android.proteus.value.IntPrimitive;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.LongPrimitive;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.Null;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StringPrimitive;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * BinaryReader
+ * <p>
+ * Reads values written by a {@link BinaryWriter}. The values are rebuilt
+ * directly from their compiled form, so no JSON parsing or precompilation
+ * takes place. Strings are decoded from the string table on first use.
+ * </p>
+ * <p>
+ * The reader only uses absolute reads on the underlying buffer, which may
+ * be a memory mapped file. It is not thread safe.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class BinaryReader {
+
+  @NonNull
+  private final ByteBuffer buffer;
+
+  @NonNull
+  private final FunctionManager functionManager;
+
+  @NonNull
+  private final int[] offsets;
+
+  @NonNull
+  private final int[] lengths;
+
+  @NonNull
+  private final String[] strings;
+
+  private final int body;
+
+  private final int length;
+
+  private final int root;
+
+  private int position;
+
+  public BinaryReader(@NonNull ByteBuffer buffer, @NonNull FunctionManager functionManager) {
+    // a private view of the buffer, so that its position and order are never shared
+    this.buffer = buffer.duplicate();
+    this.functionManager = functionManager;
+    this.position = buffer.position();
+
+    int magic = readInt();
+    if (BinaryFormat.MAGIC != magic) {
+      throw new IllegalArgumentException("not a proteus binary document, magic: " + Integer.toHexString(magic));
+    }
+    int version = readVarInt();
+    if (BinaryFormat.VERSION != version) {
+      throw new IllegalArgumentException("unsupported binary format version: " + version);
+    }
+
+    int count = readVarInt();
+    this.offsets = new int[count];
+    this.lengths = new int[count];
+    this.strings = new String[count];
+    for (int i = 0; i < count; i++) {
+      lengths[i] = readVarInt();
+      offsets[i] = position;
+      position += lengths[i];
+    }
+
+    this.length = readVarInt();
+    this.root = readVarInt();
+    this.body = position;
+  }
+
+  public BinaryReader(@NonNull byte[] bytes, @NonNull FunctionManager functionManager) {
+    this(ByteBuffer.wrap(bytes), functionManager);
+  }
+
+  /**
+   * @return the length of the body of the document in bytes.
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Reads the value at the specified offset from the start of the body.
+   *
+   * @param offset the offset returned by {@link BinaryWriter#write(Value)}
+   * @return the value
+   */
+  @Nullable
+  public Value read(int offset) {
+    if (offset < 0 || offset >= length) {
+      throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+    }
+    position = body + offset;
+    return readValue();
+  }
+
+  /**
+   * Reads the root value of the document.
+   */
+  @Nullable
+  public Value read() {
+    return read(root);
+  }
+
+  @NonNull
+  public Layout readLayout(int offset) {
+    Value value = read(offset);
+    if (null == value || !value.isLayout()) {
+      throw new IllegalArgumentException("value at offset " + offset + " is not a layout");
+    }
+    return value.getAsLayout();
+  }
+
+  @NonNull
+  public String getString(int index) {
+    String string = strings[index];
+    if (null == string) {
+      byte[] bytes = new byte[lengths[index]];
+      int offset = offsets[index];
+      // an absolute bulk get is not available on older platforms
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = buffer.get(offset + i);
+      }
+      string = new String(bytes, BinaryWriter.UTF_8);
+      strings[index] = string;
+    }
+    return string;
+  }
+
+  @Nullable
+  private Value readValue() {
+    byte tag = buffer.get(position++);
+    switch (tag) {
+      case BinaryFormat.TAG_ABSENT:
+        return null;
+      case BinaryFormat.TAG_NULL:
+        return Null.INSTANCE;
+      case BinaryFormat.TAG_TRUE:
+        return BooleanPrimitive.TRUE;
+      case BinaryFormat.TAG_FALSE:
+        return BooleanPrimitive.FALSE;
+      case BinaryFormat.TAG_INT:
+        return new IntPrimitive(readSignedVarInt());
+      case BinaryFormat.TAG_LONG:
+        return new LongPrimitive(readSignedVarLong());
+      case BinaryFormat.TAG_FLOAT:
+        return new Primitive(Float.intBitsToFloat(readInt()));
+      case BinaryFormat.TAG_DOUBLE:
+        return new DoublePrimitive(readDouble());
+      case BinaryFormat.TAG_NUMBER:
+        return Primitive.parseNumber(readString());
+      case BinaryFormat.TAG_STRING:
+        return new StringPrimitive(readString());
+      case BinaryFormat.TAG_OBJECT:
+        return readObject();
+      case BinaryFormat.TAG_ARRAY:
+        return readArray();
+      case BinaryFormat.TAG_LAYOUT:
+        return readLayout();
+      case BinaryFormat.TAG_DATA_BINDING:
+        return readDataBinding();
+      case BinaryFormat.TAG_FUNCTION_BINDING:
+        return readFunctionBinding();
+      case BinaryFormat.TAG_NESTED_BINDING:
+        //noinspection ConstantConditions
+        return NestedBinding.valueOf(readValue());
+      case BinaryFormat.TAG_DIMENSION:
+        return Dimension.valueOf(readDouble(), readSignedVarInt());
+      case BinaryFormat.TAG_COLOR_INT:
+        return Color.Int.valueOf(readInt());
+      case BinaryFormat.TAG_COLOR_STATE_LIST:
+        return readColorStateList();
+      case BinaryFormat.TAG_RESOURCE:
+        return Resource.valueOf(readSignedVarInt());
+      case BinaryFormat.TAG_ATTRIBUTE_RESOURCE:
+        return AttributeResource.valueOf(readSignedVarInt());
+      case BinaryFormat.TAG_STYLE_RESOURCE:
+        return StyleResource.valueOf(readSignedVarInt(), readSignedVarInt());
+      case BinaryFormat.TAG_DRAWABLE_COLOR:
+        //noinspection ConstantConditions
+        return DrawableValue.ColorValue.valueOf(readValue());
+      case BinaryFormat.TAG_DRAWABLE_SHAPE:
+        return readShape();
+      case BinaryFormat.TAG_DRAWABLE_LAYER_LIST:
+        return readLayerList();
+      case BinaryFormat.TAG_DRAWABLE_STATE_LIST:
+        return readStateList();
+      case BinaryFormat.TAG_DRAWABLE_LEVEL_LIST:
+        return readLevelList();
+      case BinaryFormat.TAG_DRAWABLE_RIPPLE:
+        //noinspection ConstantConditions
+        return DrawableValue.RippleValue.valueOf(readValue(), readValue(), readValue(), readValue());
+      case BinaryFormat.TAG_DRAWABLE_URL:
+        return DrawableValue.UrlValue.valueOf(readString());
+      case BinaryFormat.TAG_GRADIENT:
+        return readGradient();
+      case BinaryFormat.TAG_CORNERS:
+        return DrawableValue.Corners.valueOf(readValue(), readValue(), readValue(), readValue(), readValue());
+      case BinaryFormat.TAG_SOLID:
+        //noinspection ConstantConditions
+        return DrawableValue.Solid.valueOf(readValue());
+      case BinaryFormat.TAG_SIZE:
+        //noinspection ConstantConditions
+        return DrawableValue.Size.valueOf(readValue(), readValue());
+      case BinaryFormat.TAG_STROKE:
+        return DrawableValue.Stroke.valueOf(readValue(), readValue(), readValue(), readValue());
+      default:
+        throw new IllegalArgumentException("unknown value tag " + tag + " at " + (position - 1 - body));
+    }
+  }
+
+  private ObjectValue readObject() {
+    int size = readVarInt();
+    ObjectValue object = new ObjectValue();
+    for (int i = 0; i < size; i++) {
+      object.add(readString(), readValue());
+    }
+    return object;
+  }
+
+  private Array readArray() {
+    int size = readVarInt();
+    Array array = new Array(size);
+    for (int i = 0; i < size; i++) {
+      array.add(readValue());
+    }
+    return array;
+  }
+
+  private Layout readLayout() {
+    String type = readString();
+
+    List<Layout.Attribute> attributes = null;
+    int size = readVarInt() - 1;
+    if (size >= 0) {
+      attributes = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        attributes.add(new Layout.Attribute(readSignedVarInt(), readValue()));
+      }
+    }
+
+    Map<String, Value> data = null;
+    size = readVarInt() - 1;
+    if (size >= 0) {
+      data = new HashMap<>(size);
+      for (int i = 0; i < size; i++) {
+        data.put(readString(), readValue());
+      }
+    }
+
+    Value extras = readValue();
+    return new Layout(type, attributes, data, null != extras ? extras.getAsObject() : null);
+  }
+
+  private Binding readDataBinding() {
+    int size = readVarInt();
+    Binding.Token[] tokens = new Binding.Token[size];
+    String value;
+    int flags;
+    for (int i = 0; i < size; i++) {
+      value = readString();
+      flags = readVarInt();
+      tokens[i] = new Binding.Token(value, (flags & BinaryFormat.TOKEN_ARRAY) != 0, (flags & BinaryFormat.TOKEN_ARRAY_INDEX) != 0);
+    }
+    return Binding.DataBinding.valueOf(tokens);
+  }
+
+  private Binding readFunctionBinding() {
+    String name = readString();
+    int size = readVarInt();
+    Value[] arguments = new Value[size];
+    for (int i = 0; i < size; i++) {
+      arguments[i] = readValue();
+    }
+    return new Binding.FunctionBinding(functionManager.get(name), arguments);
+  }
+
+  private Color readColorStateList() {
+    int[][] states = readStates();
+    int[] colors = new int[readVarInt()];
+    for (int i = 0; i < colors.length; i++) {
+      colors[i] = readInt();
+    }
+    return Color.StateList.valueOf(states, colors);
+  }
+
+  private DrawableValue readShape() {
+    int shape = readSignedVarInt();
+    int size = readVarInt();
+    DrawableValue.Gradient gradient = null;
+    DrawableValue.DrawableElement[] elements = null;
+    if (size > 0) {
+      elements = new DrawableValue.DrawableElement[size];
+      for (int i = 0; i < size; i++) {
+        elements[i] = (DrawableValue.DrawableElement) readValue();
+        if (elements[i] instanceof DrawableValue.Gradient) {
+          gradient = (DrawableValue.Gradient) elements[i];
+        }
+      }
+    }
+    return DrawableValue.ShapeValue.valueOf(shape, gradient, elements);
+  }
+
+  private DrawableValue readLayerList() {
+    int size = readVarInt();
+    int[] ids = new int[size];
+    for (int i = 0; i < size; i++) {
+      ids[i] = readSignedVarInt();
+    }
+    Value[] layers = new Value[size];
+    for (int i = 0; i < size; i++) {
+      layers[i] = readValue();
+    }
+    return DrawableValue.LayerListValue.valueOf(ids, layers);
+  }
+
+  private DrawableValue readStateList() {
+    int[][] states = readStates();
+    Value[] values = new Value[states.length];
+    for (int i = 0; i < states.length; i++) {
+      values[i] = readValue();
+    }
+    return DrawableValue.StateListValue.valueOf(states, values);
+  }
+
+  private DrawableValue readLevelList() {
+    int size = readVarInt();
+    DrawableValue.LevelListValue.Level[] levels = new DrawableValue.LevelListValue.Level[size];
+    for (int i = 0; i < size; i++) {
+      int min = readSignedVarInt();
+      int max = readSignedVarInt();
+      //noinspection ConstantConditions
+      levels[i] = DrawableValue.LevelListValue.Level.valueOf(min, max, readValue());
+    }
+    return DrawableValue.LevelListValue.value(levels);
+  }
+
+  private DrawableValue.Gradient readGradient() {
+    int flags = readVarInt();
+    Integer angle = (flags & BinaryFormat.GRADIENT_ANGLE) != 0 ? readSignedVarInt() : null;
+    Float centerX = (flags & BinaryFormat.GRADIENT_CENTER_X) != 0 ? Float.intBitsToFloat(readInt()) : null;
+    Float centerY = (flags & BinaryFormat.GRADIENT_CENTER_Y) != 0 ? Float.intBitsToFloat(readInt()) : null;
+    Boolean useLevel = (flags & BinaryFormat.GRADIENT_USE_LEVEL) != 0 ? (flags & BinaryFormat.GRADIENT_USE_LEVEL_TRUE) != 0 : null;
+    int gradientType = readSignedVarInt();
+    Value startColor = readValue();
+    Value centerColor = readValue();
+    Value endColor = readValue();
+    Value gradientRadius = readValue();
+    return DrawableValue.Gradient.valueOf(angle, centerX, centerY, centerColor, endColor, gradientRadius, startColor, gradientType, useLevel);
+  }
+
+  private int[][] readStates() {
+    int[][] states = new int[readVarInt()][];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = new int[readVarInt()];
+      for (int j = 0; j < states[i].length; j++) {
+        states[i][j] = readSignedVarInt();
+      }
+    }
+    return states;
+  }
+
+  private String readString() {
+    return getString(readVarInt());
+  }
+
+  private double readDouble() {
+    long high = readInt() & 0xFFFFFFFFL;
+    long low = readInt() & 0xFFFFFFFFL;
+    return Double.longBitsToDouble((high << 32) | low);
+  }
+
+  private int readInt() {
+    int value = buffer.getInt(position);
+    position += 4;
+    return value;
+  }
+
+  private int readSignedVarInt() {
+    int value = readVarInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private long readSignedVarLong() {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get(position++);
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private int readVarInt() {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get(position++);
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
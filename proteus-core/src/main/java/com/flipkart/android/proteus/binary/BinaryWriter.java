@@ -0,0 +1,479 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.binary;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.AttributeResource;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Color;
+import com.flipkart.android.proteus.value.Dimension;
+import com.flipkart.android.proteus.value.DrawableValue;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.Null;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Resource;
+import com.flipkart.android.proteus.value.StyleResource;
+import com.flipkart.android.proteus.value.Value;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * BinaryWriter
+ * <p>
+ * Writes compiled {@link Value}s, typically {@link Layout}s which have been
+ * through {@link com.flipkart.android.proteus.processor.AttributeProcessor#precompile},
+ * in the {@link BinaryFormat}. Values are appended to the body and all the strings
+ * are collected into a single table, which is emitted ahead of the body by
+ * {@link #writeTo(OutputStream)}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class BinaryWriter {
+
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final Map<String, Integer> indices = new HashMap<>();
+  private final List<String> strings = new ArrayList<>();
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+  private int root;
+
+  @NonNull
+  public static byte[] toByteArray(@NonNull Value value) {
+    BinaryWriter writer = new BinaryWriter();
+    writer.write(value);
+    return writer.toByteArray();
+  }
+
+  /**
+   * Appends the value to the body of the document.
+   *
+   * @param value the value to write
+   * @return the offset of the value from the start of the body.
+   */
+  public int write(@NonNull Value value) {
+    int offset = body.size();
+    writeValue(value);
+    return offset;
+  }
+
+  /**
+   * Marks the value at the specified offset as the root of the document,
+   * which is the value returned by {@link BinaryReader#read()}. Unless
+   * specified, the first value written is the root.
+   *
+   * @param offset the offset returned by {@link #write(Value)}
+   */
+  public void setRoot(int offset) {
+    this.root = offset;
+  }
+
+  /**
+   * @return the number of bytes written to the body so far.
+   */
+  public int size() {
+    return body.size();
+  }
+
+  public void writeTo(@NonNull OutputStream out) throws IOException {
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    writeInt(header, BinaryFormat.MAGIC);
+    writeVarInt(header, BinaryFormat.VERSION);
+    writeVarInt(header, strings.size());
+    byte[] bytes;
+    for (String string : strings) {
+      bytes = string.getBytes(UTF_8);
+      writeVarInt(header, bytes.length);
+      header.write(bytes, 0, bytes.length);
+    }
+    writeVarInt(header, body.size());
+    writeVarInt(header, root);
+    header.writeTo(out);
+    body.writeTo(out);
+  }
+
+  @NonNull
+  public byte[] toByteArray() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() + 64);
+    try {
+      writeTo(out);
+    } catch (IOException e) {
+      // ByteArrayOutputStream does not throw
+      throw new IllegalStateException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private void writeValue(@Nullable Value value) {
+    if (null == value) {
+      body.write(BinaryFormat.TAG_ABSENT);
+    } else if (value.isNull()) {
+      body.write(BinaryFormat.TAG_NULL);
+    } else if (value.isPrimitive()) {
+      writePrimitive(value.getAsPrimitive());
+    } else if (value.isObject()) {
+      writeObject(value.getAsObject());
+    } else if (value.isArray()) {
+      writeArray(value.getAsArray());
+    } else if (value.isLayout()) {
+      writeLayout(value.getAsLayout());
+    } else if (value.isBinding()) {
+      writeBinding(value.getAsBinding());
+    } else if (value.isDimension()) {
+      Dimension dimension = value.getAsDimension();
+      body.write(BinaryFormat.TAG_DIMENSION);
+      writeDouble(dimension.value);
+      writeSignedVarInt(body, dimension.unit);
+    } else if (value instanceof Color.Int) {
+      body.write(BinaryFormat.TAG_COLOR_INT);
+      writeInt(body, ((Color.Int) value).value);
+    } else if (value instanceof Color.StateList) {
+      Color.StateList colors = (Color.StateList) value;
+      body.write(BinaryFormat.TAG_COLOR_STATE_LIST);
+      writeStates(colors.states);
+      writeVarInt(body, colors.colors.length);
+      for (int color : colors.colors) {
+        writeInt(body, color);
+      }
+    } else if (value.isResource()) {
+      body.write(BinaryFormat.TAG_RESOURCE);
+      writeSignedVarInt(body, value.getAsResource().resId);
+    } else if (value.isAttributeResource()) {
+      body.write(BinaryFormat.TAG_ATTRIBUTE_RESOURCE);
+      writeSignedVarInt(body, value.getAsAttributeResource().attributeId);
+    } else if (value.isStyleResource()) {
+      StyleResource style = value.getAsStyleResource();
+      body.write(BinaryFormat.TAG_STYLE_RESOURCE);
+      writeSignedVarInt(body, style.styleId);
+      writeSignedVarInt(body, style.attributeId);
+    } else if (value instanceof DrawableValue) {
+      writeDrawable((DrawableValue) value);
+    } else if (value instanceof DrawableValue.DrawableElement) {
+      writeDrawableElement((DrawableValue.DrawableElement) value);
+    } else {
+      throw new IllegalArgumentException(value.getClass().getName() + " is not a known value type!");
+    }
+  }
+
+  private void writePrimitive(Primitive primitive) {
+    if (primitive.isBoolean()) {
+      body.write(primitive.getAsBoolean() ? BinaryFormat.TAG_TRUE : BinaryFormat.TAG_FALSE);
+    } else if (primitive.isNumber()) {
+      Number number = primitive.getAsNumber();
+      if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+        body.write(BinaryFormat.TAG_INT);
+        writeSignedVarInt(body, number.intValue());
+      } else if (number instanceof Long) {
+        body.write(BinaryFormat.TAG_LONG);
+        writeSignedVarLong(number.longValue());
+      } else if (number instanceof Float) {
+        body.write(BinaryFormat.TAG_FLOAT);
+        writeInt(body, Float.floatToIntBits(number.floatValue()));
+      } else if (number instanceof Double) {
+        body.write(BinaryFormat.TAG_DOUBLE);
+        writeDouble(number.doubleValue());
+      } else {
+        // lazily parsed and arbitrary precision numbers retain their representation
+        body.write(BinaryFormat.TAG_NUMBER);
+        writeString(number.toString());
+      }
+    } else {
+      body.write(BinaryFormat.TAG_STRING);
+      writeString(primitive.getAsString());
+    }
+  }
+
+  private void writeObject(ObjectValue object) {
+    body.write(BinaryFormat.TAG_OBJECT);
+    writeVarInt(body, object.size());
+    for (Map.Entry<String, Value> entry : object.entrySet()) {
+      writeString(entry.getKey());
+      writeValue(entry.getValue());
+    }
+  }
+
+  private void writeArray(Array array) {
+    body.write(BinaryFormat.TAG_ARRAY);
+    writeVarInt(body, array.size());
+    Iterator<Value> iterator = array.iterator();
+    while (iterator.hasNext()) {
+      writeValue(iterator.next());
+    }
+  }
+
+  private void writeLayout(Layout layout) {
+    body.write(BinaryFormat.TAG_LAYOUT);
+    writeString(layout.type);
+    if (null == layout.attributes) {
+      writeVarInt(body, 0);
+    } else {
+      writeVarInt(body, layout.attributes.size() + 1);
+      for (Layout.Attribute attribute : layout.attributes) {
+        writeSignedVarInt(body, attribute.id);
+        writeValue(attribute.value);
+      }
+    }
+    if (null == layout.data) {
+      writeVarInt(body, 0);
+    } else {
+      writeVarInt(body, layout.data.size() + 1);
+      for (Map.Entry<String, Value> entry : layout.data.entrySet()) {
+        writeString(entry.getKey());
+        writeValue(entry.getValue());
+      }
+    }
+    writeValue(layout.extras);
+  }
+
+  private void writeBinding(Binding binding) {
+    if (binding instanceof Binding.DataBinding) {
+      body.write(BinaryFormat.TAG_DATA_BINDING);
+      List<Binding.Token> tokens = new ArrayList<>();
+      Iterator<Binding.Token> iterator = ((Binding.DataBinding) binding).getTokens();
+      while (iterator.hasNext()) {
+        tokens.add(iterator.next());
+      }
+      writeVarInt(body, tokens.size());
+      for (Binding.Token token : tokens) {
+        writeString(token.value);
+        writeVarInt(body, (token.isArray ? BinaryFormat.TOKEN_ARRAY : 0) | (token.isArrayIndex ? BinaryFormat.TOKEN_ARRAY_INDEX : 0));
+      }
+    } else if (binding instanceof Binding.FunctionBinding) {
+      Binding.FunctionBinding function = (Binding.FunctionBinding) binding;
+      body.write(BinaryFormat.TAG_FUNCTION_BINDING);
+      writeString(function.function.getName());
+      List<Value> arguments = new ArrayList<>();
+      Iterator<Value> iterator = function.getTokens();
+      while (iterator.hasNext()) {
+        arguments.add(iterator.next());
+      }
+      writeVarInt(body, arguments.size());
+      for (Value argument : arguments) {
+        writeValue(argument);
+      }
+    } else if (binding instanceof NestedBinding) {
+      body.write(BinaryFormat.TAG_NESTED_BINDING);
+      writeValue(((NestedBinding) binding).getValue());
+    } else {
+      throw new IllegalArgumentException(binding.getClass().getName() + " is not a known binding type!");
+    }
+  }
+
+  private void writeDrawable(DrawableValue drawable) {
+    if (drawable instanceof DrawableValue.ColorValue) {
+      body.write(BinaryFormat.TAG_DRAWABLE_COLOR);
+      writeValue(((DrawableValue.ColorValue) drawable).color);
+    } else if (drawable instanceof DrawableValue.ShapeValue) {
+      DrawableValue.ShapeValue shape = (DrawableValue.ShapeValue) drawable;
+      body.write(BinaryFormat.TAG_DRAWABLE_SHAPE);
+      writeSignedVarInt(body, shape.shape);
+      List<DrawableValue.DrawableElement> elements = new ArrayList<>();
+      Iterator<DrawableValue.DrawableElement> iterator = shape.getElements();
+      DrawableValue.DrawableElement element;
+      while (iterator.hasNext()) {
+        element = iterator.next();
+        if (null != element) {
+          elements.add(element);
+        }
+      }
+      writeVarInt(body, elements.size());
+      for (DrawableValue.DrawableElement e : elements) {
+        writeDrawableElement(e);
+      }
+    } else if (drawable instanceof DrawableValue.LayerListValue) {
+      DrawableValue.LayerListValue layers = (DrawableValue.LayerListValue) drawable;
+      body.write(BinaryFormat.TAG_DRAWABLE_LAYER_LIST);
+      List<Integer> ids = new ArrayList<>();
+      Iterator<Integer> iterator = layers.getIds();
+      while (iterator.hasNext()) {
+        ids.add(iterator.next());
+      }
+      writeVarInt(body, ids.size());
+      for (Integer id : ids) {
+        writeSignedVarInt(body, id);
+      }
+      Iterator<Value> values = layers.getLayers();
+      while (values.hasNext()) {
+        writeValue(values.next());
+      }
+    } else if (drawable instanceof DrawableValue.StateListValue) {
+      DrawableValue.StateListValue states = (DrawableValue.StateListValue) drawable;
+      body.write(BinaryFormat.TAG_DRAWABLE_STATE_LIST);
+      writeStates(states.states);
+      Iterator<Value> values = states.getValues();
+      while (values.hasNext()) {
+        writeValue(values.next());
+      }
+    } else if (drawable instanceof DrawableValue.LevelListValue) {
+      body.write(BinaryFormat.TAG_DRAWABLE_LEVEL_LIST);
+      List<DrawableValue.LevelListValue.Level> levels = new ArrayList<>();
+      Iterator<DrawableValue.LevelListValue.Level> iterator = ((DrawableValue.LevelListValue) drawable).getLevels();
+      while (iterator.hasNext()) {
+        levels.add(iterator.next());
+      }
+      writeVarInt(body, levels.size());
+      for (DrawableValue.LevelListValue.Level level : levels) {
+        writeSignedVarInt(body, level.minLevel);
+        writeSignedVarInt(body, level.maxLevel);
+        writeValue(level.drawable);
+      }
+    } else if (drawable instanceof DrawableValue.RippleValue) {
+      DrawableValue.RippleValue ripple = (DrawableValue.RippleValue) drawable;
+      body.write(BinaryFormat.TAG_DRAWABLE_RIPPLE);
+      writeValue(ripple.color);
+      writeValue(ripple.mask);
+      writeValue(ripple.content);
+      writeValue(ripple.defaultBackground);
+    } else if (drawable instanceof DrawableValue.UrlValue) {
+      body.write(BinaryFormat.TAG_DRAWABLE_URL);
+      writeString(((DrawableValue.UrlValue) drawable).url);
+    } else {
+      throw new IllegalArgumentException(drawable.getClass().getName() + " is not a known drawable type!");
+    }
+  }
+
+  private void writeDrawableElement(DrawableValue.DrawableElement element) {
+    if (element instanceof DrawableValue.Gradient) {
+      DrawableValue.Gradient gradient = (DrawableValue.Gradient) element;
+      int flags = 0;
+      if (null != gradient.angle) {
+        flags |= BinaryFormat.GRADIENT_ANGLE;
+      }
+      if (null != gradient.centerX) {
+        flags |= BinaryFormat.GRADIENT_CENTER_X;
+      }
+      if (null != gradient.centerY) {
+        flags |= BinaryFormat.GRADIENT_CENTER_Y;
+      }
+      if (null != gradient.useLevel) {
+        flags |= BinaryFormat.GRADIENT_USE_LEVEL;
+        if (gradient.useLevel) {
+          flags |= BinaryFormat.GRADIENT_USE_LEVEL_TRUE;
+        }
+      }
+      body.write(BinaryFormat.TAG_GRADIENT);
+      writeVarInt(body, flags);
+      if (null != gradient.angle) {
+        writeSignedVarInt(body, gradient.angle);
+      }
+      if (null != gradient.centerX) {
+        writeInt(body, Float.floatToIntBits(gradient.centerX));
+      }
+      if (null != gradient.centerY) {
+        writeInt(body, Float.floatToIntBits(gradient.centerY));
+      }
+      writeSignedVarInt(body, gradient.gradientType);
+      writeValue(gradient.startColor);
+      writeValue(gradient.centerColor);
+      writeValue(gradient.endColor);
+      writeValue(gradient.gradientRadius);
+    } else if (element instanceof DrawableValue.Corners) {
+      DrawableValue.Corners corners = (DrawableValue.Corners) element;
+      body.write(BinaryFormat.TAG_CORNERS);
+      writeValue(corners.radius);
+      writeValue(corners.topLeftRadius);
+      writeValue(corners.topRightRadius);
+      writeValue(corners.bottomLeftRadius);
+      writeValue(corners.bottomRightRadius);
+    } else if (element instanceof DrawableValue.Solid) {
+      body.write(BinaryFormat.TAG_SOLID);
+      writeValue(((DrawableValue.Solid) element).color);
+    } else if (element instanceof DrawableValue.Size) {
+      DrawableValue.Size size = (DrawableValue.Size) element;
+      body.write(BinaryFormat.TAG_SIZE);
+      writeValue(size.width);
+      writeValue(size.height);
+    } else if (element instanceof DrawableValue.Stroke) {
+      DrawableValue.Stroke stroke = (DrawableValue.Stroke) element;
+      body.write(BinaryFormat.TAG_STROKE);
+      writeValue(stroke.width);
+      writeValue(stroke.color);
+      writeValue(stroke.dashWidth);
+      writeValue(stroke.dashGap);
+    } else {
+      throw new IllegalArgumentException(element.getClass().getName() + " is not a known drawable element type!");
+    }
+  }
+
+  private void writeStates(int[][] states) {
+    writeVarInt(body, states.length);
+    for (int[] state : states) {
+      writeVarInt(body, state.length);
+      for (int s : state) {
+        writeSignedVarInt(body, s);
+      }
+    }
+  }
+
+  private void writeString(String string) {
+    Integer index = indices.get(string);
+    if (null == index) {
+      index = strings.size();
+      strings.add(string);
+      indices.put(string, index);
+    }
+    writeVarInt(body, index);
+  }
+
+  private void writeDouble(double value) {
+    long bits = Double.doubleToLongBits(value);
+    writeInt(body, (int) (bits >>> 32));
+    writeInt(body, (int) bits);
+  }
+
+  private void writeSignedVarLong(long value) {
+    long v = (value << 1) ^ (value >> 63);
+    while ((v & ~0x7FL) != 0) {
+      body.write((int) ((v & 0x7F) | 0x80));
+      v >>>= 7;
+    }
+    body.write((int) v);
+  }
+
+  private static void writeInt(ByteArrayOutputStream out, int value) {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  private static void writeSignedVarInt(ByteArrayOutputStream out, int value) {
+    writeVarInt(out, (value << 1) ^ (value >> 31));
+  }
+
+  static void writeVarInt(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+}
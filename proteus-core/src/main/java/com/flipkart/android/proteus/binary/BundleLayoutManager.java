@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.binary;
+
+import android.util.LruCache;
+
+import com.flipkart.android.proteus.LayoutManager;
+import com.flipkart.android.proteus.Proteus;
+import com.flipkart.android.proteus.value.Layout;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * BundleLayoutManager
+ * <p>
+ * A {@link LayoutManager} backed by a {@link LayoutBundle}. Layouts are decoded
+ * from the bundle only when they are first requested and the most recently used
+ * ones are kept in a bounded cache. When opened with {@link #map(File, Proteus, int)}
+ * the bundle file is memory mapped, so only the pages of the layouts actually
+ * used are ever read.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class BundleLayoutManager extends LayoutManager {
+
+  public static final int DEFAULT_CACHE_SIZE = 32;
+
+  @NonNull
+  private final LayoutBundle bundle;
+
+  @NonNull
+  private final LruCache<String, Layout> cache;
+
+  public BundleLayoutManager(@NonNull LayoutBundle bundle, int cacheSize) {
+    this.bundle = bundle;
+    this.cache = new LruCache<>(cacheSize);
+  }
+
+  public BundleLayoutManager(@NonNull LayoutBundle bundle) {
+    this(bundle, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Memory maps the bundle file and creates a layout manager for it.
+   *
+   * @param file      a bundle written by {@link BundleWriter}
+   * @param proteus   the proteus instance the layouts will be inflated with
+   * @param cacheSize the maximum number of decoded layouts to keep in memory
+   */
+  @NonNull
+  public static BundleLayoutManager map(@NonNull File file, @NonNull Proteus proteus, int cacheSize) throws IOException {
+    RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = raf.getChannel();
+      // the mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new BundleLayoutManager(new LayoutBundle(buffer, proteus), cacheSize);
+    } finally {
+      raf.close();
+    }
+  }
+
+  /**
+   * Decodes all the layouts in the bundle, use {@link #get(String)}
+   * to decode only the layouts which are needed.
+   */
+  @Nullable
+  @Override
+  protected Map<String, Layout> getLayouts() {
+    return bundle.getLayouts();
+  }
+
+  @Nullable
+  @Override
+  public Layout get(@NonNull String name) {
+    Layout layout = cache.get(name);
+    if (null == layout) {
+      layout = bundle.getLayout(name);
+      if (null != layout) {
+        cache.put(name, layout);
+      }
+    }
+    return layout;
+  }
+
+  @NonNull
+  public LayoutBundle getBundle() {
+    return bundle;
+  }
+
+  /**
+   * Evicts all the decoded layouts, eg. when the application is trimming memory.
+   */
+  public void trim() {
+    cache.evictAll();
+  }
+}
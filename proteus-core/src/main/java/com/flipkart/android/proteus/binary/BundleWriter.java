@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flipkart.android.proteus.binary;
+
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+
+/**
+ * BundleWriter
+ * <p>
+ * Writes a set of named, precompiled layouts and styles into a single
+ * binary document which can be opened with {@link LayoutBundle}. The root
+ * of the document is an index of the offsets of every layout and style,
+ * along with the ids of all the attributes used by the layouts, which
+ * are verified against the {@link com.flipkart.android.proteus.Proteus}
+ * instance the bundle is opened with.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class BundleWriter {
+
+  private final BinaryWriter writer = new BinaryWriter();
+
+  private final ObjectValue layouts = new ObjectValue();
+
+  private final ObjectValue styles = new ObjectValue();
+
+  private final ObjectValue attributes = new ObjectValue();
+
+  public BundleWriter addLayout(@NonNull String name, @NonNull Layout layout) {
+    layouts.addProperty(name, writer.write(layout));
+    return this;
+  }
+
+  public BundleWriter addStyle(@NonNull String name, @NonNull Map<String, Value> style) {
+    ObjectValue object = new ObjectValue();
+    for (Map.Entry<String, Value> entry : style.entrySet()) {
+      object.add(entry.getKey(), entry.getValue());
+    }
+    styles.addProperty(name, writer.write(object));
+    return this;
+  }
+
+  /**
+   * Records the id which was assigned to an attribute of a view type
+   * while compiling the layouts in this bundle.
+   */
+  public BundleWriter addAttribute(@NonNull String type, @NonNull String name, int id) {
+    ObjectValue ids = attributes.getAsObject(type);
+    if (null == ids) {
+      ids = new ObjectValue();
+      attributes.add(type, ids);
+    }
+    ids.addProperty(name, id);
+    return this;
+  }
+
+  public void writeTo(@NonNull OutputStream out) throws IOException {
+    ObjectValue index = new ObjectValue();
+    index.add(BinaryFormat.BUNDLE_LAYOUTS, layouts);
+    index.add(BinaryFormat.BUNDLE_STYLES, styles);
+    index.add(BinaryFormat.BUNDLE_ATTRIBUTES, attributes);
+    writer.setRoot(writer.write(index));
+    writer.writeTo(out);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.flipkart.android.proteus.binary;
+
+import com.flipkart.android.proteus.Proteus;
+import com.flipkart.android.proteus.Styles;
+import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * LayoutBundle
+ * <p>
+ * Provides access to the layouts and styles of a document written by
+ * {@link BundleWriter}. Layouts are decoded on request from their offset
+ * in the document.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class LayoutBundle {
+
+  @NonNull
+  private final BinaryReader reader;
+
+  @NonNull
+  private final Map<String, Integer> layouts;
+
+  @NonNull
+  private final Map<String, Integer> styles;
+
+  /**
+   * @param buffer  the contents of the bundle
+   * @param proteus the proteus instance the bundle will be inflated with, it must
+   *                have been built with the same configuration as the compiler.
+   * @throws IllegalArgumentException if the buffer is not a valid bundle or if the
+   *                                  ids of the attributes do not match the proteus instance.
+   */
+  public LayoutBundle(@NonNull ByteBuffer buffer, @NonNull Proteus proteus) {
+    this.reader = new BinaryReader(buffer, proteus.functions);
+    Value root = reader.read();
+    if (null == root || !root.isObject()) {
+      throw new IllegalArgumentException("not a layout bundle");
+    }
+    ObjectValue index = root.getAsObject();
+    verify(index.getAsObject(BinaryFormat.BUNDLE_ATTRIBUTES), proteus);
+    this.layouts = offsets(index.getAsObject(BinaryFormat.BUNDLE_LAYOUTS));
+    this.styles = offsets(index.getAsObject(BinaryFormat.BUNDLE_STYLES));
+  }
+
+  public LayoutBundle(@NonNull byte[] bytes, @NonNull Proteus proteus) {
+    this(ByteBuffer.wrap(bytes), proteus);
+  }
+
+  private static void verify(@Nullable ObjectValue attributes, @NonNull Proteus proteus) {
+    if (null == attributes) {
+      return;
+    }
+    for (Map.Entry<String, Value> type : attributes.entrySet()) {
+      if (!proteus.has(type.getKey())) {
+        throw new IllegalArgumentException("bundle was compiled with an unknown view type: " + type.getKey());
+      }
+      for (Map.Entry<String, Value> entry : type.getValue().getAsObject().entrySet()) {
+        ViewTypeParser.AttributeSet.Attribute attribute = proteus.getAttributeId(entry.getKey(), type.getKey());
+        if (null == attribute || attribute.id != entry.getValue().getAsInt()) {
+          throw new IllegalArgumentException("bundle was compiled with a different configuration, attribute '"
+            + entry.getKey() + "' of '" + type.getKey() + "' does not match");
+        }
+      }
+    }
+  }
+
+  @NonNull
+  private static Map<String, Integer> offsets(@Nullable ObjectValue index) {
+    Map<String, Integer> offsets = new HashMap<>();
+    if (null != index) {
+      for (Map.Entry<String, Value> entry : index.entrySet()) {
+        offsets.put(entry.getKey(), entry.getValue().getAsInt());
+      }
+    }
+    return offsets;
+  }
+
+  @NonNull
+  public Set<String> getLayoutNames() {
+    return layouts.keySet();
+  }
+
+  public boolean hasLayout(@NonNull String name) {
+    return layouts.containsKey(name);
+  }
+
+  /**
+   * Decodes the layout with the specified name.
+   *
+   * @param name the name of the layout
+   * @return a new instance of the layout, or null if the bundle does not contain it.
+   */
+  @Nullable
+  public synchronized Layout getLayout(@NonNull String name) {
+    Integer offset = layouts.get(name);
+    return null != offset ? reader.readLayout(offset) : null;
+  }
+
+  /**
+   * Decodes all the layouts in the bundle.
+   */
+  @NonNull
+  public synchronized Map<String, Layout> getLayouts() {
+    Map<String, Layout> map = new HashMap<>(layouts.size());
+    for (Map.Entry<String, Integer> entry : layouts.entrySet()) {
+      map.put(entry.getKey(), reader.readLayout(entry.getValue()));
+    }
+    return map;
+  }
+
+  /**
+   * Decodes all the styles in the bundle.
+   */
+  @NonNull
+  public synchronized Styles getStyles() {
+    Styles map = new Styles();
+    Value value;
+    for (Map.Entry<String, Integer> entry : styles.entrySet()) {
+      value = reader.read(entry.getValue());
+      Map<String, Value> style = new HashMap<>();
+      //noinspection ConstantConditions
+      for (Map.Entry<String, Value> attribute : value.getAsObject().entrySet()) {
+        style.put(attribute.getKey(), attribute.getValue());
+      }
+      map.put(entry.getKey(), style);
+    }
+    return map;
+  }
+}
@@ -29,4 +29,8 @@ public class ProteusInflateException extends InflateException {
   public ProteusInflateException(String message) {
     super(message);
   }
+
+  public ProteusInflateException(String message, Throwable cause) {
+    super(message, cause);
+  }
 }
@@ -45,4 +45,9 @@ public class AdapterBasedViewManager extends ViewGroupManager {
   protected void updateChildren() {
 
   }
+
+  @Override
+  protected void updateChildren(@NonNull String[] paths) {
+
+  }
 }
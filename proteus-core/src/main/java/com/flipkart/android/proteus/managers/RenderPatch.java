@@ -0,0 +1,271 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.managers;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.flipkart.android.proteus.BoundAttribute;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+import com.flipkart.android.proteus.toolbox.EvaluationCache;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * RenderPatch
+ *
+ * <p>
+ * Splits {@link ViewManager#update(ObjectValue)} into two phases. {@link #create} evaluates the
+ * bindings of a view tree on any thread and compiles the values, eg. parses the dimensions,
+ * colors and drawables, into a flat list of operations. {@link #apply()} then sets the data and
+ * the values on the views on the main thread, skipping the values which have not changed.
+ * </p>
+ * <p>
+ * The data passed to {@link #create} must not be changed until the patch is applied, pass a
+ * copy if it is shared with other threads; {@link #update(ProteusView, ObjectValue, Executor)}
+ * takes the copy itself and drops patches which are overtaken by a newer update. Data bound {@code children} inflate and remove views, they are still
+ * evaluated when the patch is applied.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class RenderPatch {
+
+  private static final String TAG = "RenderPatch";
+
+  /**
+   * The latest update requested for each view, only touched on the main thread.
+   */
+  private static final Map<ProteusView, Object> LATEST = new WeakHashMap<>();
+
+  @NonNull
+  private final ProteusView view;
+
+  @NonNull
+  private final ObjectValue data;
+
+  @NonNull
+  private final List<Operation> operations = new ArrayList<>();
+
+  private RenderPatch(@NonNull ProteusView view, @NonNull ObjectValue data) {
+    this.view = view;
+    this.data = data;
+  }
+
+  /**
+   * Evaluates the bindings of the view, and of its child views, on the data. Runs on any
+   * thread, as long as the view tree and the data are not changed while it does.
+   *
+   * @param view the view to update.
+   * @param data the new data, as it would be passed to {@link ViewManager#update(ObjectValue)}.
+   * @return the patch to be applied on the main thread.
+   */
+  @NonNull
+  public static RenderPatch create(@NonNull ProteusView view, @NonNull ObjectValue data) {
+    RenderPatch patch = new RenderPatch(view, data);
+    ProteusView.Manager manager = view.getViewManager();
+    EvaluationCache.begin();
+    try {
+      if (manager instanceof ViewManager) {
+        ((ViewManager) manager).prepare(data, manager.getDataContext().getIndex(), patch);
+      } else {
+        patch.update(manager, data, manager.getDataContext().getIndex());
+      }
+    } finally {
+      EvaluationCache.end();
+    }
+    return patch;
+  }
+
+  /**
+   * Creates the patch on the executor and applies it on the main thread. If the patch cannot
+   * be created, the view is updated on the main thread instead.
+   * <p>
+   * Must be called on the main thread. The data is copied before it is handed to the executor,
+   * so the caller may keep changing it, a {@link com.flipkart.android.proteus.value.PersistentObjectValue}
+   * is not copied at all. Updates of the same view are applied in the order they were requested:
+   * a patch which is ready after a newer update has been requested is dropped, the newer
+   * update wins.
+   * </p>
+   *
+   * @param view     the view to update.
+   * @param data     the new data.
+   * @param executor the executor to create the patch on.
+   */
+  public static void update(@NonNull final ProteusView view, @NonNull ObjectValue data, @NonNull Executor executor) {
+    final Handler handler = new Handler(Looper.getMainLooper());
+    final ObjectValue snapshot = data.copy();
+    final Object token = new Object();
+    LATEST.put(view, token);
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        RenderPatch patch;
+        try {
+          patch = create(view, snapshot);
+        } catch (RuntimeException e) {
+          if (ProteusConstants.isLoggingEnabled()) {
+            Log.e(TAG, "could not prepare the update in the background, " + e.getMessage(), e);
+          }
+          patch = null;
+        }
+        final RenderPatch result = patch;
+        handler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (LATEST.get(view) != token) {
+              return; // a newer update has been requested, this one is stale
+            }
+            LATEST.remove(view);
+            if (null != result) {
+              result.apply();
+            } else {
+              view.getViewManager().update(snapshot);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Applies the operations to the views. Must be called on the main thread.
+   */
+  public void apply() {
+    EvaluationCache.begin();
+    try {
+      for (Operation operation : operations) {
+        operation.apply();
+      }
+    } finally {
+      EvaluationCache.end();
+    }
+  }
+
+  @NonNull
+  public ProteusView getView() {
+    return view;
+  }
+
+  @NonNull
+  public ObjectValue getData() {
+    return data;
+  }
+
+  /**
+   * @return the number of operations in this patch.
+   */
+  public int size() {
+    return operations.size();
+  }
+
+  void setData(@NonNull ViewManager manager, @NonNull ObjectValue data, int index) {
+    operations.add(new Operation(Operation.DATA, manager, null, data, null, index));
+  }
+
+  void update(@NonNull ProteusView.Manager manager, @NonNull ObjectValue data, int index) {
+    operations.add(new Operation(Operation.UPDATE, manager, null, data, null, index));
+  }
+
+  void evaluate(@NonNull ViewManager manager, @NonNull BoundAttribute attribute, @NonNull ObjectValue data, int index) {
+    Value value = EvaluationCache.evaluate(attribute.binding, manager.context, data, index);
+    Value compiled = null;
+    if (!(attribute.binding instanceof NestedBinding)) {
+      AttributeProcessor processor = manager.parser.getAttributeProcessor(attribute.attributeId);
+      compiled = null != processor ? processor.prepare(value, manager.context) : value;
+    }
+    operations.add(new Operation(Operation.ATTRIBUTE, manager, attribute, value, compiled, index));
+  }
+
+  /**
+   * An operation of the patch.
+   */
+  private static class Operation {
+
+    static final int DATA = 0;
+
+    static final int UPDATE = 1;
+
+    static final int ATTRIBUTE = 2;
+
+    final int type;
+
+    @NonNull
+    final ProteusView.Manager manager;
+
+    @Nullable
+    final BoundAttribute attribute;
+
+    /**
+     * The data for {@link #DATA} and {@link #UPDATE}, else the evaluated value.
+     */
+    @NonNull
+    final Value value;
+
+    /**
+     * The compiled value, {@code null} if the binding must be evaluated on the main thread.
+     */
+    @Nullable
+    final Value compiled;
+
+    final int index;
+
+    Operation(int type, @NonNull ProteusView.Manager manager, @Nullable BoundAttribute attribute,
+              @NonNull Value value, @Nullable Value compiled, int index) {
+      this.type = type;
+      this.manager = manager;
+      this.attribute = attribute;
+      this.value = value;
+      this.compiled = compiled;
+      this.index = index;
+    }
+
+    void apply() {
+      switch (type) {
+        case DATA:
+          ((ViewManager) manager).setData(value.getAsObject(), index);
+          break;
+        case UPDATE:
+          if (!manager.getDataContext().hasOwnProperties()) {
+            manager.getDataContext().setIndex(index);
+          }
+          manager.update(value.getAsObject());
+          break;
+        default:
+          //noinspection ConstantConditions : attribute operations always have an attribute
+          if (attribute.hasChanged(value)) {
+            ViewManager viewManager = (ViewManager) manager;
+            //noinspection unchecked
+            viewManager.parser.handleAttribute(viewManager.view, attribute.attributeId, null != compiled ? compiled : attribute.binding);
+          }
+      }
+    }
+  }
+}
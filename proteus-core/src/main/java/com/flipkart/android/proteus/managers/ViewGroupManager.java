@@ -19,12 +19,22 @@ package com.flipkart.android.proteus.managers;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.flipkart.android.proteus.BoundAttribute;
 import com.flipkart.android.proteus.DataContext;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
 import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.toolbox.EvaluationCache;
+import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -39,6 +49,21 @@ public class ViewGroupManager extends ViewManager {
 
   public boolean hasDataBoundChildren;
 
+  /**
+   * The keys of the data bound children, in the order of the children, if the
+   * {@code children} attribute has a {@code key} binding.
+   */
+  @Nullable
+  public Value[] keys;
+
+  /**
+   * The data path of the {@code collection} of the data bound children, eg. {@code items} for
+   * {@code @{items}}, or {@code null} if it is not a plain data binding. A change inside an item
+   * of the collection, eg. {@code items.3.title}, only updates the child of that item.
+   */
+  @Nullable
+  public String collection;
+
   public ViewGroupManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser,
                           @NonNull View view, @NonNull Layout layout, @NonNull DataContext dataContext) {
     super(context, parser, view, layout, dataContext);
@@ -47,8 +72,103 @@ public class ViewGroupManager extends ViewManager {
 
   @Override
   public void update(@Nullable ObjectValue data) {
-    super.update(data);
-    updateChildren();
+    EvaluationCache.begin();
+    try {
+      super.update(data);
+      updateChildren();
+    } finally {
+      EvaluationCache.end();
+    }
+  }
+
+  @Override
+  protected void updatePaths(@NonNull String[] paths) {
+    // reconciling the data bound children updates all of them
+    BoundAttribute children = hasDataBoundChildren ? getChildrenAttribute() : null;
+    boolean reconciled = null != children && isAffected(children, paths);
+    super.updatePaths(paths);
+    if (!reconciled) {
+      updateChildren(paths);
+    }
+  }
+
+  @Override
+  protected boolean isAffected(@NonNull BoundAttribute attribute, @NonNull String[] paths) {
+    if (null == collection || !hasDataBoundChildren
+      || attribute.attributeId != parser.getAttributeId(Attributes.ViewGroup.Children)) {
+      return super.isAffected(attribute, paths);
+    }
+    // a change inside an item does not change the collection, see updateChildren(String[])
+    for (String path : attribute.binding.getPaths()) {
+      for (String changed : paths) {
+        if (Binding.isAffected(path, changed) && (!path.equals(collection) || getItemIndex(changed) < 0)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  protected void prepareChildren(@NonNull ObjectValue data, int index, @NonNull RenderPatch patch) {
+    if (!hasDataBoundChildren && view instanceof ViewGroup) {
+      ViewGroup parent = (ViewGroup) view;
+      int count = parent.getChildCount();
+      View child;
+      ProteusView.Manager manager;
+
+      for (int i = 0; i < count; i++) {
+        child = parent.getChildAt(i);
+        if (child instanceof ProteusView) {
+          manager = ((ProteusView) child).getViewManager();
+          if (manager instanceof ViewManager) {
+            ((ViewManager) manager).prepare(data, index, patch);
+          } else {
+            patch.update(manager, data, index);
+          }
+        }
+      }
+    }
+  }
+
+  protected void updateChildren(@NonNull String[] paths) {
+    // data bound children are included, they may read paths outside of their collection
+    if (view instanceof ViewGroup) {
+      ViewGroup parent = (ViewGroup) view;
+      int count = parent.getChildCount();
+      View child;
+      ProteusView.Manager manager;
+
+      String[] changed;
+      String[] scoped;
+
+      for (int index = 0; index < count; index++) {
+        child = parent.getChildAt(index);
+        if (child instanceof ProteusView) {
+          manager = ((ProteusView) child).getViewManager();
+          // a data bound child is at the position of its item
+          changed = hasDataBoundChildren ? getItemPaths(paths, index) : paths;
+          if (manager.getDataContext().hasOwnProperties()) {
+            // the child has its own scope, evaluated from the data of this view
+            if (isAffected(manager.getDataContext().getScope(), changed)) {
+              scoped = manager instanceof ViewManager ? getScopedPaths(manager.getDataContext(), changed) : null;
+              if (null != scoped) {
+                ((ViewManager) manager).updatePaths(scoped);
+              } else {
+                manager.update(dataContext.getData());
+              }
+            }
+          } else if (manager instanceof ViewManager) {
+            // the data may have been replaced by a new version, see refresh(), it is handed
+            // down to the whole subtree even if none of its paths changed
+            manager.getDataContext().setData(dataContext.getData());
+            ((ViewManager) manager).updatePaths(changed);
+          } else if (changed.length > 0) {
+            manager.update(dataContext.getData());
+          }
+        }
+      }
+    }
   }
 
   protected void updateChildren() {
@@ -56,13 +176,138 @@ public class ViewGroupManager extends ViewManager {
       ViewGroup parent = (ViewGroup) view;
       int count = parent.getChildCount();
       View child;
+      ProteusView.Manager manager;
 
       for (int index = 0; index < count; index++) {
         child = parent.getChildAt(index);
         if (child instanceof ProteusView) {
-          ((ProteusView) child).getViewManager().update(dataContext.getData());
+          manager = ((ProteusView) child).getViewManager();
+          if (!manager.getDataContext().hasOwnProperties()) {
+            // the data context was copied from this view, along with its index
+            manager.getDataContext().setIndex(dataContext.getIndex());
+          }
+          manager.update(dataContext.getData());
         }
       }
     }
   }
+
+  @Nullable
+  private BoundAttribute getChildrenAttribute() {
+    if (null != boundAttributes) {
+      int id = parser.getAttributeId(Attributes.ViewGroup.Children);
+      for (BoundAttribute attribute : boundAttributes) {
+        if (attribute.attributeId == id) {
+          return attribute;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the index of the item of the {@link #collection} a changed path is inside of, eg.
+   * {@code 3} for {@code items.3.title}.
+   *
+   * @return the index, or {@code -1} if the path is not inside an item.
+   */
+  private int getItemIndex(@NonNull String path) {
+    if (null == collection || collection.isEmpty()) {
+      return -1;
+    }
+    int start = collection.length() + 1;
+    if (path.length() <= start || path.charAt(start - 1) != Binding.DELIMITER_OBJECT || !path.startsWith(collection)) {
+      return -1;
+    }
+    int end = path.indexOf(Binding.DELIMITER_OBJECT, start);
+    end = end < 0 ? path.length() : end;
+    int index = 0;
+    char c;
+    for (int i = start; i < end; i++) {
+      c = path.charAt(i);
+      if (c < '0' || c > '9' || index > (Integer.MAX_VALUE - 9) / 10) {
+        return -1;
+      }
+      index = index * 10 + (c - '0');
+    }
+    return index;
+  }
+
+  /**
+   * Drops the changed paths inside the items of the {@link #collection}, other than the item
+   * of a data bound child.
+   *
+   * @param paths the changed paths.
+   * @param index the position of the child, which is the index of its item.
+   * @return the paths which may affect the child.
+   */
+  @NonNull
+  private String[] getItemPaths(@NonNull String[] paths, int index) {
+    if (null == collection) {
+      return paths;
+    }
+    List<String> kept = null;
+    int item;
+    for (int i = 0; i < paths.length; i++) {
+      item = getItemIndex(paths[i]);
+      if (item >= 0 && item != index) {
+        if (null == kept) {
+          kept = new ArrayList<>(Arrays.asList(paths).subList(0, i));
+        }
+      } else if (null != kept) {
+        kept.add(paths[i]);
+      }
+    }
+    return null == kept ? paths : kept.toArray(new String[kept.size()]);
+  }
+
+  /**
+   * Maps the changed paths to the data of a child with its own scope, eg. {@code items.3.title}
+   * to {@code item.title} for the scope {@code item: @{items[$index]}} at index {@code 3}. Only
+   * the paths inside an object or array which the scope still shares with the data of this view
+   * can be mapped, every other change needs the scope to be evaluated again.
+   *
+   * @param child the data context of the child.
+   * @param paths the changed paths.
+   * @return the mapped paths, or {@code null} if the scope must be evaluated again.
+   */
+  @Nullable
+  private String[] getScopedPaths(@NonNull DataContext child, @NonNull String[] paths) {
+    Map<String, Value> scope = child.getScope();
+    if (null == scope) {
+      return null;
+    }
+    String index = String.valueOf(child.getIndex());
+    List<String> mapped = new ArrayList<>(paths.length);
+    Binding binding;
+    String path;
+    Value shared;
+
+    for (Map.Entry<String, Value> entry : scope.entrySet()) {
+      if (!entry.getValue().isBinding()) {
+        continue;
+      }
+      binding = entry.getValue().getAsBinding();
+      path = binding instanceof Binding.DataBinding ? ((Binding.DataBinding) binding).getPath() : null;
+      if (null != path) {
+        path = path.replace(Binding.INDEX, index);
+      }
+      for (String changed : paths) {
+        if (null != path && path.indexOf('$') < 0 && changed.length() > path.length()
+          && changed.charAt(path.length()) == Binding.DELIMITER_OBJECT && changed.startsWith(path)) {
+          shared = binding.evaluate(context, dataContext.getData(), child.getIndex());
+          if (shared != child.getData().get(entry.getKey()) || (!shared.isObject() && !shared.isArray())) {
+            return null;
+          }
+          mapped.add(entry.getKey() + changed.substring(path.length()));
+        } else if (isAffected(binding, new String[]{changed})) {
+          return null;
+        }
+      }
+    }
+
+    String[] result = mapped.toArray(new String[mapped.size()]);
+    // the scope may read its own values, eg. title: @{item.title}
+    return isAffected(scope, result) ? null : result;
+  }
 }
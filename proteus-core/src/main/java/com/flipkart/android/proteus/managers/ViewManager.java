@@ -23,11 +23,23 @@ import com.flipkart.android.proteus.DataContext;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
 import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.toolbox.DataDiff;
+import com.flipkart.android.proteus.toolbox.EvaluationCache;
+import com.flipkart.android.proteus.toolbox.JsonPatch;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.Layout;
 import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Observable;
+import com.flipkart.android.proteus.value.Value;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -57,9 +69,24 @@ public class ViewManager implements ProteusView.Manager {
   @Nullable
   protected final List<BoundAttribute> boundAttributes;
 
+  /**
+   * The {@link #boundAttributes} indexed by the first segment of the data paths they read.
+   */
+  @Nullable
+  protected final Map<String, List<BoundAttribute>> dependencies;
+
   @Nullable
   protected Object extras;
 
+  /**
+   * The data this view is subscribed to, see {@link #observe()}.
+   */
+  @Nullable
+  private Observable observed;
+
+  @Nullable
+  private Observable.Observer observer;
+
   public ViewManager(@NonNull ProteusContext context, @NonNull ViewTypeParser parser,
                      @NonNull View view, @NonNull Layout layout, @NonNull DataContext dataContext) {
     this.context = context;
@@ -77,12 +104,69 @@ public class ViewManager implements ProteusView.Manager {
       }
       if (boundAttributes.size() > 0) {
         this.boundAttributes = boundAttributes;
+        this.dependencies = index(boundAttributes);
       } else {
         this.boundAttributes = null;
+        this.dependencies = null;
       }
     } else {
       this.boundAttributes = null;
+      this.dependencies = null;
+    }
+  }
+
+  private static Map<String, List<BoundAttribute>> index(List<BoundAttribute> boundAttributes) {
+    Map<String, List<BoundAttribute>> dependencies = new HashMap<>();
+    List<BoundAttribute> list;
+    String root;
+    for (BoundAttribute boundAttribute : boundAttributes) {
+      for (String path : boundAttribute.binding.getPaths()) {
+        root = getRoot(path);
+        list = dependencies.get(root);
+        if (null == list) {
+          list = new ArrayList<>();
+          dependencies.put(root, list);
+        }
+        if (!list.contains(boundAttribute)) {
+          list.add(boundAttribute);
+        }
+      }
+    }
+    return dependencies;
+  }
+
+  private static String getRoot(String path) {
+    int index = path.indexOf(Binding.DELIMITER_OBJECT);
+    return index < 0 ? path : path.substring(0, index);
+  }
+
+  /**
+   * Checks if any of the paths read by the binding values of the scope is affected by the changed paths.
+   *
+   * @param scope the scope of a {@link DataContext}.
+   * @param paths the changed data paths.
+   * @return {@code true} if the scope must be evaluated again.
+   */
+  protected static boolean isAffected(@Nullable Map<String, Value> scope, @NonNull String[] paths) {
+    if (null != scope) {
+      for (Value value : scope.values()) {
+        if (value.isBinding() && isAffected(value.getAsBinding(), paths)) {
+          return true;
+        }
+      }
     }
+    return false;
+  }
+
+  protected static boolean isAffected(@NonNull Binding binding, @NonNull String[] paths) {
+    for (String path : binding.getPaths()) {
+      for (String changed : paths) {
+        if (Binding.isAffected(path, changed)) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   @Override
@@ -92,14 +176,241 @@ public class ViewManager implements ProteusView.Manager {
       updateDataContext(data);
     }
 
+    // move the subscription to the new data
+    if (null != observed && observed != dataContext.getData()) {
+      observe();
+    }
+
     // update the bound attributes of this view
     if (this.boundAttributes != null) {
+      EvaluationCache.begin();
+      try {
+        for (BoundAttribute boundAttribute : this.boundAttributes) {
+          this.handleBinding(boundAttribute);
+        }
+      } finally {
+        EvaluationCache.end();
+      }
+    }
+  }
+
+  /**
+   * Assigns the value at the data path in the data of this view and updates only the bound
+   * attributes, and the child views, which read that path.
+   *
+   * @param path  the data path, in the same format as a data binding, eg. {@code a.b[0].c}.
+   * @param value the new value.
+   */
+  public void update(@NonNull String path, @NonNull Value value) {
+    Binding.DataBinding binding = Binding.DataBinding.valueOf(path);
+    binding.assign(value, dataContext.getData(), dataContext.getIndex());
+    if (null == observed || observed != dataContext.getData()) {
+      dispatch(new String[]{binding.getPath()});
+    }
+  }
+
+  /**
+   * Subscribes this view to the changes of its data, if the data is {@link Observable}.
+   * Every change, including the ones made by {@link #update(String, Value)}, then updates
+   * only the bound attributes, and the child views, which read the changed path. The view
+   * must be unsubscribed using {@link #unobserve()} once it is no longer used.
+   *
+   * @return {@code true} if the data is observable and the view has been subscribed.
+   */
+  public boolean observe() {
+    unobserve();
+    ObjectValue data = dataContext.getData();
+    if (!(data instanceof Observable)) {
+      return false;
+    }
+    if (null == observer) {
+      observer = new Observable.Observer() {
+        @Override
+        public void onChanged(@NonNull String path) {
+          dispatch(new String[]{path});
+        }
+      };
+    }
+    observed = (Observable) data;
+    observed.addObserver(observer);
+    return true;
+  }
+
+  /**
+   * Unsubscribes this view from the changes of its data, see {@link #observe()}.
+   */
+  public void unobserve() {
+    if (null != observed && null != observer) {
+      observed.removeObserver(observer);
+    }
+    observed = null;
+  }
+
+  /**
+   * Updates only the bound attributes, and the child views, which read one of the changed data
+   * paths. The data itself must have already been changed in place.
+   *
+   * @param paths the changed data paths, in the same format as a data binding, eg. {@code a.b[0].c}.
+   */
+  public void update(@NonNull Set<String> paths) {
+    String[] canonical = new String[paths.size()];
+    int i = 0;
+    for (String path : paths) {
+      canonical[i++] = Binding.DataBinding.valueOf(path).getPath();
+    }
+    dispatch(canonical);
+  }
+
+  /**
+   * Replaces the data of this view with a new version of it, eg. a full refresh from a server,
+   * and updates only the bound attributes, and the child views, which read one of the paths
+   * that differ between the two versions, see {@link DataDiff}. Views with a scope of their own
+   * are updated completely.
+   *
+   * @param data the new data.
+   * @param key  the member which identifies the objects in arrays, eg. {@code id}, or
+   *             {@code null} to compare arrays index by index.
+   */
+  public void refresh(@NonNull ObjectValue data, @Nullable String key) {
+    ObjectValue previous = dataContext.getData();
+    if (dataContext.hasOwnProperties() || null == previous) {
+      update(data);
+      return;
+    }
+    Set<String> paths = DataDiff.diff(previous, data, key);
+    dataContext.setData(data);
+    if (null != observed && observed != data) {
+      observe();
+    }
+    // dispatched even if nothing changed, to hand the new data to the child views
+    dispatch(paths.toArray(new String[paths.size()]));
+  }
+
+  /**
+   * Applies a JSON Patch to the data of this view, and updates only the bound attributes, and
+   * the child views, which read the patched paths, see {@link JsonPatch}. The views are updated
+   * for the operations which were applied even if a later one fails.
+   *
+   * @param patch the array of patch operations.
+   * @throws IllegalArgumentException if an operation is invalid or its path does not exist.
+   */
+  public void patch(@NonNull Array patch) {
+    ObjectValue data = dataContext.getData();
+    Set<String> paths = new LinkedHashSet<>();
+    try {
+      JsonPatch.apply(patch, data, paths);
+    } finally {
+      // observed data has already notified this view of every change
+      if ((null == observed || observed != data) && !paths.isEmpty()) {
+        dispatch(paths.toArray(new String[paths.size()]));
+      }
+    }
+  }
+
+  /**
+   * Updates the changed paths in a single update pass, see {@link EvaluationCache}. Values
+   * memoized by an enclosing pass are thrown away since they may read the changed paths.
+   */
+  private void dispatch(@NonNull String[] paths) {
+    EvaluationCache.invalidate();
+    EvaluationCache.begin();
+    try {
+      updatePaths(paths);
+    } finally {
+      EvaluationCache.end();
+    }
+  }
+
+  /**
+   * @param paths the changed data paths in the canonical form of {@link Binding.DataBinding#getPath()}.
+   */
+  protected void updatePaths(@NonNull String[] paths) {
+    if (null == this.boundAttributes || null == this.dependencies) {
+      return;
+    }
+    Set<BoundAttribute> affected = null;
+    List<BoundAttribute> candidates;
+    for (String path : paths) {
+      candidates = this.dependencies.get(getRoot(path));
+      if (null == candidates) {
+        continue;
+      }
+      for (BoundAttribute candidate : candidates) {
+        if ((null == affected || !affected.contains(candidate)) && isAffected(candidate, paths)) {
+          if (null == affected) {
+            affected = new HashSet<>();
+          }
+          affected.add(candidate);
+        }
+      }
+    }
+    if (null != affected) {
       for (BoundAttribute boundAttribute : this.boundAttributes) {
-        this.handleBinding(boundAttribute);
+        if (affected.contains(boundAttribute)) {
+          this.handleBinding(boundAttribute);
+        }
       }
     }
   }
 
+  /**
+   * Checks if a bound attribute of this view must be evaluated again when the data paths change.
+   *
+   * @param attribute the bound attribute.
+   * @param paths     the changed data paths.
+   * @return {@code true} if the attribute is affected by the change else {@code false}.
+   */
+  protected boolean isAffected(@NonNull BoundAttribute attribute, @NonNull String[] paths) {
+    return isAffected(attribute.binding, paths);
+  }
+
+  /**
+   * Evaluates the bound attributes of this view, and of its child views, on the data and adds
+   * them to the patch, without touching the views. Runs on any thread, see {@link RenderPatch}.
+   *
+   * @param data  the new data of this view, as it would be passed to {@link #update(ObjectValue)}.
+   * @param index the data index of the parent view, used if this view has no scope of its own.
+   * @param patch the patch to add the operations to.
+   */
+  protected void prepare(@NonNull ObjectValue data, int index, @NonNull RenderPatch patch) {
+    ObjectValue resolved = data;
+    if (dataContext.hasOwnProperties()) {
+      index = dataContext.getIndex();
+      resolved = DataContext.create(context, data, index, dataContext.getScope()).getData();
+    }
+    patch.setData(this, resolved, index);
+    if (null != this.boundAttributes) {
+      for (BoundAttribute boundAttribute : this.boundAttributes) {
+        patch.evaluate(this, boundAttribute, resolved, index);
+      }
+    }
+    prepareChildren(resolved, index, patch);
+  }
+
+  /**
+   * Adds the operations of the child views to the patch, see {@link #prepare}.
+   *
+   * @param data  the data of this view.
+   * @param index the data index of this view.
+   * @param patch the patch to add the operations to.
+   */
+  protected void prepareChildren(@NonNull ObjectValue data, int index, @NonNull RenderPatch patch) {
+    // views without children have nothing to prepare
+  }
+
+  /**
+   * Sets the data prepared by a {@link RenderPatch} on the main thread.
+   */
+  void setData(@NonNull ObjectValue data, int index) {
+    if (!dataContext.hasOwnProperties()) {
+      dataContext.setIndex(index);
+    }
+    dataContext.setData(data);
+    if (null != observed && observed != data) {
+      observe();
+    }
+  }
+
   @Nullable
   @Override
   public View findViewById(@NonNull String id) {
@@ -143,7 +454,10 @@ public class ViewManager implements ProteusView.Manager {
   }
 
   private void handleBinding(BoundAttribute boundAttribute) {
-    //noinspection unchecked
-    parser.handleAttribute(view, boundAttribute.attributeId, boundAttribute.binding);
+    Value value = EvaluationCache.evaluate(boundAttribute.binding, context, dataContext.getData(), dataContext.getIndex());
+    if (boundAttribute.hasChanged(value)) {
+      //noinspection unchecked
+      parser.handleAttribute(view, boundAttribute.attributeId, boundAttribute.binding);
+    }
   }
 }
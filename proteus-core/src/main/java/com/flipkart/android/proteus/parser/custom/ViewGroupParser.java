@@ -25,6 +25,7 @@ import com.flipkart.android.proteus.ProteusConstants;
 import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusLayoutInflater;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewPool;
 import com.flipkart.android.proteus.ViewTypeParser;
 import com.flipkart.android.proteus.exceptions.ProteusInflateException;
 import com.flipkart.android.proteus.managers.ViewGroupManager;
@@ -32,6 +33,7 @@ import com.flipkart.android.proteus.processor.AttributeProcessor;
 import com.flipkart.android.proteus.processor.BooleanAttributeProcessor;
 import com.flipkart.android.proteus.processor.StringAttributeProcessor;
 import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.toolbox.EvaluationCache;
 import com.flipkart.android.proteus.value.AttributeResource;
 import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.Layout;
@@ -42,7 +44,10 @@ import com.flipkart.android.proteus.value.StyleResource;
 import com.flipkart.android.proteus.value.Value;
 import com.flipkart.android.proteus.view.ProteusAspectRatioFrameLayout;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -178,14 +183,16 @@ public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
 
     Binding collection = config.getAsBinding(ProteusConstants.COLLECTION);
     Layout layout = config.getAsLayout(ProteusConstants.LAYOUT);
+    Binding key = config.getAsBinding(ProteusConstants.KEY);
 
     manager.hasDataBoundChildren = true;
+    manager.collection = collection instanceof Binding.DataBinding ? ((Binding.DataBinding) collection).getPath() : null;
 
     if (null == layout || null == collection) {
       throw new ProteusInflateException("'collection' and 'layout' are mandatory for attribute:'children'");
     }
 
-    Value dataset = collection.getAsBinding().evaluate(view.getContext(), dataContext.getData(), dataContext.getIndex());
+    Value dataset = EvaluationCache.evaluate(collection, view.getContext(), dataContext.getData(), dataContext.getIndex());
     if (dataset.isNull()) {
       return;
     }
@@ -195,17 +202,41 @@ public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
     }
 
     int length = dataset.getAsArray().size();
-    int count = view.getChildCount();
     ObjectValue data = dataContext.getData();
-    ProteusLayoutInflater inflater = manager.getContext().getInflater();
+
+    if (null != key && (null != manager.keys || view.getChildCount() == 0)) {
+      Value[] keys = new Value[length];
+      for (int index = 0; index < length; index++) {
+        keys[index] = EvaluationCache.evaluate(key, view.getContext(), data, index);
+      }
+      handleKeyedChildren(view, layout, data, manager.keys, keys);
+      manager.keys = keys;
+    } else {
+      handleIndexedChildren(view, layout, data, length);
+      manager.keys = null;
+    }
+  }
+
+  /**
+   * Reconciles the data bound children by position, the child at each index is updated
+   * and the extra children are removed.
+   */
+  private void handleIndexedChildren(T view, Layout layout, ObjectValue data, int length) {
+    ProteusView parent = ((ProteusView) view);
+    ProteusContext context = parent.getViewManager().getContext();
+    ProteusLayoutInflater inflater = context.getInflater();
+    int count = view.getChildCount();
     ProteusView child;
     View temp;
 
     if (count > length) {
-      while (count > length) {
-        count--;
-        view.removeViewAt(count);
+      View[] removed = new View[count - length];
+      for (int index = length; index < count; index++) {
+        removed[index - length] = view.getChildAt(index);
       }
+      view.removeViews(length, count - length);
+      release(context, layout, removed);
+      count = length;
     }
 
     for (int index = 0; index < length; index++) {
@@ -215,13 +246,165 @@ public class ViewGroupParser<T extends ViewGroup> extends ViewTypeParser<T> {
           ((ProteusView) temp).getViewManager().update(data);
         }
       } else {
-        //noinspection ConstantConditions : We want to throw an exception if the layout is null
-        child = inflater.inflate(layout, data, view, index);
+        child = acquire(context, layout, data, index);
+        if (null == child) {
+          child = inflater.inflate(layout, data, view, index);
+        }
         addView(parent, child);
       }
     }
   }
 
+  /**
+   * Reconciles the data bound children by key. The children whose key is no longer present are
+   * removed, the children in the longest run whose relative order is unchanged stay in place, the
+   * other matched children are moved and the children for new keys are inflated. Runs of
+   * adjacent children are removed together.
+   */
+  private void handleKeyedChildren(T view, Layout layout, ObjectValue data, @Nullable Value[] previous, Value[] keys) {
+    ProteusView parent = ((ProteusView) view);
+    ProteusContext context = parent.getViewManager().getContext();
+    ProteusLayoutInflater inflater = context.getInflater();
+    int count = view.getChildCount();
+    int length = keys.length;
+
+    // match the current children to the new positions by key
+    View[] views = new View[length];
+    int[] positions = new int[count];
+    Arrays.fill(positions, -1);
+    if (null != previous && previous.length == count) {
+      Map<Value, Integer> indices = new HashMap<>(count * 2);
+      for (int index = 0; index < count; index++) {
+        if (!indices.containsKey(previous[index])) {
+          indices.put(previous[index], index);
+        }
+      }
+      Integer match;
+      for (int index = 0; index < length; index++) {
+        match = indices.remove(keys[index]);
+        if (null != match) {
+          positions[match] = index;
+          views[index] = view.getChildAt(match);
+        }
+      }
+    }
+
+    // remove the unmatched children and the ones which must move
+    boolean[] stable = getLongestIncreasingRun(positions);
+    View[] removed = new View[count];
+    for (int index = 0; index < count; index++) {
+      if (positions[index] < 0) {
+        removed[index] = view.getChildAt(index);
+      }
+    }
+    int end = count;
+    for (int index = count - 1; index >= -1; index--) {
+      if (index >= 0 && !stable[index]) {
+        continue;
+      }
+      if (end - index > 1) {
+        view.removeViews(index + 1, end - index - 1);
+      }
+      end = index;
+    }
+    release(context, layout, removed);
+
+    // insert the moved and new children, and update the matched ones
+    View temp;
+    ProteusView child;
+    DataContext dataContext;
+    for (int index = 0; index < length; index++) {
+      temp = views[index];
+      if (null == temp) {
+        child = acquire(context, layout, data, index);
+        if (null == child) {
+          child = inflater.inflate(layout, data, view, index);
+        }
+        if (index == view.getChildCount()) {
+          addView(parent, child);
+        } else {
+          view.addView(child.getAsView(), index);
+        }
+        continue;
+      }
+      if (temp.getParent() == null) {
+        view.addView(temp, index);
+      }
+      if (temp instanceof ProteusView) {
+        dataContext = ((ProteusView) temp).getViewManager().getDataContext();
+        if (dataContext.hasOwnProperties()) {
+          dataContext.setIndex(index);
+        }
+        ((ProteusView) temp).getViewManager().update(data);
+      }
+    }
+  }
+
+  /**
+   * Returns a view from the {@link ViewPool} of the context, updated with the data, if any.
+   */
+  @Nullable
+  private static ProteusView acquire(ProteusContext context, Layout layout, ObjectValue data, int index) {
+    ViewPool pool = context.getViewPool();
+    return null != pool ? pool.acquire(layout, data, index) : null;
+  }
+
+  /**
+   * Returns the removed views to the {@link ViewPool} of the context, if any.
+   */
+  private static void release(ProteusContext context, Layout layout, View[] views) {
+    ViewPool pool = context.getViewPool();
+    if (null == pool) {
+      return;
+    }
+    for (View view : views) {
+      if (view instanceof ProteusView) {
+        pool.release(layout, (ProteusView) view);
+      }
+    }
+  }
+
+  /**
+   * Finds the longest run of children whose new positions are increasing, using patience sorting.
+   *
+   * @param positions the new position of each child, -1 if it is removed.
+   * @return whether each child is part of the run and can stay in place.
+   */
+  private static boolean[] getLongestIncreasingRun(int[] positions) {
+    int count = positions.length;
+    boolean[] stable = new boolean[count];
+    int[] tails = new int[count];
+    int[] predecessors = new int[count];
+    int size = 0;
+    int low;
+    int high;
+    int middle;
+    for (int index = 0; index < count; index++) {
+      if (positions[index] < 0) {
+        continue;
+      }
+      low = 0;
+      high = size;
+      while (low < high) {
+        middle = (low + high) >>> 1;
+        if (positions[tails[middle]] < positions[index]) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      predecessors[index] = low > 0 ? tails[low - 1] : -1;
+      tails[low] = index;
+      if (low == size) {
+        size++;
+      }
+    }
+    for (int index = size > 0 ? tails[size - 1] : -1; index >= 0; index = predecessors[index]) {
+      stable[index] = true;
+    }
+    return stable;
+  }
+
   @Override
   public boolean addView(ProteusView parent, ProteusView view) {
     if (parent instanceof ViewGroup) {
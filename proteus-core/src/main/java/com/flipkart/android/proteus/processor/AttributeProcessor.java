@@ -17,20 +17,32 @@
 package com.flipkart.android.proteus.processor;
 
 import android.content.Context;
+import android.util.Log;
 import android.view.View;
 
 import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.Function;
 import com.flipkart.android.proteus.FunctionManager;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
 import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.toolbox.EvaluationCache;
+import com.flipkart.android.proteus.toolbox.Utils;
 import com.flipkart.android.proteus.value.AttributeResource;
 import com.flipkart.android.proteus.value.Binding;
 import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.Null;
 import com.flipkart.android.proteus.value.ObjectValue;
 import com.flipkart.android.proteus.value.Primitive;
 import com.flipkart.android.proteus.value.Resource;
 import com.flipkart.android.proteus.value.StyleResource;
 import com.flipkart.android.proteus.value.Value;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 /**
@@ -39,48 +51,35 @@ import androidx.annotation.Nullable;
  */
 public abstract class AttributeProcessor<V extends View> {
 
+  /**
+   * Evaluates the input on the data, without creating a processor. Bindings are evaluated,
+   * resources are resolved to their string value and every other value is returned as it is.
+   *
+   * @param context the {@link Context} of the caller.
+   * @param input   the value to evaluate.
+   * @param data    the data to evaluate the bindings on.
+   * @param index   the index to evaluate the bindings with.
+   * @return the evaluated value.
+   */
   public static Value evaluate(final Context context, final Value input, final Value data, final int index) {
-    final Value[] output = new Value[1];
-
-    AttributeProcessor processor = new AttributeProcessor<View>() {
-
-      @Override
-      public void handleBinding(View view, Binding binding) {
-        output[0] = binding.evaluate(context, data, index);
-      }
-
-      @Override
-      public void handleValue(View view, Value value) {
-        output[0] = value;
-      }
-
-      @Override
-      public void handleResource(View view, Resource resource) {
-        output[0] = new Primitive(resource.getString(context));
-      }
-
-      @Override
-      public void handleAttributeResource(View view, AttributeResource attribute) {
-        output[0] = new Primitive(attribute.apply(context).getString(0));
-      }
-
-      @Override
-      public void handleStyleResource(View view, StyleResource style) {
-        output[0] = new Primitive(style.apply(context).getString(0));
-      }
-    };
-
-    //noinspection unchecked
-    processor.process(null, input);
-
-    return output[0];
+    if (input.isBinding()) {
+      return EvaluationCache.evaluate(input.getAsBinding(), context, data, index);
+    } else if (input.isResource()) {
+      return new Primitive(input.getAsResource().getString(context));
+    } else if (input.isAttributeResource()) {
+      return new Primitive(input.getAsAttributeResource().apply(context).getString(0));
+    } else if (input.isStyleResource()) {
+      return new Primitive(input.getAsStyleResource().apply(context).getString(0));
+    } else {
+      return input;
+    }
   }
 
   @Nullable
   public static Value staticPreCompile(Primitive value, Context context, FunctionManager manager) {
     String string = value.getAsString();
     if (Binding.isBindingValue(string)) {
-      return Binding.valueOf(string, context, manager);
+      return fold(Binding.valueOf(string, context, manager), context);
     } else if (Resource.isResource(string)) {
       return Resource.valueOf(string, null, context);
     } else if (AttributeResource.isAttributeResource(string)) {
@@ -107,12 +106,69 @@ public abstract class AttributeProcessor<V extends View> {
       compiled = staticPreCompile(value.getAsPrimitive(), context, manager);
     } else if (value.isObject()) {
       compiled = staticPreCompile(value.getAsObject(), context, manager);
-    } else if (value.isBinding() || value.isResource() || value.isAttributeResource() || value.isStyleResource()) {
+    } else if (value.isBinding()) {
+      // bindings parsed ahead of time, eg. by the layout compiler, are folded here
+      return fold(value.getAsBinding(), context);
+    } else if (value.isResource() || value.isAttributeResource() || value.isStyleResource()) {
       return value;
     }
     return compiled;
   }
 
+  /**
+   * Evaluates a {@link Binding.FunctionBinding} once, at compile time, if its {@link Function}
+   * is {@link Function#isPure() pure} and all its arguments are constants. Nested function
+   * bindings are folded first, so {@code @{fn:add(@{fn:length('abc')},1)}} folds completely.
+   *
+   * @param binding the binding to fold.
+   * @param context the {@link Context} of the caller.
+   * @return the result of the function if it could be folded, else the binding
+   * with its arguments folded.
+   */
+  @NonNull
+  public static Value fold(@NonNull Binding binding, Context context) {
+    if (!(binding instanceof Binding.FunctionBinding)) {
+      return binding;
+    }
+    Binding.FunctionBinding function = (Binding.FunctionBinding) binding;
+    List<Value> arguments = new ArrayList<>();
+    Iterator<Value> iterator = function.getTokens();
+    boolean constant = true;
+    boolean changed = false;
+    Value argument;
+    Value folded;
+    while (iterator.hasNext()) {
+      argument = iterator.next();
+      folded = argument.isBinding() ? fold(argument.getAsBinding(), context) : argument;
+      changed = changed || folded != argument;
+      constant = constant && isConstant(folded);
+      arguments.add(folded);
+    }
+    Value[] values = arguments.toArray(new Value[arguments.size()]);
+    if (constant && function.function.isPure()) {
+      try {
+        return function.function.call(context, Null.INSTANCE, 0, values);
+      } catch (Exception e) {
+        if (ProteusConstants.isLoggingEnabled()) {
+          Log.e(Utils.LIB_NAME, "could not fold " + binding + ", " + e.getMessage(), e);
+        }
+      }
+    }
+    return changed ? new Binding.FunctionBinding(function.function, values) : binding;
+  }
+
+  private static boolean isConstant(Value value) {
+    return !value.isBinding() && !value.isResource() && !value.isAttributeResource() && !value.isStyleResource();
+  }
+
+  /**
+   * Evaluates the binding on the {@link DataContext} of the view.
+   */
+  static Value evaluate(Binding binding, ProteusView view) {
+    DataContext dataContext = view.getViewManager().getDataContext();
+    return EvaluationCache.evaluate(binding, view.getAsView().getContext(), dataContext.getData(), dataContext.getIndex());
+  }
+
   public void process(V view, Value value) {
     if (value.isBinding()) {
       handleBinding(view, value.getAsBinding());
@@ -143,14 +199,30 @@ public abstract class AttributeProcessor<V extends View> {
 
   public Value precompile(Value value, Context context, FunctionManager manager) {
     Value compiled = staticPreCompile(value, context, manager);
-    return null != compiled ? compiled : compile(value, context);
+    if (null == compiled) {
+      return compile(value, context);
+    }
+    return isConstant(compiled) ? compile(compiled, context) : compiled;
   }
 
   public Value compile(@Nullable Value value, Context context) {
     return value;
   }
 
+  /**
+   * Compiles a value evaluated from a binding the same way {@link #handleValue} would, so that
+   * the work can be done off the main thread, see {@link com.flipkart.android.proteus.managers.RenderPatch}.
+   * Processors which do not compile the values they receive return the value as it is.
+   *
+   * @param value   the evaluated value.
+   * @param context the {@link ProteusContext} of the view.
+   * @return the value to be passed to {@link #process(View, Value)}.
+   */
+  public Value prepare(Value value, ProteusContext context) {
+    return value;
+  }
+
   protected Value evaluate(Binding binding, Context context, Value data, int index) {
-    return binding.evaluate(context, data, index);
+    return EvaluationCache.evaluate(binding, context, data, index);
   }
 }
@@ -71,4 +71,9 @@ public abstract class BooleanAttributeProcessor<V extends View> extends Attribut
   public Value compile(@Nullable Value value, Context context) {
     return ParseHelper.parseBoolean(value) ? ProteusConstants.TRUE : ProteusConstants.FALSE;
   }
+
+  @Override
+  public Value prepare(Value value, ProteusContext context) {
+    return value.isPrimitive() && value.getAsPrimitive().isBoolean() ? value : precompile(value, context, context.getFunctionManager());
+  }
 }
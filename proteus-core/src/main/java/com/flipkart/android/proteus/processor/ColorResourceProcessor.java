@@ -34,20 +34,40 @@ import androidx.annotation.Nullable;
 public abstract class ColorResourceProcessor<V extends View> extends AttributeProcessor<V> {
 
   public static Color.Result evaluate(Value value, ProteusView view) {
-    final Color.Result[] result = new Color.Result[1];
-    ColorResourceProcessor<View> processor = new ColorResourceProcessor<View>() {
-      @Override
-      public void setColor(View view, int color) {
-        result[0] = Color.Result.color(color);
-      }
+    Context context = view.getAsView().getContext();
+    if (value.isBinding()) {
+      value = AttributeProcessor.evaluate(value.getAsBinding(), view);
+    }
+    if (value.isColor()) {
+      return value.getAsColor().apply(context);
+    } else if (value.isResource()) {
+      return getColor(value.getAsResource(), context);
+    } else if (value.isAttributeResource()) {
+      return getColor(value.getAsAttributeResource().apply(context));
+    } else if (value.isStyleResource()) {
+      return getColor(value.getAsStyleResource().apply(context));
+    }
+    Value compiled = AttributeProcessor.staticPreCompile(value, context, ((ProteusContext) context).getFunctionManager());
+    return evaluate(staticCompile(null != compiled ? compiled : value, context), view);
+  }
 
-      @Override
-      public void setColor(View view, ColorStateList colors) {
-        result[0] = Color.Result.colors(colors);
-      }
-    };
-    processor.process(view.getAsView(), value);
-    return result[0];
+  private static Color.Result getColor(Resource resource, Context context) {
+    ColorStateList colors = resource.getColorStateList(context);
+    if (null != colors) {
+      return Color.Result.colors(colors);
+    } else {
+      Integer color = resource.getColor(context);
+      return Color.Result.color(null == color ? Color.Int.BLACK.value : color);
+    }
+  }
+
+  private static Color.Result getColor(TypedArray a) {
+    ColorStateList colors = a.getColorStateList(0);
+    if (null != colors) {
+      return Color.Result.colors(colors);
+    } else {
+      return Color.Result.color(a.getColor(0, Color.Int.BLACK.value));
+    }
   }
 
   public static Value staticCompile(@Nullable Value value, Context context) {
@@ -64,6 +84,8 @@ public abstract class ColorResourceProcessor<V extends View> extends AttributePr
         return precompiled;
       }
       return Color.valueOf(value.getAsString(), Color.Int.BLACK);
+    } else if (value.isBinding() || value.isResource() || value.isAttributeResource() || value.isStyleResource()) {
+      return value;
     } else {
       return Color.Int.BLACK;
     }
@@ -80,38 +102,24 @@ public abstract class ColorResourceProcessor<V extends View> extends AttributePr
 
   @Override
   public void handleResource(V view, Resource resource) {
-    ColorStateList colors = resource.getColorStateList(view.getContext());
-    if (null != colors) {
-      setColor(view, colors);
-    } else {
-      Integer color = resource.getColor(view.getContext());
-      setColor(view, null == color ? Color.Int.BLACK.value : color);
-    }
+    apply(view, getColor(resource, view.getContext()));
   }
 
   @Override
   public void handleAttributeResource(V view, AttributeResource attribute) {
-    TypedArray a = attribute.apply(view.getContext());
-    set(view, a);
+    apply(view, getColor(attribute.apply(view.getContext())));
   }
 
   @Override
   public void handleStyleResource(V view, StyleResource style) {
-    TypedArray a = style.apply(view.getContext());
-    set(view, a);
+    apply(view, getColor(style.apply(view.getContext())));
   }
 
-  private void set(V view, TypedArray a) {
-    ColorStateList colors = a.getColorStateList(0);
-    if (null != colors) {
-      setColor(view, colors);
-    } else {
-      setColor(view, a.getColor(0, Color.Int.BLACK.value));
-    }
+  private void apply(V view, Color color) {
+    apply(view, color.apply(view.getContext()));
   }
 
-  private void apply(V view, Color color) {
-    Color.Result result = color.apply(view.getContext());
+  private void apply(V view, Color.Result result) {
     if (null != result.colors) {
       setColor(view, result.colors);
     } else {
@@ -127,4 +135,9 @@ public abstract class ColorResourceProcessor<V extends View> extends AttributePr
   public Value compile(@Nullable Value value, Context context) {
     return staticCompile(value, context);
   }
+
+  @Override
+  public Value prepare(Value value, ProteusContext context) {
+    return value.isColor() ? value : precompile(value, context, context.getFunctionManager());
+  }
 }
@@ -37,29 +37,47 @@ import androidx.annotation.Nullable;
 public abstract class DimensionAttributeProcessor<T extends View> extends AttributeProcessor<T> {
 
   public static float evaluate(Value value, ProteusView view) {
+    Context context = view.getAsView().getContext();
     if (value == null) {
-      return Dimension.ZERO.apply(view.getAsView().getContext());
+      return Dimension.ZERO.apply(context);
     }
+    if (value.isBinding()) {
+      value = AttributeProcessor.evaluate(value.getAsBinding(), view);
+    }
+    if (value.isDimension()) {
+      return value.getAsDimension().apply(context);
+    } else if (value.isResource()) {
+      return getDimension(value.getAsResource(), context);
+    } else if (value.isAttributeResource()) {
+      return getDimension(value.getAsAttributeResource().apply(context));
+    } else if (value.isStyleResource()) {
+      return getDimension(value.getAsStyleResource().apply(context));
+    } else if (value.isPrimitive()) {
+      Value compiled = AttributeProcessor.staticPreCompile(value, context, ((ProteusContext) context).getFunctionManager());
+      return evaluate(staticCompile(null != compiled ? compiled : value, context), view);
+    }
+    return 0;
+  }
 
-    final float[] result = new float[1];
-    DimensionAttributeProcessor<View> processor = new DimensionAttributeProcessor<View>() {
-      @Override
-      public void setDimension(View view, float dimension) {
-        result[0] = dimension;
-      }
-    };
-    processor.process(view.getAsView(), value);
+  private static float getDimension(Resource resource, Context context) {
+    Float dimension = resource.getDimension(context);
+    return null == dimension ? 0 : dimension;
+  }
 
-    return result[0];
+  private static float getDimension(TypedArray a) {
+    return a.getDimensionPixelSize(0, 0);
   }
 
   public static Value staticCompile(@Nullable Value value, Context context) {
-    if (null == value || !value.isPrimitive()) {
+    if (null == value) {
       return Dimension.ZERO;
     }
-    if (value.isDimension()) {
+    if (value.isDimension() || value.isBinding() || value.isResource() || value.isAttributeResource() || value.isStyleResource()) {
       return value;
     }
+    if (!value.isPrimitive()) {
+      return Dimension.ZERO;
+    }
     Value precompiled = AttributeProcessor.staticPreCompile(value.getAsPrimitive(), context, null);
     if (null != precompiled) {
       return precompiled;
@@ -78,20 +96,17 @@ public abstract class DimensionAttributeProcessor<T extends View> extends Attrib
 
   @Override
   public void handleResource(T view, Resource resource) {
-    Float dimension = resource.getDimension(view.getContext());
-    setDimension(view, null == dimension ? 0 : dimension);
+    setDimension(view, getDimension(resource, view.getContext()));
   }
 
   @Override
   public void handleAttributeResource(T view, AttributeResource attribute) {
-    TypedArray a = attribute.apply(view.getContext());
-    setDimension(view, a.getDimensionPixelSize(0, 0));
+    setDimension(view, getDimension(attribute.apply(view.getContext())));
   }
 
   @Override
   public void handleStyleResource(T view, StyleResource style) {
-    TypedArray a = style.apply(view.getContext());
-    setDimension(view, a.getDimensionPixelSize(0, 0));
+    setDimension(view, getDimension(style.apply(view.getContext())));
   }
 
   /**
@@ -104,4 +119,9 @@ public abstract class DimensionAttributeProcessor<T extends View> extends Attrib
     return staticCompile(value, context);
   }
 
+  @Override
+  public Value prepare(Value value, ProteusContext context) {
+    return value.isDimension() || !value.isPrimitive() ? value : precompile(value, context, context.getFunctionManager());
+  }
+
 }
@@ -37,20 +37,43 @@ import androidx.annotation.Nullable;
  */
 public abstract class DrawableResourceProcessor<V extends View> extends AttributeProcessor<V> {
 
+  /**
+   * The holder {@link #evaluate(Value, ProteusView)} reads the drawable from, reused on each thread.
+   */
+  private static final ThreadLocal<DrawableResult> RESULT = new ThreadLocal<DrawableResult>() {
+    @Override
+    protected DrawableResult initialValue() {
+      return new DrawableResult();
+    }
+  };
+
   @Nullable
   public static Drawable evaluate(Value value, ProteusView view) {
     if (null == value) {
       return null;
     }
-    final Drawable[] d = new Drawable[1];
-    DrawableResourceProcessor<View> processor = new DrawableResourceProcessor<View>() {
-      @Override
-      public void setDrawable(View view, Drawable drawable) {
-        d[0] = drawable;
-      }
-    };
-    processor.process(view.getAsView(), value);
-    return d[0];
+    Context context = view.getAsView().getContext();
+    if (value.isBinding()) {
+      value = AttributeProcessor.evaluate(value.getAsBinding(), view);
+    }
+    if (value.isDrawable()) {
+      DrawableResult result = RESULT.get();
+      ProteusLayoutInflater.ImageLoader loader = view.getViewManager().getContext().getLoader();
+      result.drawable = null;
+      value.getAsDrawable().apply(view, context, loader, result);
+      Drawable drawable = result.drawable;
+      // asynchronous loaders may deliver into the holder later, it is cleared on each use
+      result.drawable = null;
+      return drawable;
+    } else if (value.isResource()) {
+      return value.getAsResource().getDrawable(context);
+    } else if (value.isAttributeResource()) {
+      return value.getAsAttributeResource().apply(context).getDrawable(0);
+    } else if (value.isStyleResource()) {
+      return value.getAsStyleResource().apply(context).getDrawable(0);
+    }
+    Value compiled = AttributeProcessor.staticPreCompile(value, context, ((ProteusContext) context).getFunctionManager());
+    return evaluate(staticCompile(null != compiled ? compiled : value, context), view);
   }
 
   public static Value staticCompile(@Nullable Value value, Context context) {
@@ -67,6 +90,8 @@ public abstract class DrawableResourceProcessor<V extends View> extends Attribut
       return DrawableValue.valueOf(value.getAsString(), context);
     } else if (value.isObject()) {
       return DrawableValue.valueOf(value.getAsObject(), context);
+    } else if (value.isBinding() || value.isResource() || value.isAttributeResource() || value.isStyleResource()) {
+      return value;
     } else {
       return DrawableValue.ColorValue.BLACK;
     }
@@ -125,4 +150,23 @@ public abstract class DrawableResourceProcessor<V extends View> extends Attribut
   public Value compile(@Nullable Value value, Context context) {
     return staticCompile(value, context);
   }
+
+  @Override
+  public Value prepare(Value value, ProteusContext context) {
+    return value.isDrawable() ? value : precompile(value, context, context.getFunctionManager());
+  }
+
+  /**
+   * Receives the result of {@link DrawableValue#apply} for {@link #evaluate(Value, ProteusView)}.
+   */
+  private static class DrawableResult implements DrawableValue.Callback {
+
+    @Nullable
+    Drawable drawable;
+
+    @Override
+    public void apply(Drawable drawable) {
+      this.drawable = drawable;
+    }
+  }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * DataDiff
+ * <p>
+ * Finds the data paths which differ between two versions of the data, in the canonical form of
+ * {@link Binding.DataBinding#getPath()}, eg. {@code a.b.0.c}. Values which are the same object,
+ * eg. the subtrees a persistent value shares with its previous version, are skipped without
+ * being walked; equal values are not, since equal numbers may still print differently. Arrays of a different size are reported as a whole. If a key member is given, arrays
+ * of objects whose keys are no longer in the same order, eg. because an item was inserted, are
+ * also reported as a whole instead of every index after the change.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class DataDiff {
+
+  private DataDiff() {
+  }
+
+  /**
+   * @param previous the previous data.
+   * @param data     the new data.
+   * @param key      the member which identifies the objects in arrays, eg. {@code id}, or
+   *                 {@code null} to compare arrays index by index.
+   * @return the changed paths, in the order they were found.
+   */
+  @NonNull
+  public static Set<String> diff(@NonNull ObjectValue previous, @NonNull ObjectValue data, @Nullable String key) {
+    Set<String> paths = new LinkedHashSet<>();
+    diffObjects(null, previous, data, key, paths);
+    return paths;
+  }
+
+  private static void diff(@NonNull String path, @Nullable Value previous, @Nullable Value value,
+                           @Nullable String key, @NonNull Set<String> paths) {
+    if (previous == value) {
+      return;
+    }
+    if (null == previous || null == value) {
+      paths.add(path);
+    } else if (previous.isObject() && value.isObject()) {
+      diffObjects(path, previous.getAsObject(), value.getAsObject(), key, paths);
+    } else if (previous.isArray() && value.isArray()) {
+      diffArrays(path, previous.getAsArray(), value.getAsArray(), key, paths);
+    } else if (!previous.equals(value) || (previous.isPrimitive() && !previous.getAsString().equals(value.getAsString()))) {
+      // equal numbers may still print differently, eg. 5 and 5.0
+      paths.add(path);
+    }
+  }
+
+  private static void diffObjects(@Nullable String path, @NonNull ObjectValue previous, @NonNull ObjectValue data,
+                                  @Nullable String key, @NonNull Set<String> paths) {
+    if (previous == data) {
+      return;
+    }
+    for (Map.Entry<String, Value> entry : previous.entrySet()) {
+      diff(join(path, entry.getKey()), entry.getValue(), data.get(entry.getKey()), key, paths);
+    }
+    for (Map.Entry<String, Value> entry : data.entrySet()) {
+      if (!previous.has(entry.getKey())) {
+        paths.add(join(path, entry.getKey()));
+      }
+    }
+  }
+
+  private static void diffArrays(@NonNull String path, @NonNull Array previous, @NonNull Array array,
+                                 @Nullable String key, @NonNull Set<String> paths) {
+    int size = previous.size();
+    if (size != array.size() || (null != key && !isSameOrder(previous, array, key))) {
+      paths.add(path);
+      return;
+    }
+    for (int i = 0; i < size; i++) {
+      diff(path + Binding.DELIMITER_OBJECT + i, previous.get(i), array.get(i), key, paths);
+    }
+  }
+
+  private static boolean isSameOrder(@NonNull Array previous, @NonNull Array array, @NonNull String key) {
+    Value a;
+    Value b;
+    for (int i = 0; i < previous.size(); i++) {
+      a = previous.get(i);
+      b = array.get(i);
+      a = a.isObject() ? a.getAsObject().get(key) : null;
+      b = b.isObject() ? b.getAsObject().get(key) : null;
+      if (a != b && (null == a || !a.equals(b))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String join(@Nullable String path, @NonNull String key) {
+    return null == path ? key : path + Binding.DELIMITER_OBJECT + key;
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import android.content.Context;
+
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.Arrays;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * EvaluationCache
+ * <p>
+ * Memoizes the values of {@link Binding}s evaluated during one update pass, eg. one
+ * {@link com.flipkart.android.proteus.ProteusView.Manager#update} of a view tree, so that a
+ * binding referred to by many views is evaluated once per data and index. Values are keyed
+ * by the identity of the binding and of the data, since the data is not changed during a
+ * pass, and are thrown away when the outermost pass ends. Each thread has its own cache.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class EvaluationCache {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private static final int MAX_RETAINED_CAPACITY = 1024;
+
+  private static final ThreadLocal<EvaluationCache> CACHE = new ThreadLocal<EvaluationCache>() {
+    @Override
+    protected EvaluationCache initialValue() {
+      return new EvaluationCache();
+    }
+  };
+
+  private int depth;
+
+  private int suspended;
+
+  private int size;
+
+  private Binding[] bindings;
+
+  private Value[] data;
+
+  private int[] indices;
+
+  private Value[] values;
+
+  private EvaluationCache() {
+    allocate(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Begins an update pass on the current thread. Passes can be nested, the cache is
+   * only cleared when the outermost pass ends.
+   */
+  public static void begin() {
+    CACHE.get().depth++;
+  }
+
+  /**
+   * Ends the update pass begun by the last {@link #begin()} on the current thread.
+   */
+  public static void end() {
+    EvaluationCache cache = CACHE.get();
+    if (cache.depth > 0 && --cache.depth == 0) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Throws away the values memoized so far in the current pass, since the data has been
+   * changed in the middle of the pass.
+   */
+  public static void invalidate() {
+    CACHE.get().clear();
+  }
+
+  /**
+   * Stops memoizing values until {@link #resume()} is called, eg. while the data a
+   * binding is evaluated on is still being built.
+   */
+  public static void suspend() {
+    CACHE.get().suspended++;
+  }
+
+  public static void resume() {
+    EvaluationCache cache = CACHE.get();
+    if (cache.suspended > 0) {
+      cache.suspended--;
+    }
+  }
+
+  /**
+   * Evaluates the binding on the data, or returns the value it evaluated to earlier in the
+   * current update pass. Outside of a pass the binding is always evaluated.
+   *
+   * @param binding the binding to evaluate.
+   * @param context the {@link Context} of the caller.
+   * @param data    the data to evaluate the binding on.
+   * @param index   the index to evaluate the binding with.
+   * @return the value of the binding.
+   */
+  @NonNull
+  public static Value evaluate(@NonNull Binding binding, Context context, Value data, int index) {
+    EvaluationCache cache = CACHE.get();
+    if (cache.depth == 0 || cache.suspended > 0) {
+      return binding.evaluate(context, data, index);
+    }
+    Value value = cache.get(binding, data, index);
+    if (null == value) {
+      value = binding.evaluate(context, data, index);
+      cache.put(binding, data, index, value);
+    }
+    return value;
+  }
+
+  private static int hash(Binding binding, Value data, int index) {
+    int hash = System.identityHashCode(binding) * 31 + System.identityHashCode(data);
+    hash = hash * 31 + index;
+    return hash ^ (hash >>> 16);
+  }
+
+  @Nullable
+  private Value get(Binding binding, Value data, int index) {
+    int mask = bindings.length - 1;
+    int i = hash(binding, data, index) & mask;
+    while (null != bindings[i]) {
+      if (bindings[i] == binding && this.data[i] == data && indices[i] == index) {
+        return values[i];
+      }
+      i = (i + 1) & mask;
+    }
+    return null;
+  }
+
+  private void put(Binding binding, Value data, int index, Value value) {
+    if ((size + 1) * 2 > bindings.length) {
+      resize();
+    }
+    int mask = bindings.length - 1;
+    int i = hash(binding, data, index) & mask;
+    while (null != bindings[i]) {
+      i = (i + 1) & mask;
+    }
+    bindings[i] = binding;
+    this.data[i] = data;
+    indices[i] = index;
+    values[i] = value;
+    size++;
+  }
+
+  private void resize() {
+    Binding[] bindings = this.bindings;
+    Value[] data = this.data;
+    int[] indices = this.indices;
+    Value[] values = this.values;
+    allocate(bindings.length * 2);
+    size = 0;
+    for (int i = 0; i < bindings.length; i++) {
+      if (null != bindings[i]) {
+        put(bindings[i], data[i], indices[i], values[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    bindings = new Binding[capacity];
+    data = new Value[capacity];
+    indices = new int[capacity];
+    values = new Value[capacity];
+  }
+
+  private void clear() {
+    if (bindings.length > MAX_RETAINED_CAPACITY) {
+      allocate(INITIAL_CAPACITY);
+    } else if (size > 0) {
+      Arrays.fill(bindings, null);
+      Arrays.fill(data, null);
+      Arrays.fill(values, null);
+    }
+    size = 0;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import android.util.LruCache;
+
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * FormatTemplate
+ * <p>
+ * A {@link String#format(String, Object...)} template which is parsed once. Templates which
+ * only use the {@code %s}, {@code %1$s}, {@code %%} and {@code %n} conversions are formatted
+ * by concatenating the literal parts and the arguments. Every other template falls back to
+ * {@link String#format(String, Object...)}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class FormatTemplate {
+
+  private static final LruCache<String, FormatTemplate> TEMPLATE_CACHE = new LruCache<>(64);
+
+  private static final char CONVERSION_PREFIX = '%';
+  private static final char CONVERSION_STRING = 's';
+  private static final char CONVERSION_LINE_SEPARATOR = 'n';
+  private static final char ARGUMENT_INDEX_SUFFIX = '$';
+
+  @NonNull
+  private final String template;
+
+  /**
+   * The literal parts of the template, one more than the number of {@link #indices}, or
+   * {@code null} if the template is not simple.
+   */
+  @Nullable
+  private final String[] literals;
+
+  @Nullable
+  private final int[] indices;
+
+  private FormatTemplate(@NonNull String template, @Nullable String[] literals, @Nullable int[] indices) {
+    this.template = template;
+    this.literals = literals;
+    this.indices = indices;
+  }
+
+  @NonNull
+  public static FormatTemplate valueOf(@NonNull String template) {
+    FormatTemplate compiled = TEMPLATE_CACHE.get(template);
+    if (null == compiled) {
+      compiled = compile(template);
+      TEMPLATE_CACHE.put(template, compiled);
+    }
+    return compiled;
+  }
+
+  @NonNull
+  private static FormatTemplate compile(@NonNull String template) {
+    List<String> literals = new ArrayList<>();
+    List<Integer> indices = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int ordinary = 0;
+    int length = template.length();
+    int i = 0;
+    char c;
+    while (i < length) {
+      c = template.charAt(i++);
+      if (c != CONVERSION_PREFIX) {
+        literal.append(c);
+        continue;
+      }
+      if (i >= length) {
+        return new FormatTemplate(template, null, null);
+      }
+      c = template.charAt(i++);
+      int index;
+      if (c == CONVERSION_PREFIX) {
+        literal.append(CONVERSION_PREFIX);
+        continue;
+      } else if (c == CONVERSION_LINE_SEPARATOR) {
+        literal.append(System.lineSeparator());
+        continue;
+      } else if (c == CONVERSION_STRING) {
+        index = ordinary++;
+      } else if (c >= '1' && c <= '9') {
+        index = c - '0';
+        while (i < length && (c = template.charAt(i)) >= '0' && c <= '9' && index < 10000) {
+          index = index * 10 + (c - '0');
+          i++;
+        }
+        if (i + 1 >= length || template.charAt(i) != ARGUMENT_INDEX_SUFFIX || template.charAt(i + 1) != CONVERSION_STRING) {
+          return new FormatTemplate(template, null, null);
+        }
+        i += 2;
+        index = index - 1;
+      } else {
+        return new FormatTemplate(template, null, null);
+      }
+      literals.add(literal.toString());
+      literal.setLength(0);
+      indices.add(index);
+    }
+    literals.add(literal.toString());
+    int[] array = new int[indices.size()];
+    for (int j = 0; j < array.length; j++) {
+      array[j] = indices.get(j);
+    }
+    return new FormatTemplate(template, literals.toArray(new String[literals.size()]), array);
+  }
+
+  /**
+   * Formats the arguments starting at {@code offset} into this template.
+   *
+   * @param arguments the arguments, as {@link Value}s.
+   * @param offset    the index of the first argument to use.
+   * @return the formatted string.
+   */
+  @NonNull
+  public String format(@NonNull Value[] arguments, int offset) {
+    if (null == literals || null == indices) {
+      String[] values = new String[arguments.length - offset];
+      for (int i = offset; i < arguments.length; i++) {
+        values[i - offset] = arguments[i].getAsString();
+      }
+      return String.format(template, (Object[]) values);
+    }
+    StringBuilder builder = new StringBuilder(template.length() + 16 * indices.length);
+    builder.append(literals[0]);
+    int index;
+    for (int i = 0; i < indices.length; i++) {
+      index = offset + indices[i];
+      if (index >= arguments.length) {
+        throw new MissingFormatArgumentException("%" + (indices[i] + 1) + "$s");
+      }
+      builder.append(arguments[index].getAsString()).append(literals[i + 1]);
+    }
+    return builder.toString();
+  }
+}
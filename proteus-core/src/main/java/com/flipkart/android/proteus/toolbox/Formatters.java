@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import android.annotation.SuppressLint;
+import android.util.LruCache;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Formatters
+ * <p>
+ * Caches {@link SimpleDateFormat} and {@link DecimalFormat} instances by pattern and
+ * {@link Locale}. Neither of them is thread safe, so each thread gets its own cache and
+ * a formatter is never shared between two threads.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class Formatters {
+
+  private static final int CACHE_SIZE = 16;
+
+  private static final ThreadLocal<FormatCache<SimpleDateFormat>> DATE_FORMATS = new ThreadLocal<FormatCache<SimpleDateFormat>>() {
+    @Override
+    protected FormatCache<SimpleDateFormat> initialValue() {
+      return new FormatCache<>();
+    }
+  };
+
+  private static final ThreadLocal<FormatCache<DecimalFormat>> DECIMAL_FORMATS = new ThreadLocal<FormatCache<DecimalFormat>>() {
+    @Override
+    protected FormatCache<DecimalFormat> initialValue() {
+      return new FormatCache<>();
+    }
+  };
+
+  private Formatters() {
+  }
+
+  /**
+   * Returns a {@link SimpleDateFormat} for the pattern in the default {@link Locale}. The
+   * returned instance is confined to the calling thread and must not be handed to another one.
+   */
+  @NonNull
+  @SuppressLint("SimpleDateFormat")
+  public static SimpleDateFormat getDateFormat(@NonNull String pattern) {
+    Locale locale = Locale.getDefault();
+    FormatCache<SimpleDateFormat> cache = DATE_FORMATS.get().with(locale);
+    SimpleDateFormat format = cache.get(pattern);
+    if (null == format) {
+      format = new SimpleDateFormat(pattern, locale);
+      cache.put(pattern, format);
+    }
+    return format;
+  }
+
+  /**
+   * Returns a {@link DecimalFormat} for the pattern in the default {@link Locale}. The
+   * returned instance is confined to the calling thread and must not be handed to another one.
+   */
+  @NonNull
+  public static DecimalFormat getDecimalFormat(@NonNull String pattern) {
+    Locale locale = Locale.getDefault();
+    FormatCache<DecimalFormat> cache = DECIMAL_FORMATS.get().with(locale);
+    DecimalFormat format = cache.get(pattern);
+    if (null == format) {
+      format = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
+      cache.put(pattern, format);
+    }
+    return format;
+  }
+
+  /**
+   * A cache of formatters by pattern, for a single {@link Locale}. It is cleared
+   * when the default locale changes.
+   */
+  private static class FormatCache<F> extends LruCache<String, F> {
+
+    private Locale locale;
+
+    FormatCache() {
+      super(CACHE_SIZE);
+    }
+
+    FormatCache<F> with(@NonNull Locale locale) {
+      if (!locale.equals(this.locale)) {
+        evictAll();
+        this.locale = locale;
+      }
+      return this;
+    }
+  }
+}
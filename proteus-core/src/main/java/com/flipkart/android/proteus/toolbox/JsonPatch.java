@@ -0,0 +1,305 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Observable;
+import com.flipkart.android.proteus.value.ObservableArray;
+import com.flipkart.android.proteus.value.ObservableObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * JsonPatch
+ * <p>
+ * Applies the {@code add}, {@code remove}, {@code replace} and {@code move} operations of an
+ * RFC 6902 JSON Patch to live data, and collects the changed data paths, in the canonical form
+ * of {@link Binding.DataBinding#getPath()}, so that only the views which read them are updated,
+ * see {@link com.flipkart.android.proteus.managers.ViewManager#patch(Array)}. Inserting into,
+ * or removing from, an array changes the index of the following items, so the array itself is
+ * reported. The operations are applied in order and are not rolled back if one of them fails.
+ * Values added to observable data are made observable.
+ * </p>
+ * <p>
+ * The paths are JSON pointers, eg. {@code /a/b/0/c}. Members whose names contain {@code .},
+ * {@code [} or {@code ]} cannot be patched, since they cannot be bound to either.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class JsonPatch {
+
+  public static final String OP = "op";
+  public static final String PATH = "path";
+  public static final String FROM = "from";
+  public static final String VALUE = "value";
+
+  public static final String OP_ADD = "add";
+  public static final String OP_REMOVE = "remove";
+  public static final String OP_REPLACE = "replace";
+  public static final String OP_MOVE = "move";
+
+  private static final String APPEND = "-";
+
+  private JsonPatch() {
+  }
+
+  /**
+   * @param patch the array of operations.
+   * @param data  the data to apply the operations to.
+   * @return the changed paths.
+   * @throws IllegalArgumentException if an operation is invalid or its path does not exist.
+   */
+  @NonNull
+  public static Set<String> apply(@NonNull Array patch, @NonNull ObjectValue data) {
+    Set<String> paths = new LinkedHashSet<>();
+    apply(patch, data, paths);
+    return paths;
+  }
+
+  /**
+   * @param patch the array of operations.
+   * @param data  the data to apply the operations to.
+   * @param paths the set to add the changed paths to, it has the paths of the operations which
+   *              were applied even if a later one fails.
+   * @throws IllegalArgumentException if an operation is invalid or its path does not exist.
+   */
+  public static void apply(@NonNull Array patch, @NonNull ObjectValue data, @NonNull Set<String> paths) {
+    Iterator<Value> iterator = patch.iterator();
+    Value element;
+    ObjectValue operation;
+    String op;
+    while (iterator.hasNext()) {
+      element = iterator.next();
+      if (!element.isObject()) {
+        throw new IllegalArgumentException("a patch operation must be an object: " + element);
+      }
+      operation = element.getAsObject();
+      op = getString(operation, OP);
+      if (OP_ADD.equals(op)) {
+        add(data, resolve(data, getString(operation, PATH)), getValue(operation), true, paths);
+      } else if (OP_REMOVE.equals(op)) {
+        remove(data, resolve(data, getString(operation, PATH)), paths);
+      } else if (OP_REPLACE.equals(op)) {
+        replace(data, resolve(data, getString(operation, PATH)), getValue(operation), paths);
+      } else if (OP_MOVE.equals(op)) {
+        move(data, getString(operation, FROM), getString(operation, PATH), paths);
+      } else {
+        throw new IllegalArgumentException("unsupported patch operation: " + op);
+      }
+    }
+  }
+
+  @NonNull
+  private static String getString(@NonNull ObjectValue operation, @NonNull String name) {
+    String value = operation.getAsString(name);
+    if (null == value) {
+      throw new IllegalArgumentException("'" + name + "' is mandatory for a patch operation: " + operation);
+    }
+    return value;
+  }
+
+  @NonNull
+  private static Value getValue(@NonNull ObjectValue operation) {
+    Value value = operation.get(VALUE);
+    if (null == value) {
+      throw new IllegalArgumentException("'" + VALUE + "' is mandatory for a patch operation: " + operation);
+    }
+    return value;
+  }
+
+  private static void add(@NonNull ObjectValue data, @NonNull Target target, @NonNull Value value,
+                          boolean adopt, @NonNull Set<String> paths) {
+    if (adopt) {
+      value = adopt(target.parent, value);
+    }
+    if (target.parent.isArray()) {
+      Array array = target.parent.getAsArray();
+      int index = APPEND.equals(target.key) ? array.size() : target.getIndex(array.size());
+      array.add(index, value);
+      paths.add(canonical(target.path));
+    } else {
+      Binding.DataBinding binding = Binding.DataBinding.valueOf(target.getChildPath());
+      binding.assign(value, data, 0);
+      paths.add(binding.getPath());
+    }
+  }
+
+  @NonNull
+  private static Value remove(@NonNull ObjectValue data, @NonNull Target target, @NonNull Set<String> paths) {
+    Value removed;
+    if (target.parent.isArray()) {
+      Array array = target.parent.getAsArray();
+      removed = array.remove(target.getIndex(array.size() - 1));
+      paths.add(canonical(target.path));
+    } else {
+      removed = target.parent.getAsObject().remove(target.key);
+      if (null == removed) {
+        throw new IllegalArgumentException("path does not exist: " + target.getChildPath());
+      }
+      paths.add(canonical(target.getChildPath()));
+    }
+    return removed;
+  }
+
+  private static void replace(@NonNull ObjectValue data, @NonNull Target target, @NonNull Value value, @NonNull Set<String> paths) {
+    if (target.parent.isArray()) {
+      target.getIndex(target.parent.getAsArray().size() - 1);
+    } else if (!target.parent.getAsObject().has(target.key)) {
+      throw new IllegalArgumentException("path does not exist: " + target.getChildPath());
+    }
+    Binding.DataBinding binding = Binding.DataBinding.valueOf(target.getChildPath());
+    binding.assign(adopt(target.parent, value), data, 0);
+    paths.add(binding.getPath());
+  }
+
+  private static void move(@NonNull ObjectValue data, @NonNull String from, @NonNull String path, @NonNull Set<String> paths) {
+    if (path.startsWith(from + '/')) {
+      throw new IllegalArgumentException("cannot move " + from + " into one of its children: " + path);
+    }
+    if (from.equals(path)) {
+      return;
+    }
+    Value value = remove(data, resolve(data, from), paths);
+    add(data, resolve(data, path), value, false, paths);
+  }
+
+  @NonNull
+  private static Value adopt(@NonNull Value parent, @NonNull Value value) {
+    value = value.copy();
+    if (parent instanceof Observable) {
+      if (value.isObject() && !(value instanceof Observable)) {
+        return ObservableObjectValue.valueOf(value.getAsObject());
+      } else if (value.isArray() && !(value instanceof Observable)) {
+        return ObservableArray.valueOf(value.getAsArray());
+      }
+    }
+    return value;
+  }
+
+  @NonNull
+  private static String canonical(@NonNull String path) {
+    return Binding.DataBinding.valueOf(path).getPath();
+  }
+
+  /**
+   * Finds the parent of the value a JSON pointer refers to.
+   */
+  @NonNull
+  private static Target resolve(@NonNull ObjectValue data, @NonNull String pointer) {
+    if (pointer.isEmpty() || pointer.charAt(0) != '/') {
+      throw new IllegalArgumentException("a patch path must start with '/' and cannot be the root: " + pointer);
+    }
+    String[] segments = pointer.substring(1).split("/", -1);
+    Value current = data;
+    StringBuilder path = new StringBuilder();
+    String segment;
+    for (int i = 0; i < segments.length - 1; i++) {
+      segment = unescape(segments[i]);
+      if (current.isArray()) {
+        Target target = new Target(current, segment, path.toString());
+        int index = target.getIndex(current.getAsArray().size() - 1);
+        current = current.getAsArray().get(index);
+        path.append(Binding.DELIMITER_ARRAY_OPENING).append(index).append(Binding.DELIMITER_ARRAY_CLOSING);
+      } else if (current.isObject()) {
+        current = current.getAsObject().get(segment);
+        append(path, segment);
+      } else {
+        current = null;
+      }
+      if (null == current) {
+        throw new IllegalArgumentException("path does not exist: " + pointer);
+      }
+    }
+    if (!current.isArray() && !current.isObject()) {
+      throw new IllegalArgumentException("path does not exist: " + pointer);
+    }
+    return new Target(current, unescape(segments[segments.length - 1]), path.toString());
+  }
+
+  private static void append(@NonNull StringBuilder path, @NonNull String key) {
+    if (key.isEmpty() || key.indexOf(Binding.DELIMITER_OBJECT) >= 0
+      || key.indexOf(Binding.DELIMITER_ARRAY_OPENING) >= 0 || key.indexOf(Binding.DELIMITER_ARRAY_CLOSING) >= 0) {
+      throw new IllegalArgumentException("member cannot be patched: " + key);
+    }
+    if (path.length() > 0) {
+      path.append(Binding.DELIMITER_OBJECT);
+    }
+    path.append(key);
+  }
+
+  @NonNull
+  private static String unescape(@NonNull String segment) {
+    return segment.indexOf('~') < 0 ? segment : segment.replace("~1", "/").replace("~0", "~");
+  }
+
+  /**
+   * The parent of a patched value, and the key or index of the value in it.
+   */
+  private static class Target {
+
+    @NonNull
+    final Value parent;
+
+    @NonNull
+    final String key;
+
+    /**
+     * The data binding path of the parent.
+     */
+    @NonNull
+    final String path;
+
+    Target(@NonNull Value parent, @NonNull String key, @NonNull String path) {
+      this.parent = parent;
+      this.key = key;
+      this.path = path;
+    }
+
+    int getIndex(int max) {
+      int index;
+      try {
+        index = Integer.parseInt(key);
+      } catch (NumberFormatException e) {
+        index = -1;
+      }
+      if (index < 0 || index > max || (key.length() > 1 && key.charAt(0) == '0')) {
+        throw new IllegalArgumentException("invalid array index: " + key);
+      }
+      return index;
+    }
+
+    @NonNull
+    String getChildPath() {
+      StringBuilder builder = new StringBuilder(path);
+      if (parent.isArray()) {
+        builder.append(Binding.DELIMITER_ARRAY_OPENING).append(key).append(Binding.DELIMITER_ARRAY_CLOSING);
+      } else {
+        append(builder, key);
+      }
+      return builder.toString();
+    }
+  }
+}
@@ -33,6 +33,13 @@ public class LazilyParsedNumber extends Number {
 
   private final String value;
 
+  /**
+   * The {@code double} value is parsed once, the first time it is asked for.
+   */
+  private volatile boolean parsed;
+
+  private double number;
+
   /**
    * @param value must not be null
    */
@@ -69,7 +76,11 @@ public class LazilyParsedNumber extends Number {
 
   @Override
   public double doubleValue() {
-    return Double.parseDouble(value);
+    if (!parsed) {
+      number = Double.parseDouble(value);
+      parsed = true;
+    }
+    return number;
   }
 
   @Override
@@ -45,6 +45,13 @@ public class Array extends Value {
     this.values = Arrays.asList(values);
   }
 
+  /**
+   * Used by {@link PersistentArray} to provide its own values.
+   */
+  Array(List<Value> values) {
+    this.values = values;
+  }
+
   /**
    * Creates an empty Array with a given capacity.
    */
@@ -67,7 +74,7 @@ public class Array extends Value {
    * @param bool the boolean that needs to be added to the array.
    */
   public void add(@Nullable Boolean bool) {
-    values.add(bool == null ? Null.INSTANCE : new Primitive(bool));
+    add(bool == null ? Null.INSTANCE : new Primitive(bool));
   }
 
   /**
@@ -76,7 +83,7 @@ public class Array extends Value {
    * @param character the character that needs to be added to the array.
    */
   public void add(@Nullable Character character) {
-    values.add(character == null ? Null.INSTANCE : new Primitive(character));
+    add(character == null ? Null.INSTANCE : new Primitive(character));
   }
 
   /**
@@ -85,7 +92,7 @@ public class Array extends Value {
    * @param number the number that needs to be added to the array.
    */
   public void add(@Nullable Number number) {
-    values.add(number == null ? Null.INSTANCE : new Primitive(number));
+    add(number == null ? Null.INSTANCE : new Primitive(number));
   }
 
   /**
@@ -94,7 +101,7 @@ public class Array extends Value {
    * @param string the string that needs to be added to the array.
    */
   public void add(@Nullable String string) {
-    values.add(string == null ? Null.INSTANCE : new Primitive(string));
+    add(string == null ? Null.INSTANCE : new Primitive(string));
   }
 
   /**
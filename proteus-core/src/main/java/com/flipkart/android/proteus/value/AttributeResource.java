@@ -23,8 +23,8 @@ import android.util.LruCache;
 import com.flipkart.android.proteus.ProteusConstants;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,7 +43,7 @@ public class AttributeResource extends Value {
   private static final String ATTR_START_LITERAL = "?";
   private static final String ATTR_LITERAL = "attr/";
   private static final Pattern sAttributePattern = Pattern.compile("(\\?)(\\S*)(:?)(attr/?)(\\S*)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
-  private static final Map<String, Class> sHashMap = new HashMap<>();
+  private static final Map<String, Class> sHashMap = new ConcurrentHashMap<>();
 
   public final int attributeId;
 
@@ -29,9 +29,11 @@ import com.flipkart.android.proteus.toolbox.SimpleArrayIterator;
 import com.flipkart.android.proteus.toolbox.Utils;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.StringTokenizer;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import androidx.annotation.NonNull;
@@ -40,7 +42,7 @@ import androidx.annotation.Nullable;
 /**
  * <p>
  * Binding is a type of {@link Value} which hosts a data binding.
- * Any string that matches the pattern {@link #BINDING_PATTERN}
+ * Any string that can be parsed by {@link BindingParser}
  * is a valid binding. This class also hosts the methods to evaluate
  * a binding on a dataset and assign a value on the dataset. A {@code Binding}
  * object is immutable.
@@ -60,7 +62,15 @@ public abstract class Binding extends Value {
   public static final String ARRAY_DATA_LENGTH_REFERENCE = "$length";
   public static final String ARRAY_DATA_LAST_INDEX_REFERENCE = "$last";
 
+  /**
+   * @deprecated bindings are now parsed by {@link BindingParser}, which also supports nested function calls.
+   */
+  @Deprecated
   public static final Pattern BINDING_PATTERN = Pattern.compile("@\\{fn:(\\S+?)\\(((?:(?<!\\\\)'.*?(?<!\\\\)'|.?)+)\\)\\}|@\\{(.+)\\}");
+  /**
+   * @deprecated function arguments are now parsed by {@link BindingParser}.
+   */
+  @Deprecated
   public static final Pattern FUNCTION_ARGS_DELIMITER = Pattern.compile(",(?=(?:[^']*'[^']*')*[^']*$)");
 
   public static final String DATA_PATH_DELIMITERS = ".]";
@@ -92,18 +102,10 @@ public abstract class Binding extends Value {
    * @param value   the value to be parsed.
    * @param context the {@link Context} of the caller.
    * @param manager the {@link FunctionManager} to evaluate function bindings.
+   * @throws IllegalArgumentException if the value is not a well formed binding.
    */
   public static Binding valueOf(@NonNull final String value, Context context, FunctionManager manager) {
-    Matcher matcher = BINDING_PATTERN.matcher(value);
-    if (matcher.find()) {
-      if (matcher.group(3) != null) { // It is data binding
-        return DataBinding.valueOf(matcher.group(3));
-      } else { // It is function binding
-        return FunctionBinding.valueOf(matcher.group(1), matcher.group(2), context, manager);
-      }
-    } else {
-      throw new IllegalArgumentException(value + " is not a binding");
-    }
+    return BindingParser.parse(value, context, manager);
   }
 
   /**
@@ -119,6 +121,52 @@ public abstract class Binding extends Value {
   @NonNull
   public abstract Value evaluate(Context context, Value data, int index);
 
+  /**
+   * Returns the data paths read by this {@code Binding}, eg. {@code a.b.c} for {@code @{a.b.c}}.
+   * Array indices are delimited by {@link #DELIMITER_OBJECT} as well, eg. {@code a.0} for
+   * {@code @{a[0]}}, see {@link DataBinding#getPath()}.
+   *
+   * @return an unmodifiable set of data paths.
+   */
+  @NonNull
+  public abstract Set<String> getPaths();
+
+  /**
+   * Checks if a binding which reads the data path {@code path} must be re-evaluated when the
+   * value at the data path {@code changed} changes. This is the case if either of the paths is
+   * the same as, or a parent of, the other. The {@link #INDEX}, {@link #ARRAY_DATA_LENGTH_REFERENCE}
+   * and {@link #ARRAY_DATA_LAST_INDEX_REFERENCE} segments match any segment.
+   *
+   * @param path    a path read by a binding.
+   * @param changed the path which changed.
+   * @return {@code true} if the binding is affected by the change else {@code false}.
+   */
+  public static boolean isAffected(@NonNull String path, @NonNull String changed) {
+    int i = 0;
+    int j = 0;
+    int end;
+    int changedEnd;
+    while (i < path.length() && j < changed.length()) {
+      end = path.indexOf(DELIMITER_OBJECT, i);
+      end = end < 0 ? path.length() : end;
+      changedEnd = changed.indexOf(DELIMITER_OBJECT, j);
+      changedEnd = changedEnd < 0 ? changed.length() : changedEnd;
+      if (!isWildcard(path, i, end) && (end - i != changedEnd - j || !path.regionMatches(i, changed, j, end - i))) {
+        return false;
+      }
+      i = end + 1;
+      j = changedEnd + 1;
+    }
+    return true;
+  }
+
+  private static boolean isWildcard(String path, int start, int end) {
+    int length = end - start;
+    return (length == INDEX.length() && path.startsWith(INDEX, start))
+      || (length == ARRAY_DATA_LENGTH_REFERENCE.length() && path.startsWith(ARRAY_DATA_LENGTH_REFERENCE, start))
+      || (length == ARRAY_DATA_LAST_INDEX_REFERENCE.length() && path.startsWith(ARRAY_DATA_LAST_INDEX_REFERENCE, start));
+  }
+
   /**
    * Returns a {@code String} representation of this {@code Binding}.
    * This string can be parsed back into a {@code Binding} object using
@@ -153,11 +201,23 @@ public abstract class Binding extends Value {
 
     private static final LruCache<String, DataBinding> DATA_BINDING_CACHE = new LruCache<>(64);
 
+    private static final Primitive[] LENGTH_CACHE = new Primitive[64];
+
+    static {
+      for (int i = 0; i < LENGTH_CACHE.length; i++) {
+        LENGTH_CACHE[i] = new IntPrimitive(i);
+      }
+    }
+
     @NonNull
     private final Token[] tokens;
 
+    @NonNull
+    private final String path;
+
     private DataBinding(@NonNull Token[] tokens) {
       this.tokens = tokens;
+      this.path = Utils.join(Token.getValues(tokens), String.valueOf(DELIMITER_OBJECT));
     }
 
     @NonNull
@@ -189,6 +249,11 @@ public abstract class Binding extends Value {
       return binding;
     }
 
+    @NonNull
+    public static DataBinding valueOf(@NonNull Token[] tokens) {
+      return new DataBinding(tokens);
+    }
+
     private static void assign(Token[] tokens, @NonNull Value value, @NonNull Value data, int dataIndex) {
       Value current = data;
       Token token;
@@ -197,9 +262,8 @@ public abstract class Binding extends Value {
       for (int i = 0; i < tokens.length - 1; i++) {
         token = tokens[i];
         if (token.isArrayIndex) {
-          try {
-            index = getArrayIndex(token.value, dataIndex);
-          } catch (NumberFormatException e) {
+          index = getArrayIndex(token, dataIndex);
+          if (index < 0) {
             return;
           }
           current = getArrayItem(current.getAsArray(), index, token.isArray);
@@ -213,14 +277,12 @@ public abstract class Binding extends Value {
       token = tokens[tokens.length - 1];
 
       if (token.isArrayIndex) {
-        try {
-          index = getArrayIndex(token.value, dataIndex);
-        } catch (NumberFormatException e) {
+        index = getArrayIndex(token, dataIndex);
+        if (index < 0) {
           return;
         }
         getArrayItem(current.getAsArray(), index, false);
-        current.getAsArray().remove(index);
-        current.getAsArray().add(index, value);
+        current.getAsArray().set(index, value);
       } else {
         current.getAsObject().add(token.value, value);
       }
@@ -235,16 +297,15 @@ public abstract class Binding extends Value {
         if (temp != null && temp.isObject()) {
           object = temp.getAsObject();
         } else {
-          object = new ObjectValue();
-          parent.getAsArray().remove(index);
-          parent.getAsArray().add(index, object);
+          object = newObject(parent);
+          parent.getAsArray().set(index, object);
         }
       } else {
         temp = parent.getAsObject().get(token.value);
         if (temp != null && temp.isObject()) {
           object = temp.getAsObject();
         } else {
-          object = new ObjectValue();
+          object = newObject(parent);
           parent.getAsObject().add(token.value, object);
         }
 
@@ -261,16 +322,15 @@ public abstract class Binding extends Value {
         if (temp != null && temp.isArray()) {
           array = temp.getAsArray();
         } else {
-          array = new Array();
-          parent.getAsArray().remove(index);
-          parent.getAsArray().add(index, array);
+          array = newArray(parent);
+          parent.getAsArray().set(index, array);
         }
       } else {
         temp = parent.getAsObject().get(token);
         if (temp != null && temp.isArray()) {
           array = temp.getAsArray();
         } else {
-          array = new Array();
+          array = newArray(parent);
           parent.getAsObject().add(token, array);
         }
       }
@@ -284,22 +344,41 @@ public abstract class Binding extends Value {
           array.add(Null.INSTANCE);
         }
         if (isArray) {
-          array.add(new Array());
+          array.add(newArray(array));
         } else {
-          array.add(new ObjectValue());
+          array.add(newObject(array));
         }
       }
       return array.get(index);
     }
 
-    private static int getArrayIndex(@NonNull String token, int dataIndex) throws NumberFormatException {
-      int index;
-      if (INDEX.equals(token)) {
-        index = dataIndex;
-      } else {
-        index = Integer.parseInt(token);
+    /**
+     * Creates the missing object of a data path, which must be observable if the parent is.
+     */
+    @NonNull
+    private static ObjectValue newObject(Value parent) {
+      return parent instanceof Observable ? new ObservableObjectValue() : new ObjectValue();
+    }
+
+    @NonNull
+    private static Array newArray(Value parent) {
+      return parent instanceof Observable ? new ObservableArray() : new Array();
+    }
+
+    private static int getArrayIndex(@NonNull Token token, int dataIndex) {
+      switch (token.opcode) {
+        case Token.OPCODE_DATA_INDEX:
+          return dataIndex;
+        case Token.OPCODE_LITERAL_INDEX:
+          return token.index;
+        default:
+          return -1;
       }
-      return index;
+    }
+
+    @NonNull
+    private static Primitive getLength(int length) {
+      return length < LENGTH_CACHE.length ? LENGTH_CACHE[length] : new IntPrimitive(length);
     }
 
     @NonNull
@@ -325,54 +404,52 @@ public abstract class Binding extends Value {
     @NonNull
     private static Result resolve(Token[] tokens, Value data, int index) {
       // replace INDEX with index value
-      if (tokens.length == 1 && INDEX.equals(tokens[0].value)) {
-        return Result.success(new Primitive(String.valueOf(index)));
+      if (tokens.length == 1 && tokens[0].opcode == Token.OPCODE_DATA_INDEX) {
+        return Result.success(new StringPrimitive(String.valueOf(index)));
       } else {
         Value elementToReturn = data;
         Value tempElement;
         Array tempArray;
+        Token token;
+        int position;
 
         for (int i = 0; i < tokens.length; i++) {
-          String segment = tokens[i].value;
+          token = tokens[i];
           if (elementToReturn == null) {
             return Result.NO_SUCH_DATA_PATH_EXCEPTION;
           }
           if (elementToReturn.isNull()) {
             return Result.NULL_EXCEPTION;
           }
-          if ("".equals(segment)) {
+          if (token.opcode == Token.OPCODE_EMPTY) {
             continue;
           }
           if (elementToReturn.isArray()) {
             tempArray = elementToReturn.getAsArray();
 
-            if (INDEX.equals(segment)) {
-              if (index < tempArray.size()) {
-                elementToReturn = tempArray.get(index);
-              } else {
-                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-              }
-            } else if (ARRAY_DATA_LENGTH_REFERENCE.equals(segment)) {
-              elementToReturn = new Primitive(tempArray.size());
-            } else if (ARRAY_DATA_LAST_INDEX_REFERENCE.equals(segment)) {
-              if (tempArray.size() == 0) {
-                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-              }
-              elementToReturn = tempArray.get(tempArray.size() - 1);
-            } else {
-              try {
-                index = Integer.parseInt(segment);
-              } catch (NumberFormatException e) {
+            switch (token.opcode) {
+              case Token.OPCODE_DATA_INDEX:
+                position = index;
+                break;
+              case Token.OPCODE_LITERAL_INDEX:
+                position = token.index;
+                break;
+              case Token.OPCODE_LAST:
+                position = tempArray.size() - 1;
+                break;
+              case Token.OPCODE_LENGTH:
+                elementToReturn = getLength(tempArray.size());
+                continue;
+              default:
                 return Result.INVALID_DATA_PATH_EXCEPTION;
-              }
-              if (index < tempArray.size()) {
-                elementToReturn = tempArray.get(index);
-              } else {
-                return Result.NO_SUCH_DATA_PATH_EXCEPTION;
-              }
+            }
+            if (position >= 0 && position < tempArray.size()) {
+              elementToReturn = tempArray.get(position);
+            } else {
+              return Result.NO_SUCH_DATA_PATH_EXCEPTION;
             }
           } else if (elementToReturn.isObject()) {
-            tempElement = elementToReturn.getAsObject().get(segment);
+            tempElement = elementToReturn.getAsObject().get(token.value);
             if (tempElement != null) {
               elementToReturn = tempElement;
             } else {
@@ -406,7 +483,7 @@ public abstract class Binding extends Value {
       return new StringBuilder()
         .append(BINDING_PREFIX_0)
         .append(BINDING_PREFIX_1)
-        .append(Utils.join(Token.getValues(tokens), String.valueOf(DELIMITER_OBJECT)))
+        .append(path)
         .append(BINDING_SUFFIX).toString();
     }
 
@@ -414,6 +491,34 @@ public abstract class Binding extends Value {
       return new SimpleArrayIterator<>(this.tokens);
     }
 
+    /**
+     * Returns the canonical form of the data path of this binding, where every token
+     * is delimited by {@link #DELIMITER_OBJECT}, eg. {@code a.b.0.c} for {@code @{a.b[0].c}}.
+     *
+     * @return the data path.
+     */
+    @NonNull
+    public String getPath() {
+      return path;
+    }
+
+    @NonNull
+    @Override
+    public Set<String> getPaths() {
+      if (tokens.length == 1 && tokens[0].opcode == Token.OPCODE_DATA_INDEX) {
+        return Collections.emptySet();
+      }
+      return Collections.singleton(path);
+    }
+
+    /**
+     * Assigns the value at the data path of this binding, creating the missing objects and
+     * arrays along the path. If the data is {@link Observable} its observers are notified.
+     *
+     * @param value the value to assign.
+     * @param data  the data to assign the value in.
+     * @param index the data index used to resolve {@link #INDEX}.
+     */
     public void assign(Value value, Value data, int index) {
       assign(tokens, value, data, index);
     }
@@ -425,8 +530,8 @@ public abstract class Binding extends Value {
    * function call. eg. @{ fn:add(1,2) }, @{ fn:and(@{a.b}, @{a.c}) }.
    * The format is @{  fn&lt;name>:(&lt;arguments&gt;) }, where &lt;name&gt;
    * is the name of the function and &lt;arguments&gt; is are comma separated
-   * arguments. Note that the arguments can be values (strings should be in single quotes) or
-   * {@link DataBinding} but NOT {@code FunctionBinding}.
+   * arguments. Note that the arguments can be values (strings should be in single quotes),
+   * {@link DataBinding} or a nested {@code FunctionBinding}.
    * </p>
    *
    * @author adityasharat
@@ -439,28 +544,20 @@ public abstract class Binding extends Value {
     @Nullable
     private final Value[] arguments;
 
+    @NonNull
+    private final Function.Arguments lazy;
+
+    @Nullable
+    private Set<String> paths;
+
     public FunctionBinding(@NonNull Function function, @Nullable Value[] arguments) {
       this.arguments = arguments;
       this.function = function;
+      this.lazy = new LazyArguments(arguments);
     }
 
     public static FunctionBinding valueOf(@NonNull String name, @NonNull String args, Context context, @NonNull FunctionManager manager) {
-      Function function = manager.get(name);
-      String[] tokens = FUNCTION_ARGS_DELIMITER.split(args);
-      Value[] arguments = new Value[tokens.length];
-      String token;
-      Value resolved;
-      for (int i = 0; i < tokens.length; i++) {
-        token = tokens[i].trim();
-        if (!token.isEmpty() && token.charAt(0) == '\'') {
-          token = token.substring(1, token.length() - 1);
-          resolved = new Primitive(token);
-        } else {
-          resolved = AttributeProcessor.staticPreCompile(new Primitive(token), context, manager);
-        }
-        arguments[i] = resolved != null ? resolved : new Primitive(token);
-      }
-      return new FunctionBinding(function, arguments);
+      return new FunctionBinding(manager.get(name), BindingParser.arguments(args, context, manager));
     }
 
     private static Value[] resolve(Context context, Value[] in, Value data, int index) {
@@ -478,12 +575,71 @@ public abstract class Binding extends Value {
       return new SimpleArrayIterator<>(this.arguments);
     }
 
+    @NonNull
+    @Override
+    public Set<String> getPaths() {
+      if (null == paths) {
+        Set<String> paths = new HashSet<>();
+        if (null != arguments) {
+          for (Value argument : arguments) {
+            if (argument.isBinding()) {
+              paths.addAll(argument.getAsBinding().getPaths());
+            }
+          }
+        }
+        this.paths = Collections.unmodifiableSet(paths);
+      }
+      return paths;
+    }
+
+    private static class LazyArguments extends Function.Arguments {
+
+      @Nullable
+      private final Value[] arguments;
+
+      LazyArguments(@Nullable Value[] arguments) {
+        this.arguments = arguments;
+      }
+
+      @Override
+      public int size() {
+        return null != arguments ? arguments.length : 0;
+      }
+
+      @NonNull
+      @Override
+      public Value get(int index, Context context, Value data, int dataIndex) {
+        //noinspection ConstantConditions because we want it to crash, it is an illegal state anyway
+        return AttributeProcessor.evaluate(context, arguments[index], data, dataIndex);
+      }
+    }
+
     @NonNull
     @Override
     public Value evaluate(Context context, Value data, int index) {
-      Value[] arguments = resolve(context, this.arguments, data, index);
+      Value[] arguments = this.arguments;
       try {
-        return this.function.call(context, data, index, arguments);
+        if (this.function.isLazy()) {
+          return this.function.call(context, data, index, lazy);
+        }
+        switch (null != arguments ? arguments.length : 0) {
+          case 0:
+            return this.function.call0(context, data, index);
+          case 1:
+            return this.function.call1(context, data, index,
+              AttributeProcessor.evaluate(context, arguments[0], data, index));
+          case 2:
+            return this.function.call2(context, data, index,
+              AttributeProcessor.evaluate(context, arguments[0], data, index),
+              AttributeProcessor.evaluate(context, arguments[1], data, index));
+          case 3:
+            return this.function.call3(context, data, index,
+              AttributeProcessor.evaluate(context, arguments[0], data, index),
+              AttributeProcessor.evaluate(context, arguments[1], data, index),
+              AttributeProcessor.evaluate(context, arguments[2], data, index));
+          default:
+            return this.function.call(context, data, index, resolve(context, arguments, data, index));
+        }
       } catch (Exception e) {
         if (ProteusConstants.isLoggingEnabled()) {
           Log.e(Utils.LIB_NAME, e.getMessage(), e);
@@ -499,8 +655,47 @@ public abstract class Binding extends Value {
     }
   }
 
+  /**
+   * <p>
+   * Token is a single segment of a {@link DataBinding} path. Each token is compiled
+   * once into an {@link #opcode} so that evaluation does not need to compare or parse
+   * the segment again.
+   * </p>
+   *
+   * @author adityasharat
+   */
   public static class Token {
 
+    /**
+     * An object member name, eg. {@code b} in {@code @{a.b}}.
+     */
+    public static final int OPCODE_KEY = 0;
+
+    /**
+     * A non negative integer literal, eg. {@code 2} in {@code @{a[2]}}.
+     */
+    public static final int OPCODE_LITERAL_INDEX = 1;
+
+    /**
+     * The {@link #INDEX} reference.
+     */
+    public static final int OPCODE_DATA_INDEX = 2;
+
+    /**
+     * The {@link #ARRAY_DATA_LENGTH_REFERENCE} reference.
+     */
+    public static final int OPCODE_LENGTH = 3;
+
+    /**
+     * The {@link #ARRAY_DATA_LAST_INDEX_REFERENCE} reference.
+     */
+    public static final int OPCODE_LAST = 4;
+
+    /**
+     * An empty segment, which is skipped.
+     */
+    public static final int OPCODE_EMPTY = 5;
+
     @NonNull
     public final String value;
 
@@ -510,10 +705,52 @@ public abstract class Binding extends Value {
 
     public final boolean isBinding = false;
 
+    public final int opcode;
+
+    /**
+     * The parsed literal if the {@link #opcode} is {@link #OPCODE_LITERAL_INDEX} else {@code -1}.
+     */
+    public final int index;
+
     public Token(@NonNull String value, boolean isArray, boolean isArrayIndex) {
       this.value = value;
       this.isArray = isArray;
       this.isArrayIndex = isArrayIndex;
+      this.index = parseIndex(value);
+      this.opcode = getOpcode(value, this.index);
+    }
+
+    private static int getOpcode(@NonNull String value, int index) {
+      if (value.isEmpty()) {
+        return OPCODE_EMPTY;
+      } else if (index >= 0) {
+        return OPCODE_LITERAL_INDEX;
+      } else if (INDEX.equals(value)) {
+        return OPCODE_DATA_INDEX;
+      } else if (ARRAY_DATA_LENGTH_REFERENCE.equals(value)) {
+        return OPCODE_LENGTH;
+      } else if (ARRAY_DATA_LAST_INDEX_REFERENCE.equals(value)) {
+        return OPCODE_LAST;
+      } else {
+        return OPCODE_KEY;
+      }
+    }
+
+    private static int parseIndex(@NonNull String value) {
+      int length = value.length();
+      if (length == 0 || length > 9) {
+        return -1;
+      }
+      int index = 0;
+      char c;
+      for (int i = 0; i < length; i++) {
+        c = value.charAt(i);
+        if (c < '0' || c > '9') {
+          return -1;
+        }
+        index = index * 10 + (c - '0');
+      }
+      return index;
     }
 
     public static String[] getValues(Token[] tokens) {
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import android.content.Context;
+
+import com.flipkart.android.proteus.FunctionManager;
+import com.flipkart.android.proteus.processor.AttributeProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+
+/**
+ * BindingParser
+ * <p>
+ * A single pass, recursive descent parser for binding expressions.
+ * <pre>
+ * binding   := '@{' ( function | path ) '}'
+ * function  := 'fn:' name '(' [ argument ( ',' argument )* ] ')'
+ * argument  := quoted | binding | raw
+ * quoted    := '\'' ( '\\\'' | any character except '\'' )* '\''
+ * </pre>
+ * Function calls can be nested to any depth, eg. {@code @{fn:add(@{fn:length(@{a})},1)}}.
+ * Raw arguments are precompiled with {@link AttributeProcessor#staticPreCompile(Primitive, Context, FunctionManager)}
+ * and are otherwise kept as strings.
+ * </p>
+ *
+ * @author adityasharat
+ */
+final class BindingParser {
+
+  private static final String FUNCTION_PREFIX = "fn:";
+
+  private static final char ARGUMENTS_OPENING = '(';
+  private static final char ARGUMENTS_CLOSING = ')';
+  private static final char ARGUMENTS_DELIMITER = ',';
+  private static final char QUOTE = '\'';
+  private static final char ESCAPE = '\\';
+
+  private static final Value[] NO_ARGUMENTS = new Value[0];
+
+  @NonNull
+  private final String input;
+
+  private final Context context;
+
+  private final FunctionManager manager;
+
+  private int position;
+
+  private BindingParser(@NonNull String input, Context context, FunctionManager manager) {
+    this.input = input;
+    this.context = context;
+    this.manager = manager;
+  }
+
+  @NonNull
+  static Binding parse(@NonNull String value, Context context, FunctionManager manager) {
+    if (!Binding.isBindingValue(value)) {
+      throw new IllegalArgumentException(value + " is not a binding");
+    }
+    if (!value.startsWith(FUNCTION_PREFIX, 2)) {
+      return Binding.DataBinding.valueOf(value.substring(2, value.length() - 1));
+    }
+    BindingParser parser = new BindingParser(value, context, manager);
+    parser.position = 2 + FUNCTION_PREFIX.length();
+    Binding binding = parser.function();
+    parser.expect(Binding.BINDING_SUFFIX);
+    parser.end();
+    return binding;
+  }
+
+  @NonNull
+  static Value[] arguments(@NonNull String args, Context context, FunctionManager manager) {
+    BindingParser parser = new BindingParser(args, context, manager);
+    Value[] arguments = parser.arguments();
+    parser.end();
+    return arguments;
+  }
+
+  @NonNull
+  private Binding.FunctionBinding function() {
+    int start = position;
+    while (position < input.length() && input.charAt(position) != ARGUMENTS_OPENING) {
+      if (Character.isWhitespace(input.charAt(position))) {
+        throw error("whitespace in function name");
+      }
+      position++;
+    }
+    if (start == position) {
+      throw error("missing function name");
+    }
+    String name = input.substring(start, position);
+    expect(ARGUMENTS_OPENING);
+    Value[] arguments = arguments();
+    expect(ARGUMENTS_CLOSING);
+    return new Binding.FunctionBinding(manager.get(name), arguments);
+  }
+
+  @NonNull
+  private Value[] arguments() {
+    skipWhitespace();
+    if (position >= input.length() || input.charAt(position) == ARGUMENTS_CLOSING) {
+      return NO_ARGUMENTS;
+    }
+    List<Value> arguments = new ArrayList<>();
+    while (true) {
+      arguments.add(argument());
+      skipWhitespace();
+      if (position < input.length() && input.charAt(position) == ARGUMENTS_DELIMITER) {
+        position++;
+      } else {
+        break;
+      }
+    }
+    return arguments.toArray(new Value[arguments.size()]);
+  }
+
+  @NonNull
+  private Value argument() {
+    skipWhitespace();
+    if (position < input.length() && input.charAt(position) == QUOTE) {
+      return quoted();
+    } else if (input.startsWith("@{", position)) {
+      return binding();
+    } else {
+      return raw();
+    }
+  }
+
+  @NonNull
+  private Value quoted() {
+    position++;
+    StringBuilder builder = new StringBuilder();
+    char c;
+    while (position < input.length()) {
+      c = input.charAt(position++);
+      if (c == ESCAPE && position < input.length() && input.charAt(position) == QUOTE) {
+        builder.append(QUOTE);
+        position++;
+      } else if (c == QUOTE) {
+        return new StringPrimitive(builder.toString());
+      } else {
+        builder.append(c);
+      }
+    }
+    throw error("unterminated string");
+  }
+
+  @NonNull
+  private Binding binding() {
+    position += 2;
+    if (input.startsWith(FUNCTION_PREFIX, position)) {
+      position += FUNCTION_PREFIX.length();
+      Binding binding = function();
+      expect(Binding.BINDING_SUFFIX);
+      return binding;
+    }
+    int end = input.indexOf(Binding.BINDING_SUFFIX, position);
+    if (end < 0) {
+      throw error("unterminated binding");
+    }
+    if (end == position) {
+      throw error("empty binding");
+    }
+    String path = input.substring(position, end);
+    position = end + 1;
+    return Binding.DataBinding.valueOf(path);
+  }
+
+  @NonNull
+  private Value raw() {
+    int start = position;
+    int depth = 0;
+    char c;
+    while (position < input.length()) {
+      c = input.charAt(position);
+      if (c == ARGUMENTS_OPENING) {
+        depth++;
+      } else if (c == ARGUMENTS_CLOSING) {
+        if (depth == 0) {
+          break;
+        }
+        depth--;
+      } else if (c == ARGUMENTS_DELIMITER && depth == 0) {
+        break;
+      }
+      position++;
+    }
+    Primitive token = new StringPrimitive(input.substring(start, position).trim());
+    Value compiled = AttributeProcessor.staticPreCompile(token, context, manager);
+    return null != compiled ? compiled : token;
+  }
+
+  private void skipWhitespace() {
+    while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+      position++;
+    }
+  }
+
+  private void expect(char c) {
+    skipWhitespace();
+    if (position >= input.length() || input.charAt(position) != c) {
+      throw error("expected '" + c + "'");
+    }
+    position++;
+  }
+
+  private void end() {
+    if (position != input.length()) {
+      throw error("unexpected character '" + input.charAt(position) + "'");
+    }
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(input + " is not a valid binding, " + message + " at position " + position);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+/**
+ * BooleanPrimitive
+ *
+ * <p>
+ * A {@link Primitive} holding a {@code boolean}, without boxing it. Use {@link #valueOf(boolean)}
+ * to get one of the two shared instances.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class BooleanPrimitive extends Primitive {
+
+  public static final BooleanPrimitive TRUE = new BooleanPrimitive(true);
+
+  public static final BooleanPrimitive FALSE = new BooleanPrimitive(false);
+
+  private final boolean value;
+
+  private BooleanPrimitive(boolean value) {
+    this.value = value;
+  }
+
+  public static BooleanPrimitive valueOf(boolean value) {
+    return value ? TRUE : FALSE;
+  }
+
+  @Override
+  public boolean isBoolean() {
+    return true;
+  }
+
+  @Override
+  public boolean isNumber() {
+    return false;
+  }
+
+  @Override
+  public boolean isString() {
+    return false;
+  }
+
+  @Override
+  Boolean getAsBooleanWrapper() {
+    return value ? Boolean.TRUE : Boolean.FALSE;
+  }
+
+  @Override
+  public boolean getAsBoolean() {
+    return value;
+  }
+
+  @Override
+  public String getAsString() {
+    return value ? "true" : "false";
+  }
+}
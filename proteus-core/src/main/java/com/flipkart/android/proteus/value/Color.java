@@ -39,7 +39,7 @@ public abstract class Color extends Value {
 
   private static final String COLOR_PREFIX_LITERAL = "#";
 
-  private static HashMap<String, Integer> sAttributesMap = null;
+  private static volatile HashMap<String, Integer> sAttributesMap = null;
 
   @NonNull
   public static Color valueOf(@Nullable String value) {
@@ -182,17 +182,19 @@ public abstract class Color extends Value {
     if (null == sAttributesMap) {
       synchronized (Color.class) {
         if (null == sAttributesMap) {
-          sAttributesMap = new HashMap<>(15);
-          sAttributesMap.put("type", android.R.attr.type);
-          sAttributesMap.put("color", android.R.attr.color);
-          sAttributesMap.put("alpha", android.R.attr.alpha);
-          sAttributesMap.put("state_pressed", android.R.attr.state_pressed);
-          sAttributesMap.put("state_focused", android.R.attr.state_focused);
-          sAttributesMap.put("state_selected", android.R.attr.state_selected);
-          sAttributesMap.put("state_checkable", android.R.attr.state_checkable);
-          sAttributesMap.put("state_checked", android.R.attr.state_checked);
-          sAttributesMap.put("state_enabled", android.R.attr.state_enabled);
-          sAttributesMap.put("state_window_focused", android.R.attr.state_window_focused);
+          // fill the map before publishing it to other threads
+          HashMap<String, Integer> map = new HashMap<>(15);
+          map.put("type", android.R.attr.type);
+          map.put("color", android.R.attr.color);
+          map.put("alpha", android.R.attr.alpha);
+          map.put("state_pressed", android.R.attr.state_pressed);
+          map.put("state_focused", android.R.attr.state_focused);
+          map.put("state_selected", android.R.attr.state_selected);
+          map.put("state_checkable", android.R.attr.state_checkable);
+          map.put("state_checked", android.R.attr.state_checked);
+          map.put("state_enabled", android.R.attr.state_enabled);
+          map.put("state_window_focused", android.R.attr.state_window_focused);
+          sAttributesMap = map;
         }
       }
     }
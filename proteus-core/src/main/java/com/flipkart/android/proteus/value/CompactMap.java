@@ -0,0 +1,287 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+
+/**
+ * CompactMap
+ *
+ * <p>
+ * The members of an {@link ObjectValue}. Up to {@link #THRESHOLD} members are kept in a flat
+ * array of alternating keys and values, in the order they were added, and are found by a linear
+ * scan which compares the keys by identity before comparing them by equality; keys parsed from
+ * the same layout or data are usually the same interned strings. Beyond the threshold the
+ * members are moved to a {@link HashMap}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+final class CompactMap extends AbstractMap<String, Value> {
+
+  /**
+   * The largest number of members kept in the flat array.
+   */
+  static final int THRESHOLD = 8;
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private static final Object[] EMPTY = new Object[0];
+
+  /**
+   * The keys and values, {@code [k0, v0, k1, v1, ...]}, while {@link #map} is {@code null}.
+   */
+  private Object[] table = EMPTY;
+
+  private int size;
+
+  private HashMap<String, Value> map;
+
+  private Set<Map.Entry<String, Value>> entries;
+
+  private int indexOf(Object key) {
+    Object[] table = this.table;
+    int length = size << 1;
+    for (int i = 0; i < length; i += 2) {
+      if (table[i] == key) {
+        return i;
+      }
+    }
+    if (null != key) {
+      for (int i = 0; i < length; i += 2) {
+        if (key.equals(table[i])) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public Value get(Object key) {
+    if (null != map) {
+      return map.get(key);
+    }
+    int index = indexOf(key);
+    return index < 0 ? null : (Value) table[index + 1];
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return null != map ? map.containsKey(key) : indexOf(key) >= 0;
+  }
+
+  @Override
+  public Value put(String key, Value value) {
+    if (null != map) {
+      return map.put(key, value);
+    }
+    int index = indexOf(key);
+    if (index >= 0) {
+      Value previous = (Value) table[index + 1];
+      table[index + 1] = value;
+      return previous;
+    }
+    if (size == THRESHOLD) {
+      map = new HashMap<>(THRESHOLD * 4);
+      for (int i = 0; i < size << 1; i += 2) {
+        map.put((String) table[i], (Value) table[i + 1]);
+      }
+      table = EMPTY;
+      size = 0;
+      return map.put(key, value);
+    }
+    if (size << 1 == table.length) {
+      Object[] grown = new Object[Math.max(INITIAL_CAPACITY, size << 1) << 1];
+      System.arraycopy(table, 0, grown, 0, size << 1);
+      table = grown;
+    }
+    table[size << 1] = key;
+    table[(size << 1) + 1] = value;
+    size++;
+    return null;
+  }
+
+  @Override
+  public Value remove(Object key) {
+    if (null != map) {
+      return map.remove(key);
+    }
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    Value previous = (Value) table[index + 1];
+    removeAt(index);
+    return previous;
+  }
+
+  private void removeAt(int index) {
+    int length = size << 1;
+    System.arraycopy(table, index + 2, table, index, length - index - 2);
+    table[length - 2] = null;
+    table[length - 1] = null;
+    size--;
+  }
+
+  @Override
+  public int size() {
+    return null != map ? map.size() : size;
+  }
+
+  @Override
+  public void clear() {
+    map = null;
+    table = EMPTY;
+    size = 0;
+  }
+
+  @NonNull
+  @Override
+  public Set<Map.Entry<String, Value>> entrySet() {
+    if (null != map) {
+      return map.entrySet();
+    }
+    if (null == entries) {
+      entries = new EntrySet();
+    }
+    return entries;
+  }
+
+  private class EntrySet extends AbstractSet<Map.Entry<String, Value>> {
+
+    @NonNull
+    @Override
+    public Iterator<Map.Entry<String, Value>> iterator() {
+      return null != map ? map.entrySet().iterator() : new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+      return CompactMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      CompactMap.this.clear();
+    }
+  }
+
+  private class EntryIterator implements Iterator<Map.Entry<String, Value>> {
+
+    private int next;
+
+    private int current = -1;
+
+    @Override
+    public boolean hasNext() {
+      return next < size << 1;
+    }
+
+    @Override
+    public Map.Entry<String, Value> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      current = next;
+      next += 2;
+      return new Entry(current);
+    }
+
+    @Override
+    public void remove() {
+      if (current < 0) {
+        throw new IllegalStateException();
+      }
+      removeAt(current);
+      next = current;
+      current = -1;
+    }
+  }
+
+  /**
+   * A view of a member in the flat array. It looks the member up again if the array has been
+   * changed since the entry was created.
+   */
+  private class Entry implements Map.Entry<String, Value> {
+
+    private final String key;
+
+    private final int index;
+
+    Entry(int index) {
+      this.key = (String) table[index];
+      this.index = index;
+    }
+
+    private boolean isValid() {
+      return null == map && index < size << 1 && table[index] == key;
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public Value getValue() {
+      return isValid() ? (Value) table[index + 1] : get(key);
+    }
+
+    @Override
+    public Value setValue(Value value) {
+      if (!isValid()) {
+        return put(key, value);
+      }
+      Value previous = (Value) table[index + 1];
+      table[index + 1] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry entry = (Map.Entry) o;
+      Object key = getKey();
+      Object value = getValue();
+      return (null == key ? null == entry.getKey() : key.equals(entry.getKey()))
+        && (null == value ? null == entry.getValue() : value.equals(entry.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      Object key = getKey();
+      Object value = getValue();
+      return (null == key ? 0 : key.hashCode()) ^ (null == value ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
@@ -75,7 +75,7 @@ public class Dimension extends Value {
   public final double value;
   public final int unit;
 
-  private Dimension(float value, int unit) {
+  private Dimension(double value, int unit) {
     this.value = value;
     this.unit = unit;
   }
@@ -128,6 +128,21 @@ public class Dimension extends Value {
     return d;
   }
 
+  /**
+   * This function returns a {@code Dimension} object holding the
+   * specified value and unit. It is meant for values which have
+   * already been parsed, eg. when reading a compiled layout.
+   *
+   * @param value the numeric value of the dimension.
+   * @param unit  the unit of the dimension.
+   */
+  public static Dimension valueOf(double value, int unit) {
+    if (0 == value && DIMENSION_UNIT_PX == unit) {
+      return ZERO;
+    }
+    return new Dimension(value, unit);
+  }
+
   public static float apply(String dimension, Context context) {
     return Dimension.valueOf(dimension).apply(context);
   }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+/**
+ * DoublePrimitive
+ *
+ * <p>
+ * A {@link Primitive} holding a {@code double}, without boxing it.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class DoublePrimitive extends Primitive {
+
+  private final double value;
+
+  public DoublePrimitive(double value) {
+    this.value = value;
+  }
+
+  @Override
+  public boolean isNumber() {
+    return true;
+  }
+
+  @Override
+  public boolean isBoolean() {
+    return false;
+  }
+
+  @Override
+  public boolean isString() {
+    return false;
+  }
+
+  @Override
+  boolean isIntegral() {
+    return false;
+  }
+
+  @Override
+  public Number getAsNumber() {
+    return Double.valueOf(value);
+  }
+
+  @Override
+  public boolean getAsBoolean() {
+    return false;
+  }
+
+  @Override
+  public String getAsString() {
+    return Double.toString(value);
+  }
+
+  @Override
+  public double getAsDouble() {
+    return value;
+  }
+
+  @Override
+  public float getAsFloat() {
+    return (float) value;
+  }
+
+  @Override
+  public long getAsLong() {
+    return (long) value;
+  }
+
+  @Override
+  public int getAsInt() {
+    return (int) value;
+  }
+}
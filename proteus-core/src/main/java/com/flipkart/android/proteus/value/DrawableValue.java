@@ -147,6 +147,10 @@ public abstract class DrawableValue extends Value {
       return new ColorValue(ColorResourceProcessor.staticCompile(value, context));
     }
 
+    public static ColorValue valueOf(@NonNull Value color) {
+      return new ColorValue(color);
+    }
+
     @Override
     public void apply(ProteusView view, Context context, ProteusLayoutInflater.ImageLoader loader, Callback callback) {
       Drawable drawable = new ColorDrawable(ColorResourceProcessor.evaluate(color, view).color);
@@ -264,6 +268,10 @@ public abstract class DrawableValue extends Value {
       }
       callback.apply(drawable);
     }
+
+    public Iterator<DrawableElement> getElements() {
+      return new SimpleArrayIterator<>(null != elements ? elements : new DrawableElement[0]);
+    }
   }
 
   public static class LayerListValue extends DrawableValue {
@@ -492,6 +500,11 @@ public abstract class DrawableValue extends Value {
         return new Level(minLevel, maxLevel, DrawableResourceProcessor.staticCompile(drawable, context));
       }
 
+      @NonNull
+      public static Level valueOf(int minLevel, int maxLevel, @NonNull Value drawable) {
+        return new Level(minLevel, maxLevel, drawable);
+      }
+
       public void apply(ProteusView view, final LevelListDrawable levelListDrawable) {
         levelListDrawable.addLevel(minLevel, maxLevel, DrawableResourceProcessor.evaluate(drawable, view));
       }
@@ -620,7 +633,7 @@ public abstract class DrawableValue extends Value {
   /**
    *
    */
-  private static abstract class DrawableElement extends Value {
+  public static abstract class DrawableElement extends Value {
 
     public abstract void apply(ProteusView view, GradientDrawable drawable);
 
@@ -714,10 +727,30 @@ public abstract class DrawableValue extends Value {
       useLevel = gradient.getAsBoolean(USE_LEVEL);
     }
 
+    private Gradient(@Nullable Integer angle, @Nullable Float centerX, @Nullable Float centerY,
+                     @Nullable Value centerColor, @Nullable Value endColor, @Nullable Value gradientRadius,
+                     @Nullable Value startColor, int gradientType, @Nullable Boolean useLevel) {
+      this.angle = angle;
+      this.centerX = centerX;
+      this.centerY = centerY;
+      this.centerColor = centerColor;
+      this.endColor = endColor;
+      this.gradientRadius = gradientRadius;
+      this.startColor = startColor;
+      this.gradientType = gradientType;
+      this.useLevel = useLevel;
+    }
+
     public static Gradient valueOf(ObjectValue value, Context context) {
       return new Gradient(value, context);
     }
 
+    public static Gradient valueOf(@Nullable Integer angle, @Nullable Float centerX, @Nullable Float centerY,
+                                   @Nullable Value centerColor, @Nullable Value endColor, @Nullable Value gradientRadius,
+                                   @Nullable Value startColor, int gradientType, @Nullable Boolean useLevel) {
+      return new Gradient(angle, centerX, centerY, centerColor, endColor, gradientRadius, startColor, gradientType, useLevel);
+    }
+
     public static GradientDrawable.Orientation getOrientation(@Nullable Integer angle) {
       GradientDrawable.Orientation orientation = GradientDrawable.Orientation.LEFT_RIGHT;
       if (null != angle) {
@@ -815,15 +848,15 @@ public abstract class DrawableValue extends Value {
     public static final String BOTTOM_RIGHT_RADIUS = "bottomRightRadius";
 
     @Nullable
-    private final Value radius;
+    public final Value radius;
     @Nullable
-    private final Value topLeftRadius;
+    public final Value topLeftRadius;
     @Nullable
-    private final Value topRightRadius;
+    public final Value topRightRadius;
     @Nullable
-    private final Value bottomLeftRadius;
+    public final Value bottomLeftRadius;
     @Nullable
-    private final Value bottomRightRadius;
+    public final Value bottomRightRadius;
 
     private Corners(ObjectValue corner, Context context) {
       radius = DimensionAttributeProcessor.staticCompile(corner.get(RADIUS), context);
@@ -833,10 +866,24 @@ public abstract class DrawableValue extends Value {
       bottomRightRadius = DimensionAttributeProcessor.staticCompile(corner.get(BOTTOM_RIGHT_RADIUS), context);
     }
 
+    private Corners(@Nullable Value radius, @Nullable Value topLeftRadius, @Nullable Value topRightRadius,
+                    @Nullable Value bottomLeftRadius, @Nullable Value bottomRightRadius) {
+      this.radius = radius;
+      this.topLeftRadius = topLeftRadius;
+      this.topRightRadius = topRightRadius;
+      this.bottomLeftRadius = bottomLeftRadius;
+      this.bottomRightRadius = bottomRightRadius;
+    }
+
     public static Corners valueOf(ObjectValue corner, Context context) {
       return new Corners(corner, context);
     }
 
+    public static Corners valueOf(@Nullable Value radius, @Nullable Value topLeftRadius, @Nullable Value topRightRadius,
+                                  @Nullable Value bottomLeftRadius, @Nullable Value bottomRightRadius) {
+      return new Corners(radius, topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius);
+    }
+
     @Override
     public void apply(ProteusView view, GradientDrawable gradientDrawable) {
       if (null != radius) {
@@ -864,16 +911,24 @@ public abstract class DrawableValue extends Value {
 
     public static final String COLOR = "color";
 
-    private final Value color;
+    public final Value color;
 
     private Solid(ObjectValue value, Context context) {
       color = ColorResourceProcessor.staticCompile(value.get(COLOR), context);
     }
 
+    private Solid(Value color) {
+      this.color = color;
+    }
+
     public static Solid valueOf(ObjectValue value, Context context) {
       return new Solid(value, context);
     }
 
+    public static Solid valueOf(@NonNull Value color) {
+      return new Solid(color);
+    }
+
     @Override
     public void apply(ProteusView view, final GradientDrawable gradientDrawable) {
       Color.Result result = ColorResourceProcessor.evaluate(color, view);
@@ -890,18 +945,27 @@ public abstract class DrawableValue extends Value {
     private static final String WIDTH = "width";
     private static final String HEIGHT = "height";
 
-    private final Value width;
-    private final Value height;
+    public final Value width;
+    public final Value height;
 
     private Size(ObjectValue value, Context context) {
       width = DimensionAttributeProcessor.staticCompile(value.get(WIDTH), context);
       height = DimensionAttributeProcessor.staticCompile(value.get(HEIGHT), context);
     }
 
+    private Size(Value width, Value height) {
+      this.width = width;
+      this.height = height;
+    }
+
     public static Size valueOf(ObjectValue value, Context context) {
       return new Size(value, context);
     }
 
+    public static Size valueOf(@NonNull Value width, @NonNull Value height) {
+      return new Size(width, height);
+    }
+
     @Override
     public void apply(ProteusView view, GradientDrawable gradientDrawable) {
       gradientDrawable.setSize((int) DimensionAttributeProcessor.evaluate(width, view), (int) DimensionAttributeProcessor.evaluate(height, view));
@@ -927,10 +991,21 @@ public abstract class DrawableValue extends Value {
       dashGap = DimensionAttributeProcessor.staticCompile(stroke.get(DASH_GAP), context);
     }
 
+    private Stroke(Value width, Value color, Value dashWidth, Value dashGap) {
+      this.width = width;
+      this.color = color;
+      this.dashWidth = dashWidth;
+      this.dashGap = dashGap;
+    }
+
     public static Stroke valueOf(ObjectValue stroke, Context context) {
       return new Stroke(stroke, context);
     }
 
+    public static Stroke valueOf(Value width, Value color, Value dashWidth, Value dashGap) {
+      return new Stroke(width, color, dashWidth, dashGap);
+    }
+
     @Override
     public void apply(ProteusView view, GradientDrawable gradientDrawable) {
       if (null == dashWidth) {
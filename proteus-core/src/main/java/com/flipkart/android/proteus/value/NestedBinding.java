@@ -18,10 +18,14 @@ package com.flipkart.android.proteus.value;
 
 import android.content.Context;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 /**
  * NestedBinding
@@ -35,6 +39,9 @@ public class NestedBinding extends Binding {
 
   private final Value value;
 
+  @Nullable
+  private Set<String> paths;
+
   private NestedBinding(Value value) {
     this.value = value;
   }
@@ -59,6 +66,32 @@ public class NestedBinding extends Binding {
     return evaluate(context, value, data, index);
   }
 
+  @NonNull
+  @Override
+  public Set<String> getPaths() {
+    if (null == paths) {
+      Set<String> paths = new HashSet<>();
+      collect(value, paths);
+      this.paths = Collections.unmodifiableSet(paths);
+    }
+    return paths;
+  }
+
+  private static void collect(Value value, Set<String> paths) {
+    if (value.isBinding()) {
+      paths.addAll(value.getAsBinding().getPaths());
+    } else if (value.isObject()) {
+      for (Map.Entry<String, Value> entry : value.getAsObject().entrySet()) {
+        collect(entry.getValue(), paths);
+      }
+    } else if (value.isArray()) {
+      Iterator<Value> iterator = value.getAsArray().iterator();
+      while (iterator.hasNext()) {
+        collect(iterator.next(), paths);
+      }
+    }
+  }
+
   @NonNull
   @Override
   public String toString() {
@@ -16,7 +16,6 @@
 
 package com.flipkart.android.proteus.value;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,7 +29,18 @@ import androidx.annotation.Nullable;
 
 public class ObjectValue extends Value {
 
-  private final HashMap<String, Value> members = new HashMap<>();
+  private final Map<String, Value> members;
+
+  public ObjectValue() {
+    this.members = new CompactMap();
+  }
+
+  /**
+   * Used by {@link PersistentObjectValue} to provide its own members.
+   */
+  ObjectValue(Map<String, Value> members) {
+    this.members = members;
+  }
 
   @Override
   public ObjectValue copy() {
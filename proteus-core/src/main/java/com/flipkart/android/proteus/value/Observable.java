@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Observable
+ *
+ * <p>
+ * A data {@link Value} which notifies its observers when it, or any observable value nested
+ * in it, is changed. The changed data paths are in the canonical form of
+ * {@link Binding.DataBinding#getPath()}, relative to the observed value, eg. {@code a.b.0.c}.
+ * </p>
+ *
+ * @author adityasharat
+ * @see ObservableObjectValue
+ * @see ObservableArray
+ */
+public interface Observable {
+
+  /**
+   * @param observer the observer to notify of changes.
+   */
+  void addObserver(@NonNull Observer observer);
+
+  /**
+   * @param observer the observer to stop notifying.
+   */
+  void removeObserver(@NonNull Observer observer);
+
+  /**
+   * Observer
+   *
+   * @author adityasharat
+   */
+  interface Observer {
+
+    /**
+     * Called after the value at the data path has been added, removed or replaced.
+     *
+     * @param path the changed data path, an empty path if the observed value itself changed.
+     */
+    void onChanged(@NonNull String path);
+  }
+}
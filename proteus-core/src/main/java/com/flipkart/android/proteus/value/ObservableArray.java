@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import java.util.Iterator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * ObservableArray
+ *
+ * <p>
+ * An {@link Array} which notifies its observers of the items added, replaced or removed.
+ * Appending or replacing an item reports the path of the item, any other change shifts the
+ * indices of the items and reports the array itself. Changes inside nested observable values
+ * are reported as well. Values are not thread safe and must be changed on the main thread.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class ObservableArray extends Array implements Observable {
+
+  final Observers observers = new Observers(this);
+
+  public ObservableArray() {
+    super();
+  }
+
+  public ObservableArray(int capacity) {
+    super(capacity);
+  }
+
+  /**
+   * Returns an observable deep copy of the array, where every nested object and array
+   * is observable as well.
+   *
+   * @param array the array to copy.
+   * @return an observable copy.
+   */
+  @NonNull
+  public static ObservableArray valueOf(@NonNull Array array) {
+    ObservableArray result = new ObservableArray(array.size());
+    Iterator<Value> iterator = array.iterator();
+    while (iterator.hasNext()) {
+      result.add(Observers.toObservable(iterator.next()));
+    }
+    return result;
+  }
+
+  @Override
+  public ObservableArray copy() {
+    ObservableArray result = new ObservableArray(size());
+    Iterator<Value> iterator = iterator();
+    while (iterator.hasNext()) {
+      result.add(iterator.next().copy());
+    }
+    return result;
+  }
+
+  @Override
+  public void add(@Nullable Value value) {
+    super.add(value);
+    int index = size() - 1;
+    Observers.attach(get(index), this, null);
+    observers.notify(String.valueOf(index));
+  }
+
+  @Override
+  public void add(int position, @Nullable Value value) {
+    super.add(position, value);
+    Observers.attach(get(position), this, null);
+    observers.notify(position == size() - 1 ? String.valueOf(position) : null);
+  }
+
+  @Override
+  public void addAll(@NonNull Array array) {
+    int size = size();
+    super.addAll(array);
+    for (int i = size; i < size(); i++) {
+      Observers.attach(get(i), this, null);
+    }
+    observers.notify(null);
+  }
+
+  @Override
+  public Value set(int index, @NonNull Value value) {
+    Value previous = super.set(index, value);
+    Observers.detach(previous, this);
+    Observers.attach(value, this, null);
+    observers.notify(String.valueOf(index));
+    return previous;
+  }
+
+  @Override
+  public boolean remove(@NonNull Value value) {
+    for (int i = 0; i < size(); i++) {
+      if (value.equals(get(i))) {
+        remove(i);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Value remove(int index) {
+    Value previous = super.remove(index);
+    Observers.detach(previous, this);
+    observers.notify(null);
+    return previous;
+  }
+
+  @Override
+  public void addObserver(@NonNull Observer observer) {
+    observers.add(observer);
+  }
+
+  @Override
+  public void removeObserver(@NonNull Observer observer) {
+    observers.remove(observer);
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+
+/**
+ * ObservableObjectValue
+ *
+ * <p>
+ * An {@link ObjectValue} which notifies its observers of the properties added, replaced or
+ * removed. Changes inside nested {@link ObservableObjectValue} and {@link ObservableArray}
+ * values are reported as well; use {@link #valueOf(ObjectValue)} to make a whole data tree
+ * observable. Values are not thread safe and must be changed on the main thread.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class ObservableObjectValue extends ObjectValue implements Observable {
+
+  final Observers observers = new Observers(this);
+
+  /**
+   * Returns an observable deep copy of the object, where every nested object and array
+   * is observable as well.
+   *
+   * @param object the object to copy.
+   * @return an observable copy.
+   */
+  @NonNull
+  public static ObservableObjectValue valueOf(@NonNull ObjectValue object) {
+    ObservableObjectValue result = new ObservableObjectValue();
+    for (Map.Entry<String, Value> entry : object.entrySet()) {
+      result.add(entry.getKey(), Observers.toObservable(entry.getValue()));
+    }
+    return result;
+  }
+
+  @Override
+  public ObservableObjectValue copy() {
+    ObservableObjectValue result = new ObservableObjectValue();
+    for (Map.Entry<String, Value> entry : entrySet()) {
+      result.add(entry.getKey(), entry.getValue().copy());
+    }
+    return result;
+  }
+
+  @Override
+  public void add(String property, Value value) {
+    Value previous = get(property);
+    super.add(property, value);
+    Observers.detach(previous, this);
+    Observers.attach(get(property), this, property);
+    observers.notify(property);
+  }
+
+  @Override
+  public Value remove(String property) {
+    Value previous = super.remove(property);
+    if (null != previous) {
+      Observers.detach(previous, this);
+      observers.notify(property);
+    }
+    return previous;
+  }
+
+  @Override
+  public void addObserver(@NonNull Observer observer) {
+    observers.add(observer);
+  }
+
+  @Override
+  public void removeObserver(@NonNull Observer observer) {
+    observers.remove(observer);
+  }
+}
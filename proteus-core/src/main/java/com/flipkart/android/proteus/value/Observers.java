@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Observers
+ *
+ * <p>
+ * Holds the observers of an {@link Observable} value and the link to the observable value it
+ * is nested in, so that a change is reported to the observers of every value up to the root.
+ * A value is linked to the last observable parent it was added to.
+ * </p>
+ *
+ * @author adityasharat
+ */
+final class Observers {
+
+  private static final String EMPTY = "";
+
+  @NonNull
+  private final Value owner;
+
+  @Nullable
+  private List<Observable.Observer> observers;
+
+  @Nullable
+  private Value parent;
+
+  @Nullable
+  private String key;
+
+  Observers(@NonNull Value owner) {
+    this.owner = owner;
+  }
+
+  @Nullable
+  static Observers of(@Nullable Value value) {
+    if (value instanceof ObservableObjectValue) {
+      return ((ObservableObjectValue) value).observers;
+    } else if (value instanceof ObservableArray) {
+      return ((ObservableArray) value).observers;
+    }
+    return null;
+  }
+
+  /**
+   * Returns an observable deep copy of the value if it is an object or an array.
+   */
+  static Value toObservable(Value value) {
+    if (value instanceof ObjectValue) {
+      return ObservableObjectValue.valueOf((ObjectValue) value);
+    } else if (value instanceof Array) {
+      return ObservableArray.valueOf((Array) value);
+    }
+    return value;
+  }
+
+  static void attach(@Nullable Value child, @NonNull Value parent, @Nullable String key) {
+    Observers observers = of(child);
+    if (null != observers) {
+      observers.parent = parent;
+      observers.key = key;
+    }
+  }
+
+  static void detach(@Nullable Value child, @NonNull Value parent) {
+    Observers observers = of(child);
+    if (null != observers && observers.parent == parent) {
+      observers.parent = null;
+      observers.key = null;
+    }
+  }
+
+  void add(@NonNull Observable.Observer observer) {
+    if (null == observers) {
+      observers = new ArrayList<>(1);
+    }
+    if (!observers.contains(observer)) {
+      observers.add(observer);
+    }
+  }
+
+  void remove(@NonNull Observable.Observer observer) {
+    if (null != observers) {
+      observers.remove(observer);
+    }
+  }
+
+  /**
+   * @param path the changed path relative to the owner, or {@code null} if the owner itself changed.
+   */
+  void notify(@Nullable String path) {
+    if (null != observers) {
+      Observable.Observer[] snapshot = observers.toArray(new Observable.Observer[observers.size()]);
+      for (Observable.Observer observer : snapshot) {
+        observer.onChanged(null != path ? path : EMPTY);
+      }
+    }
+    Observers parent = of(this.parent);
+    if (null != parent) {
+      String segment = null != key ? key : getIndex(this.parent.getAsArray(), owner);
+      if (null != segment) {
+        parent.notify(null != path ? segment + Binding.DELIMITER_OBJECT + path : segment);
+      }
+    }
+  }
+
+  @Nullable
+  private static String getIndex(@NonNull Array array, @NonNull Value value) {
+    for (int i = 0; i < array.size(); i++) {
+      if (array.get(i) == value) {
+        return String.valueOf(i);
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import java.util.Iterator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * PersistentArray
+ *
+ * <p>
+ * An immutable {@link Array}. {@link #with(int, Value)} and {@link #plus(Value)} return a new
+ * array in O(log n) which shares all the unchanged values with this one. {@link #copy()}
+ * returns the same array and the hash code is computed once. The methods which change the
+ * array in place throw an {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class PersistentArray extends Array {
+
+  public static final PersistentArray EMPTY = new PersistentArray(PersistentVector.EMPTY);
+
+  @NonNull
+  private final PersistentVector values;
+
+  private PersistentArray(@NonNull PersistentVector values) {
+    super(values);
+    this.values = values;
+  }
+
+  /**
+   * Converts the array, and all the objects and arrays in it, to persistent values.
+   *
+   * @param array the array to convert.
+   * @return the persistent array, or the same array if it already is one.
+   */
+  @NonNull
+  public static PersistentArray valueOf(@NonNull Array array) {
+    if (array instanceof PersistentArray) {
+      return (PersistentArray) array;
+    }
+    PersistentVector values = PersistentVector.EMPTY;
+    Iterator<Value> iterator = array.iterator();
+    while (iterator.hasNext()) {
+      values = values.plus(PersistentObjectValue.toPersistent(iterator.next()));
+    }
+    return new PersistentArray(values);
+  }
+
+  /**
+   * @param index the index of the value, or the size of the array to append it.
+   * @param value the value, objects and arrays are converted to persistent values.
+   * @return an array with the value replaced, or this array if it already was.
+   */
+  @NonNull
+  public PersistentArray with(int index, @Nullable Value value) {
+    PersistentVector values = this.values.with(index, PersistentObjectValue.toPersistent(value));
+    return values == this.values ? this : new PersistentArray(values);
+  }
+
+  /**
+   * @param value the value, objects and arrays are converted to persistent values.
+   * @return an array with the value appended.
+   */
+  @NonNull
+  public PersistentArray plus(@Nullable Value value) {
+    return new PersistentArray(values.plus(PersistentObjectValue.toPersistent(value)));
+  }
+
+  @Override
+  public PersistentArray copy() {
+    return this;
+  }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * PersistentMap
+ *
+ * <p>
+ * An immutable hash array mapped trie. {@link #with(String, Value)} and {@link #without(Object)}
+ * return a new map in O(log32 n), sharing every node which has not changed with this map. The
+ * hash code is computed once.
+ * </p>
+ *
+ * @author adityasharat
+ */
+final class PersistentMap extends AbstractMap<String, Value> {
+
+  static final PersistentMap EMPTY = new PersistentMap(null, 0);
+
+  private static final int BITS = 5;
+
+  private static final int MASK = (1 << BITS) - 1;
+
+  /**
+   * Deep enough for 7 levels of bitmap nodes and a collision node.
+   */
+  private static final int MAX_DEPTH = 10;
+
+  @Nullable
+  private final Node root;
+
+  private final int size;
+
+  /**
+   * The cached hash code, {@code 0} if it is not computed yet. A single field, read once, so
+   * that another thread sees either the hash code or {@code 0}, like {@link String#hashCode()}.
+   */
+  private int hash;
+
+  private Set<Map.Entry<String, Value>> entries;
+
+  private PersistentMap(@Nullable Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @Override
+  public Value get(Object key) {
+    return null != root && null != key ? root.find(0, key.hashCode(), key) : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return null != get(key);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return a map with the key set to the value, or this map if it already was.
+   */
+  @NonNull
+  PersistentMap with(@NonNull String key, @NonNull Value value) {
+    boolean[] added = new boolean[1];
+    Node node = (null != root ? root : BitmapNode.EMPTY).with(0, key.hashCode(), key, value, added);
+    if (node == root) {
+      return this;
+    }
+    return new PersistentMap(node, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * @return a map without the key, or this map if it did not have the key.
+   */
+  @NonNull
+  PersistentMap without(@NonNull Object key) {
+    if (null == root) {
+      return this;
+    }
+    Node node = root.without(0, key.hashCode(), key);
+    if (node == root) {
+      return this;
+    }
+    return null == node ? EMPTY : new PersistentMap(node, size - 1);
+  }
+
+  @NonNull
+  @Override
+  public Set<Map.Entry<String, Value>> entrySet() {
+    if (null == entries) {
+      entries = new AbstractSet<Map.Entry<String, Value>>() {
+        @NonNull
+        @Override
+        public Iterator<Map.Entry<String, Value>> iterator() {
+          return new EntryIterator(root);
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+    return entries;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0) {
+      h = super.hashCode();
+      hash = h;
+    }
+    return h;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (o instanceof PersistentMap && (((PersistentMap) o).size != size || o.hashCode() != hashCode())) {
+      return false;
+    }
+    return super.equals(o);
+  }
+
+  private static int index(int hash, int shift) {
+    return (hash >>> shift) & MASK;
+  }
+
+  private static Object[] insert(Object[] array, int at, Object key, Object value) {
+    Object[] result = new Object[array.length + 2];
+    System.arraycopy(array, 0, result, 0, at);
+    result[at] = key;
+    result[at + 1] = value;
+    System.arraycopy(array, at, result, at + 2, array.length - at);
+    return result;
+  }
+
+  private static Object[] remove(Object[] array, int at) {
+    Object[] result = new Object[array.length - 2];
+    System.arraycopy(array, 0, result, 0, at);
+    System.arraycopy(array, at + 2, result, at, array.length - at - 2);
+    return result;
+  }
+
+  private static Object[] replace(Object[] array, int at, Object value) {
+    Object[] result = array.clone();
+    result[at] = value;
+    return result;
+  }
+
+  /**
+   * A node of the trie, its array holds alternating keys and values. A {@code null} key in a
+   * {@link BitmapNode} means that the value is a child node.
+   */
+  private abstract static class Node {
+
+    final Object[] array;
+
+    Node(Object[] array) {
+      this.array = array;
+    }
+
+    abstract Value find(int shift, int hash, Object key);
+
+    abstract Node with(int shift, int hash, String key, Value value, boolean[] added);
+
+    /**
+     * @return the node without the key, {@code null} if it would be empty.
+     */
+    @Nullable
+    abstract Node without(int shift, int hash, Object key);
+  }
+
+  private static final class BitmapNode extends Node {
+
+    static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    final int bitmap;
+
+    BitmapNode(int bitmap, Object[] array) {
+      super(array);
+      this.bitmap = bitmap;
+    }
+
+    private int position(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1)) << 1;
+    }
+
+    @Override
+    Value find(int shift, int hash, Object key) {
+      int bit = 1 << index(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      int at = position(bit);
+      Object k = array[at];
+      if (null == k) {
+        return ((Node) array[at + 1]).find(shift + BITS, hash, key);
+      }
+      return k == key || key.equals(k) ? (Value) array[at + 1] : null;
+    }
+
+    @Override
+    Node with(int shift, int hash, String key, Value value, boolean[] added) {
+      int bit = 1 << index(hash, shift);
+      int at = position(bit);
+      if ((bitmap & bit) == 0) {
+        added[0] = true;
+        return new BitmapNode(bitmap | bit, insert(array, at, key, value));
+      }
+      Object k = array[at];
+      Object v = array[at + 1];
+      if (null == k) {
+        Node node = ((Node) v).with(shift + BITS, hash, key, value, added);
+        return node == v ? this : new BitmapNode(bitmap, replace(array, at + 1, node));
+      }
+      if (k == key || key.equals(k)) {
+        return v == value ? this : new BitmapNode(bitmap, replace(array, at + 1, value));
+      }
+      added[0] = true;
+      Object[] result = replace(array, at, null);
+      result[at + 1] = create(shift + BITS, (String) k, (Value) v, hash, key, value);
+      return new BitmapNode(bitmap, result);
+    }
+
+    @Override
+    Node without(int shift, int hash, Object key) {
+      int bit = 1 << index(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int at = position(bit);
+      Object k = array[at];
+      if (null == k) {
+        Node child = (Node) array[at + 1];
+        Node node = child.without(shift + BITS, hash, key);
+        if (node == child) {
+          return this;
+        }
+        if (null != node) {
+          return new BitmapNode(bitmap, replace(array, at + 1, node));
+        }
+      } else if (k != key && !key.equals(k)) {
+        return this;
+      }
+      return bitmap == bit ? null : new BitmapNode(bitmap ^ bit, remove(array, at));
+    }
+
+    private static Node create(int shift, String k1, Value v1, int hash, String k2, Value v2) {
+      int h1 = k1.hashCode();
+      if (h1 == hash) {
+        return new CollisionNode(hash, new Object[]{k1, v1, k2, v2});
+      }
+      boolean[] added = new boolean[1];
+      return EMPTY.with(shift, h1, k1, v1, added).with(shift, hash, k2, v2, added);
+    }
+  }
+
+  /**
+   * Holds the keys which have the same hash code.
+   */
+  private static final class CollisionNode extends Node {
+
+    final int hash;
+
+    CollisionNode(int hash, Object[] array) {
+      super(array);
+      this.hash = hash;
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (array[i] == key || key.equals(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    Value find(int shift, int hash, Object key) {
+      if (hash != this.hash) {
+        return null;
+      }
+      int at = indexOf(key);
+      return at < 0 ? null : (Value) array[at + 1];
+    }
+
+    @Override
+    Node with(int shift, int hash, String key, Value value, boolean[] added) {
+      if (hash != this.hash) {
+        // nest this node in a bitmap node at the position of its hash
+        return new BitmapNode(1 << index(this.hash, shift), new Object[]{null, this})
+          .with(shift, hash, key, value, added);
+      }
+      int at = indexOf(key);
+      if (at < 0) {
+        added[0] = true;
+        return new CollisionNode(hash, insert(array, array.length, key, value));
+      }
+      return array[at + 1] == value ? this : new CollisionNode(hash, replace(array, at + 1, value));
+    }
+
+    @Override
+    Node without(int shift, int hash, Object key) {
+      int at = hash == this.hash ? indexOf(key) : -1;
+      if (at < 0) {
+        return this;
+      }
+      return array.length == 2 ? null : new CollisionNode(hash, remove(array, at));
+    }
+  }
+
+  private static class EntryIterator implements Iterator<Map.Entry<String, Value>> {
+
+    private final Object[][] stack = new Object[MAX_DEPTH][];
+
+    private final int[] positions = new int[MAX_DEPTH];
+
+    private int depth = -1;
+
+    @Nullable
+    private Map.Entry<String, Value> next;
+
+    EntryIterator(@Nullable Node root) {
+      if (null != root) {
+        stack[++depth] = root.array;
+      }
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (depth >= 0) {
+        Object[] array = stack[depth];
+        int at = positions[depth];
+        if (at >= array.length) {
+          positions[depth--] = 0;
+          continue;
+        }
+        positions[depth] = at + 2;
+        if (null == array[at]) {
+          stack[++depth] = ((Node) array[at + 1]).array;
+        } else {
+          next = new SimpleImmutableEntry<>((String) array[at], (Value) array[at + 1]);
+          return;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return null != next;
+    }
+
+    @Override
+    public Map.Entry<String, Value> next() {
+      Map.Entry<String, Value> entry = next;
+      if (null == entry) {
+        throw new NoSuchElementException();
+      }
+      advance();
+      return entry;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * PersistentObjectValue
+ *
+ * <p>
+ * An immutable {@link ObjectValue}. {@link #with(String, Value)} and {@link #without(String)}
+ * return a new object in O(log n) which shares all the unchanged members with this one, so
+ * every version is a snapshot which can be read on any thread, eg. by a
+ * {@link com.flipkart.android.proteus.managers.RenderPatch}. {@link #copy()} returns the same
+ * object and the hash code is computed once. The methods which change the object in place
+ * throw an {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class PersistentObjectValue extends ObjectValue {
+
+  public static final PersistentObjectValue EMPTY = new PersistentObjectValue(PersistentMap.EMPTY);
+
+  @NonNull
+  private final PersistentMap members;
+
+  private PersistentObjectValue(@NonNull PersistentMap members) {
+    super(members);
+    this.members = members;
+  }
+
+  /**
+   * Converts the object, and all the objects and arrays in it, to persistent values.
+   *
+   * @param object the object to convert.
+   * @return the persistent object, or the same object if it already is one.
+   */
+  @NonNull
+  public static PersistentObjectValue valueOf(@NonNull ObjectValue object) {
+    if (object instanceof PersistentObjectValue) {
+      return (PersistentObjectValue) object;
+    }
+    PersistentMap members = PersistentMap.EMPTY;
+    for (Map.Entry<String, Value> entry : object.entrySet()) {
+      members = members.with(entry.getKey(), toPersistent(entry.getValue()));
+    }
+    return new PersistentObjectValue(members);
+  }
+
+  @NonNull
+  static Value toPersistent(@Nullable Value value) {
+    if (null == value) {
+      return Null.INSTANCE;
+    } else if (value instanceof Layout) {
+      return value;
+    } else if (value.isObject()) {
+      return valueOf(value.getAsObject());
+    } else if (value.isArray()) {
+      return PersistentArray.valueOf(value.getAsArray());
+    }
+    return value;
+  }
+
+  /**
+   * @param property the name of the member.
+   * @param value    the value of the member, objects and arrays are converted to persistent values.
+   * @return an object with the member set, or this object if it already was.
+   */
+  @NonNull
+  public PersistentObjectValue with(@NonNull String property, @Nullable Value value) {
+    PersistentMap members = this.members.with(property, toPersistent(value));
+    return members == this.members ? this : new PersistentObjectValue(members);
+  }
+
+  /**
+   * @param property the name of the member.
+   * @return an object without the member, or this object if it did not have it.
+   */
+  @NonNull
+  public PersistentObjectValue without(@NonNull String property) {
+    PersistentMap members = this.members.without(property);
+    return members == this.members ? this : new PersistentObjectValue(members);
+  }
+
+  @Override
+  public PersistentObjectValue copy() {
+    return this;
+  }
+
+  @Override
+  public void add(String property, Value value) {
+    throw new UnsupportedOperationException("PersistentObjectValue is immutable, use with()");
+  }
+
+  @Override
+  public Value remove(String property) {
+    throw new UnsupportedOperationException("PersistentObjectValue is immutable, use without()");
+  }
+}
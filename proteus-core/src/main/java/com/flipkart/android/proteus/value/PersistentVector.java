@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import androidx.annotation.NonNull;
+
+/**
+ * PersistentVector
+ *
+ * <p>
+ * An immutable list stored as a 32 way trie with the last, partially filled, leaf kept apart
+ * as the tail. {@link #with(int, Value)} and {@link #plus(Value)} return a new vector in
+ * O(log32 n), sharing every node which has not changed with this vector. The hash code is
+ * computed once.
+ * </p>
+ *
+ * @author adityasharat
+ */
+final class PersistentVector extends AbstractList<Value> implements RandomAccess {
+
+  private static final int BITS = 5;
+
+  private static final int WIDTH = 1 << BITS;
+
+  private static final int MASK = WIDTH - 1;
+
+  private static final Object[] EMPTY_NODE = new Object[0];
+
+  static final PersistentVector EMPTY = new PersistentVector(0, BITS, EMPTY_NODE, EMPTY_NODE);
+
+  private final int count;
+
+  private final int shift;
+
+  private final Object[] root;
+
+  private final Object[] tail;
+
+  /**
+   * The cached hash code, or {@code 0} until it is computed, see {@link PersistentMap#hashCode()}.
+   */
+  private int hash;
+
+  private PersistentVector(int count, int shift, Object[] root, Object[] tail) {
+    this.count = count;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  private int tailOffset() {
+    return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+  }
+
+  private Object[] leafFor(int index) {
+    if (index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+    }
+    if (index >= tailOffset()) {
+      return tail;
+    }
+    Object[] node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      node = (Object[]) node[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  @Override
+  public Value get(int index) {
+    return (Value) leafFor(index)[index & MASK];
+  }
+
+  @Override
+  public int size() {
+    return count;
+  }
+
+  /**
+   * @return a vector with the value at the index replaced.
+   */
+  @NonNull
+  PersistentVector with(int index, @NonNull Value value) {
+    if (index == count) {
+      return plus(value);
+    }
+    if (get(index) == value) {
+      return this;
+    }
+    if (index >= tailOffset()) {
+      Object[] tail = this.tail.clone();
+      tail[index & MASK] = value;
+      return new PersistentVector(count, shift, root, tail);
+    }
+    return new PersistentVector(count, shift, with(shift, root, index, value), tail);
+  }
+
+  private static Object[] with(int level, Object[] node, int index, Value value) {
+    Object[] result = node.clone();
+    if (level == 0) {
+      result[index & MASK] = value;
+    } else {
+      int at = (index >>> level) & MASK;
+      result[at] = with(level - BITS, (Object[]) node[at], index, value);
+    }
+    return result;
+  }
+
+  /**
+   * @return a vector with the value appended.
+   */
+  @NonNull
+  PersistentVector plus(@NonNull Value value) {
+    if (count - tailOffset() < WIDTH) {
+      Object[] tail = new Object[this.tail.length + 1];
+      System.arraycopy(this.tail, 0, tail, 0, this.tail.length);
+      tail[this.tail.length] = value;
+      return new PersistentVector(count + 1, shift, root, tail);
+    }
+    // the tail is full, push it into the trie
+    Object[] root;
+    int shift = this.shift;
+    if ((count >>> BITS) > (1 << this.shift)) {
+      root = new Object[]{this.root, path(this.shift, this.tail)};
+      shift += BITS;
+    } else {
+      root = push(this.shift, this.root, this.tail);
+    }
+    return new PersistentVector(count + 1, shift, root, new Object[]{value});
+  }
+
+  private Object[] push(int level, Object[] parent, Object[] tail) {
+    int at = ((count - 1) >>> level) & MASK;
+    Object[] result = new Object[Math.max(parent.length, at + 1)];
+    System.arraycopy(parent, 0, result, 0, parent.length);
+    Object[] child;
+    if (level == BITS) {
+      child = tail;
+    } else if (at < parent.length) {
+      child = push(level - BITS, (Object[]) parent[at], tail);
+    } else {
+      child = path(level - BITS, tail);
+    }
+    result[at] = child;
+    return result;
+  }
+
+  private static Object[] path(int level, Object[] node) {
+    return level == 0 ? node : new Object[]{path(level - BITS, node)};
+  }
+
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0) {
+      h = super.hashCode();
+      hash = h;
+    }
+    return h;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (o instanceof PersistentVector && (((PersistentVector) o).count != count || o.hashCode() != hashCode())) {
+      return false;
+    }
+    return super.equals(o);
+  }
+}
@@ -80,6 +80,40 @@ public class Primitive extends Value {
     setValue(primitive);
   }
 
+  /**
+   * Used by the specialized primitives, eg. {@link IntPrimitive}, which hold their own value
+   * and override every accessor.
+   */
+  Primitive() {
+  }
+
+  /**
+   * Creates a primitive for a JSON number literal. Literals which are written the way Java
+   * would print them are parsed once into an {@link IntPrimitive}, a {@link LongPrimitive} or a
+   * {@link DoublePrimitive}; the rest keep their representation in a {@link LazilyParsedNumber}.
+   *
+   * @param literal the number literal.
+   * @return a primitive holding the number.
+   */
+  public static Primitive parseNumber(String literal) {
+    try {
+      if (literal.indexOf('.') < 0 && literal.indexOf('e') < 0 && literal.indexOf('E') < 0) {
+        long value = Long.parseLong(literal);
+        if (Long.toString(value).equals(literal)) {
+          return value == (int) value ? new IntPrimitive((int) value) : new LongPrimitive(value);
+        }
+      } else {
+        double value = Double.parseDouble(literal);
+        if (Double.toString(value).equals(literal)) {
+          return new DoublePrimitive(value);
+        }
+      }
+    } catch (NumberFormatException e) {
+      // arbitrary precision numbers are kept as they are
+    }
+    return new Primitive(new LazilyParsedNumber(literal));
+  }
+
   static boolean isPrimitiveOrString(java.lang.Object target) {
     if (target instanceof String) {
       return true;
@@ -95,12 +129,12 @@ public class Primitive extends Value {
   }
 
   /**
-   * Returns true if the specified number is an integral type
+   * Returns true if this primitive is an integral type
    * (Long, Integer, Short, Byte, BigInteger)
    */
-  private static boolean isIntegral(Primitive primitive) {
-    if (primitive.value instanceof Number) {
-      Number number = (Number) primitive.value;
+  boolean isIntegral() {
+    if (value instanceof Number) {
+      Number number = (Number) value;
       return number instanceof BigInteger || number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
     }
     return false;
@@ -251,19 +285,19 @@ public class Primitive extends Value {
 
   @Override
   public int hashCode() {
-    if (value == null) {
-      return 31;
-    }
     // Using recommended hashing algorithm from Effective Java for longs and doubles
-    if (isIntegral(this)) {
-      long value = getAsNumber().longValue();
+    if (isIntegral()) {
+      long value = getAsLong();
       return (int) (value ^ (value >>> 32));
     }
-    if (value instanceof Number) {
-      long value = Double.doubleToLongBits(getAsNumber().doubleValue());
+    if (isNumber()) {
+      long value = Double.doubleToLongBits(getAsDouble());
       return (int) (value ^ (value >>> 32));
     }
-    return value.hashCode();
+    if (isBoolean()) {
+      return getAsBooleanWrapper().hashCode();
+    }
+    return getAsString().hashCode();
   }
 
   @Override
@@ -271,24 +305,25 @@ public class Primitive extends Value {
     if (this == obj) {
       return true;
     }
-    if (obj == null || getClass() != obj.getClass()) {
+    if (!(obj instanceof Primitive)) {
       return false;
     }
+    // the specialized primitives are equal to the generic ones holding the same value
     Primitive other = (Primitive) obj;
-    if (value == null) {
-      return other.value == null;
+    if (isIntegral() && other.isIntegral()) {
+      return getAsLong() == other.getAsLong();
     }
-    if (isIntegral(this) && isIntegral(other)) {
-      return getAsNumber().longValue() == other.getAsNumber().longValue();
-    }
-    if (value instanceof Number && other.value instanceof Number) {
-      double a = getAsNumber().doubleValue();
+    if (isNumber() && other.isNumber()) {
+      double a = getAsDouble();
       // Java standard types other than double return true for two NaN. So, need
       // special handling for double.
-      double b = other.getAsNumber().doubleValue();
+      double b = other.getAsDouble();
       return a == b || (Double.isNaN(a) && Double.isNaN(b));
     }
-    return value.equals(other.value);
+    if (isBoolean() && other.isBoolean()) {
+      return getAsBoolean() == other.getAsBoolean();
+    }
+    return isString() && other.isString() && getAsString().equals(other.getAsString());
   }
 
   @Override
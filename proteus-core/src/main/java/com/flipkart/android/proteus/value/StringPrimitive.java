@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import com.flipkart.android.proteus.toolbox.LazilyParsedNumber;
+
+/**
+ * StringPrimitive
+ *
+ * <p>
+ * A {@link Primitive} holding a {@link String}. The numeric value of the string is parsed once,
+ * the first time it is asked for, instead of on every call.
+ * </p>
+ *
+ * @author adityasharat
+ */
+public class StringPrimitive extends Primitive {
+
+  private static final int PARSED_DOUBLE = 1;
+
+  private static final int PARSED_LONG = 1 << 1;
+
+  private final String value;
+
+  private volatile int parsed;
+
+  private double doubleValue;
+
+  private long longValue;
+
+  private LazilyParsedNumber number;
+
+  public StringPrimitive(String value) {
+    if (null == value) {
+      throw new IllegalArgumentException();
+    }
+    this.value = value;
+  }
+
+  @Override
+  public boolean isString() {
+    return true;
+  }
+
+  @Override
+  public boolean isNumber() {
+    return false;
+  }
+
+  @Override
+  public boolean isBoolean() {
+    return false;
+  }
+
+  @Override
+  public Number getAsNumber() {
+    if (null == number) {
+      number = new LazilyParsedNumber(value);
+    }
+    return number;
+  }
+
+  @Override
+  public boolean getAsBoolean() {
+    return Boolean.parseBoolean(value);
+  }
+
+  @Override
+  public String getAsString() {
+    return value;
+  }
+
+  @Override
+  public double getAsDouble() {
+    if ((parsed & PARSED_DOUBLE) == 0) {
+      doubleValue = Double.parseDouble(value);
+      parsed |= PARSED_DOUBLE;
+    }
+    return doubleValue;
+  }
+
+  @Override
+  public float getAsFloat() {
+    return Float.parseFloat(value);
+  }
+
+  @Override
+  public long getAsLong() {
+    if ((parsed & PARSED_LONG) == 0) {
+      longValue = Long.parseLong(value);
+      parsed |= PARSED_LONG;
+    }
+    return longValue;
+  }
+
+  @Override
+  public int getAsInt() {
+    long value = getAsLong();
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new NumberFormatException("For input string: \"" + this.value + "\"");
+    }
+    return (int) value;
+  }
+}
@@ -22,8 +22,8 @@ import android.util.LruCache;
 
 import com.flipkart.android.proteus.ProteusConstants;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -37,9 +37,9 @@ import androidx.annotation.Nullable;
 public class StyleResource extends Value {
 
   public static final StyleResource NULL = new StyleResource(-1, -1);
-  private static final Map<String, Integer> styleMap = new HashMap<>();
-  private static final Map<String, Integer> attributeMap = new HashMap<>();
-  private static final Map<String, Class> sHashMap = new HashMap<>();
+  private static final Map<String, Integer> styleMap = new ConcurrentHashMap<>();
+  private static final Map<String, Integer> attributeMap = new ConcurrentHashMap<>();
+  private static final Map<String, Class> sHashMap = new ConcurrentHashMap<>();
   private static final String ATTR_START_LITERAL = "?";
 
   public final int styleId;
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Dimension;
+import com.flipkart.android.proteus.value.Primitive;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * BoundAttributeTest
+ *
+ * @author aditya.sharat
+ */
+public class BoundAttributeTest {
+
+  private static BoundAttribute attribute() {
+    return new BoundAttribute(0, Binding.DataBinding.valueOf("a"));
+  }
+
+  @Test
+  public void same_values_are_skipped() throws Exception {
+    BoundAttribute attribute = attribute();
+
+    assertThat(attribute.hasChanged(new Primitive("text")), is(true));
+    assertThat(attribute.hasChanged(new Primitive("text")), is(false));
+    assertThat(attribute.hasChanged(Dimension.valueOf("4dp")), is(true));
+    assertThat(attribute.hasChanged(Dimension.valueOf("4dp")), is(false));
+  }
+
+  @Test
+  public void equal_numbers_which_print_differently_are_applied() throws Exception {
+    BoundAttribute attribute = attribute();
+
+    assertThat(attribute.hasChanged(new Primitive(1)), is(true));
+    assertThat(attribute.hasChanged(new Primitive(1.0)), is(true));
+    assertThat(attribute.hasChanged(new Primitive(1.0)), is(false));
+
+    assertThat(attribute.hasChanged(Primitive.parseNumber("4.50")), is(true));
+    assertThat(attribute.hasChanged(Primitive.parseNumber("4.5")), is(true));
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ParallelInflaterTest
+ *
+ * @author aditya.sharat
+ */
+public class ParallelInflaterTest {
+
+  private static final int CHILDREN = 0;
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  private final Fixture fixture = new Fixture();
+
+  @After
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void keep_the_order_of_forked_and_inflated_children() {
+    Layout first = group(leaf(), leaf(), group(leaf(), leaf(), leaf()));
+    Layout second = group(leaf(), leaf(), leaf());
+    Layout[] children = {leaf(), first, leaf(), second, leaf()};
+    Layout root = group(children);
+
+    ProteusView view = new ParallelInflater(fixture.context, pool, 3).inflate(root, new ObjectValue());
+
+    assertThat(fixture.layouts.get(view), is(root));
+    assertOrder(view, root);
+    // the large subtrees are inflated on the pool, the small ones in place
+    assertThat(fixture.forked.get(find(view, first)), is(true));
+    assertThat(fixture.forked.get(find(view, second)), is(true));
+    assertThat(fixture.forked.get(find(view, children[0])), is(false));
+    assertThat(fixture.forked.get(find(view, children[2])), is(false));
+    assertThat(fixture.forked.get(find(view, children[4])), is(false));
+  }
+
+  @Test
+  public void inflate_small_layouts_in_place() {
+    Layout root = group(leaf(), group(leaf()), leaf());
+
+    ProteusView view = new ParallelInflater(fixture.context, pool, 8).inflate(root, new ObjectValue());
+
+    assertOrder(view, root);
+    for (Boolean forked : fixture.forked.values()) {
+      assertThat(forked, is(false));
+    }
+  }
+
+  private void assertOrder(ProteusView view, Layout layout) {
+    List<Layout> expected = new ArrayList<>();
+    //noinspection ConstantConditions
+    Iterator<Value> iterator = layout.attributes.get(0).value.getAsArray().iterator();
+    while (iterator.hasNext()) {
+      expected.add(iterator.next().getAsLayout());
+    }
+    List<Layout> actual = new ArrayList<>();
+    for (ProteusView child : fixture.getChildren(view)) {
+      actual.add(fixture.layouts.get(child));
+    }
+    assertThat(actual, is(expected));
+    for (ProteusView child : fixture.getChildren(view)) {
+      Layout current = fixture.layouts.get(child);
+      // children of views inflated in place are handled by the parser and not added here
+      if (null != current.attributes && fixture.forked.get(child)) {
+        assertOrder(child, current);
+      }
+    }
+  }
+
+  private ProteusView find(ProteusView view, Layout layout) {
+    for (ProteusView child : fixture.getChildren(view)) {
+      if (fixture.layouts.get(child) == layout) {
+        return child;
+      }
+    }
+    throw new AssertionError("no child for " + layout);
+  }
+
+  private static Layout leaf() {
+    return new Layout("View", null, null, null);
+  }
+
+  private static Layout group(Layout... children) {
+    Array array = new Array();
+    for (Layout child : children) {
+      array.add(child);
+    }
+    List<Layout.Attribute> attributes = new ArrayList<>();
+    attributes.add(new Layout.Attribute(CHILDREN, array));
+    return new Layout("ViewGroup", attributes, null, null);
+  }
+
+  /**
+   * Parsers which record the layout each view was created from, the thread it was created on
+   * and the children added to it.
+   */
+  private static class Fixture {
+
+    final ProteusContext context = mock(ProteusContext.class);
+
+    final Map<ProteusView, Layout> layouts = new ConcurrentHashMap<>();
+
+    final Map<ProteusView, Boolean> forked = new ConcurrentHashMap<>();
+
+    final Map<ProteusView, List<ProteusView>> children = new ConcurrentHashMap<>();
+
+    Fixture() {
+      ViewTypeParser view = parser(View.class);
+      ViewTypeParser group = parser(ViewGroup.class);
+      when(group.getAttributeId(Attributes.ViewGroup.Children)).thenReturn(CHILDREN);
+      when(group.addView(any(ProteusView.class), any(ProteusView.class))).thenAnswer(new Answer<Boolean>() {
+        @Override
+        public Boolean answer(InvocationOnMock invocation) throws Throwable {
+          getChildren((ProteusView) invocation.getArguments()[0]).add((ProteusView) invocation.getArguments()[1]);
+          return true;
+        }
+      });
+      when(context.getParser("View")).thenReturn(view);
+      when(context.getParser("ViewGroup")).thenReturn(group);
+      when(context.getInflater()).thenReturn(new SimpleLayoutInflater(context, new SimpleIdGenerator()));
+    }
+
+    List<ProteusView> getChildren(ProteusView view) {
+      List<ProteusView> list = children.get(view);
+      if (null == list) {
+        list = Collections.synchronizedList(new ArrayList<ProteusView>());
+        children.put(view, list);
+      }
+      return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ViewTypeParser parser(final Class<? extends View> type) {
+      ViewTypeParser parser = mock(ViewTypeParser.class);
+      when(parser.getAttributeId(anyString())).thenReturn(-1);
+      when(parser.handleAttribute(any(View.class), anyInt(), any(Value.class))).thenReturn(false);
+      when(parser.createView(eq(context), any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt())).thenAnswer(new Answer<ProteusView>() {
+        @Override
+        public ProteusView answer(InvocationOnMock invocation) throws Throwable {
+          View view = mock(type, withSettings().extraInterfaces(ProteusView.class));
+          ProteusView.Manager manager = mock(ProteusView.Manager.class);
+          when(manager.getDataContext()).thenReturn(DataContext.create(context, (ObjectValue) invocation.getArguments()[2], -1));
+          when(((ProteusView) view).getViewManager()).thenReturn(manager);
+          when(((ProteusView) view).getAsView()).thenReturn(view);
+          layouts.put((ProteusView) view, (Layout) invocation.getArguments()[1]);
+          forked.put((ProteusView) view, Thread.currentThread() instanceof ForkJoinWorkerThread);
+          return (ProteusView) view;
+        }
+      });
+      return parser;
+    }
+  }
+}
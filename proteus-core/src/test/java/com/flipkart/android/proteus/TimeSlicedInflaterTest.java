@@ -0,0 +1,284 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.exceptions.ProteusInflateException;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * TimeSlicedInflaterTest
+ *
+ * @author aditya.sharat
+ */
+public class TimeSlicedInflaterTest {
+
+  private static final int CHILDREN = 0;
+
+  private final Fixture fixture = new Fixture();
+
+  private final TimeSlicedInflater.Callback callback = mock(TimeSlicedInflater.Callback.class);
+
+  @Test
+  public void inflate_one_child_per_frame_when_the_budget_is_spent() {
+    FakeTask task = fixture.start(group(leaf(), leaf(), leaf()), 0, callback);
+    assertThat(task.getInflatedCount(), is(1));
+    assertThat(task.getPendingCount(), is(3));
+    assertThat(task.frames, is(1));
+
+    task.doFrame(0);
+    assertThat(task.getInflatedCount(), is(2));
+    assertThat(task.getPendingCount(), is(2));
+    assertThat(task.frames, is(2));
+    verify(callback, times(1)).onProgress(task);
+
+    task.doFrame(0);
+    task.doFrame(0);
+    assertThat(task.getInflatedCount(), is(4));
+    assertThat(task.getPendingCount(), is(0));
+    assertThat(task.isComplete(), is(true));
+    assertThat(task.frames, is(3));
+    assertThat(fixture.getChildren(task.getView()).size(), is(3));
+    verify(callback, times(1)).onComplete(task);
+  }
+
+  @Test
+  public void inflate_everything_in_one_frame_within_the_budget() {
+    Layout root = group(leaf(), group(leaf(), leaf()), leaf());
+    FakeTask task = fixture.start(root, Long.MAX_VALUE, callback);
+
+    task.doFrame(0);
+
+    assertThat(task.getInflatedCount(), is(6));
+    assertThat(task.getPendingCount(), is(0));
+    assertThat(task.frames, is(1));
+    verify(callback, never()).onProgress(task);
+    verify(callback, times(1)).onComplete(task);
+    // children are added in order, the nested group gets its own children
+    List<ProteusView> children = fixture.getChildren(task.getView());
+    assertThat(children.size(), is(3));
+    assertThat(fixture.layouts.get(children.get(1)).type, is("ViewGroup"));
+    assertThat(fixture.getChildren(children.get(1)).size(), is(2));
+  }
+
+  @Test
+  public void count_nested_children_once_they_are_reached() {
+    FakeTask task = fixture.start(group(group(leaf(), leaf()), leaf()), 0, callback);
+    assertThat(task.getPendingCount(), is(2));
+
+    task.doFrame(0);
+    // the nested group was inflated and queued its own children
+    assertThat(task.getPendingCount(), is(3));
+  }
+
+  @Test
+  public void complete_layouts_without_children_right_away() {
+    FakeTask task = fixture.start(leaf(), 0, callback);
+
+    assertThat(task.isComplete(), is(true));
+    assertThat(task.frames, is(0));
+    verify(callback, times(1)).onComplete(task);
+  }
+
+  @Test
+  public void cancel() {
+    FakeTask task = fixture.start(group(leaf(), leaf()), 0, callback);
+
+    task.cancel();
+    task.doFrame(0);
+
+    assertThat(task.isCancelled(), is(true));
+    assertThat(task.isComplete(), is(false));
+    assertThat(task.getPendingCount(), is(0));
+    assertThat(task.getInflatedCount(), is(1));
+    assertThat(task.removed, is(1));
+    verify(callback, never()).onComplete(task);
+
+    task.cancel();
+    assertThat(task.removed, is(1));
+  }
+
+  @Test
+  public void report_errors_to_the_callback() {
+    FakeTask task = fixture.start(group(leaf(), new Layout("Broken", null, null, null), leaf()), Long.MAX_VALUE, callback);
+
+    task.doFrame(0);
+
+    assertThat(task.isCancelled(), is(true));
+    assertThat(task.getPendingCount(), is(0));
+    assertThat(task.getInflatedCount(), is(2));
+    assertThat(task.getError().getCause(), sameInstance((Throwable) fixture.broken));
+    verify(callback, times(1)).onError(task, task.getError());
+    verify(callback, never()).onComplete(task);
+    // the views inflated so far remain attached
+    assertThat(fixture.getChildren(task.getView()).size(), is(1));
+  }
+
+  @Test
+  public void pass_inflate_exceptions_through() {
+    Array children = new Array();
+    children.add(leaf());
+    children.add(new Primitive("text"));
+    List<Layout.Attribute> attributes = new ArrayList<>();
+    attributes.add(new Layout.Attribute(CHILDREN, children));
+    FakeTask task = new FakeTask(fixture.context, 0, callback);
+
+    task.start(group(new Layout("ViewGroup", attributes, null, null)), new ObjectValue(), null, -1);
+    task.doFrame(0);
+
+    assertThat(task.isCancelled(), is(true));
+    assertThat(task.getError().getCause(), nullValue());
+    verify(callback, times(1)).onError(eq(task), any(ProteusInflateException.class));
+  }
+
+  private static Layout leaf() {
+    return new Layout("View", null, null, null);
+  }
+
+  private static Layout group(Layout... children) {
+    Array array = new Array();
+    for (Layout child : children) {
+      array.add(child);
+    }
+    List<Layout.Attribute> attributes = new ArrayList<>();
+    attributes.add(new Layout.Attribute(CHILDREN, array));
+    return new Layout("ViewGroup", attributes, null, null);
+  }
+
+  /**
+   * A task which counts the frames it posts instead of using the choreographer.
+   */
+  private static class FakeTask extends TimeSlicedInflater.Task {
+
+    int frames;
+
+    int removed;
+
+    FakeTask(ProteusContext context, long budget, TimeSlicedInflater.Callback callback) {
+      super(context, budget, callback);
+    }
+
+    @Override
+    void schedule() {
+      frames++;
+    }
+
+    @Override
+    void unschedule() {
+      removed++;
+    }
+  }
+
+  /**
+   * Parsers which record the layout each view was created from and the children added to it.
+   */
+  private static class Fixture {
+
+    final ProteusContext context = mock(ProteusContext.class);
+
+    final Map<ProteusView, Layout> layouts = new HashMap<>();
+
+    final Map<ProteusView, List<ProteusView>> children = new HashMap<>();
+
+    final RuntimeException broken = new IllegalStateException("broken");
+
+    Fixture() {
+      ViewTypeParser view = parser(View.class);
+      ViewTypeParser group = parser(ViewGroup.class);
+      when(group.getAttributeId(Attributes.ViewGroup.Children)).thenReturn(CHILDREN);
+      when(group.addView(any(ProteusView.class), any(ProteusView.class))).thenAnswer(new Answer<Boolean>() {
+        @Override
+        public Boolean answer(InvocationOnMock invocation) throws Throwable {
+          getChildren((ProteusView) invocation.getArguments()[0]).add((ProteusView) invocation.getArguments()[1]);
+          return true;
+        }
+      });
+      ViewTypeParser broken = mock(ViewTypeParser.class);
+      when(broken.createView(eq(context), any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt())).thenThrow(this.broken);
+      when(context.getParser("View")).thenReturn(view);
+      when(context.getParser("ViewGroup")).thenReturn(group);
+      when(context.getParser("Broken")).thenReturn(broken);
+      when(context.getInflater()).thenReturn(new SimpleLayoutInflater(context, new SimpleIdGenerator()));
+    }
+
+    FakeTask start(Layout layout, long budget, TimeSlicedInflater.Callback callback) {
+      FakeTask task = new FakeTask(context, budget, callback);
+      task.start(layout, new ObjectValue(), null, -1);
+      return task;
+    }
+
+    List<ProteusView> getChildren(ProteusView view) {
+      List<ProteusView> list = children.get(view);
+      if (null == list) {
+        list = new ArrayList<>();
+        children.put(view, list);
+      }
+      return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ViewTypeParser parser(final Class<? extends View> type) {
+      ViewTypeParser parser = mock(ViewTypeParser.class);
+      when(parser.getAttributeId(anyString())).thenReturn(-1);
+      when(parser.handleAttribute(any(View.class), anyInt(), any(Value.class))).thenReturn(false);
+      when(parser.createView(eq(context), any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt())).thenAnswer(new Answer<ProteusView>() {
+        @Override
+        public ProteusView answer(InvocationOnMock invocation) throws Throwable {
+          View view = mock(type, withSettings().extraInterfaces(ProteusView.class));
+          ProteusView.Manager manager = mock(ProteusView.Manager.class);
+          when(manager.getDataContext()).thenReturn(DataContext.create(context, (ObjectValue) invocation.getArguments()[2], -1));
+          when(((ProteusView) view).getViewManager()).thenReturn(manager);
+          when(((ProteusView) view).getAsView()).thenReturn(view);
+          layouts.put((ProteusView) view, (Layout) invocation.getArguments()[1]);
+          return (ProteusView) view;
+        }
+      });
+      return parser;
+    }
+  }
+}
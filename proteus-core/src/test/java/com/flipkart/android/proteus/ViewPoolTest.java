@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus;
+
+import android.view.View;
+import android.view.ViewParent;
+
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ViewPoolTest
+ *
+ * @author aditya.sharat
+ */
+public class ViewPoolTest {
+
+  private static final Layout A = new Layout("A", null, null, null);
+
+  private static final Layout B = new Layout("B", null, null, null);
+
+  private static ProteusView view(DataContext dataContext) {
+    ProteusView view = mock(ProteusView.class);
+    ProteusView.Manager manager = mock(ProteusView.Manager.class);
+    when(view.getAsView()).thenReturn(mock(View.class));
+    when(view.getViewManager()).thenReturn(manager);
+    when(manager.getDataContext()).thenReturn(dataContext);
+    return view;
+  }
+
+  private static ProteusView view() {
+    return view(null);
+  }
+
+  @Test
+  public void bounded_per_layout_and_in_total() throws Exception {
+    ViewPool pool = new ViewPool(2, 3);
+
+    assertThat(pool.release(A, view()), is(true));
+    assertThat(pool.release(A, view()), is(true));
+    assertThat(pool.release(A, view()), is(false));
+    assertThat(pool.release(B, view()), is(true));
+    assertThat(pool.release(B, view()), is(false));
+    assertThat(pool.size(), is(3));
+  }
+
+  @Test
+  public void acquire_by_layout() throws Exception {
+    ViewPool pool = new ViewPool();
+    ProteusView a = view();
+    ProteusView b = view();
+    pool.release(A, a);
+    pool.release(B, b);
+
+    assertThat(pool.acquire(A), is(a));
+    assertThat(pool.acquire(A), nullValue());
+    assertThat(pool.acquire(B), is(b));
+    assertThat(pool.size(), is(0));
+  }
+
+  @Test
+  public void acquire_updates_the_view() throws Exception {
+    ViewPool pool = new ViewPool();
+    Map<String, Value> scope = new HashMap<>();
+    scope.put("item", Binding.DataBinding.valueOf("items[$index]"));
+    ProteusView view = view(DataContext.create(mock(ProteusContext.class), new ObjectValue(), 0, scope));
+    ObjectValue data = new ObjectValue();
+    pool.release(A, view);
+
+    assertThat(pool.acquire(A, data, 3), is(view));
+    assertThat(view.getViewManager().getDataContext().getIndex(), is(3));
+    verify(view.getViewManager()).update(data);
+  }
+
+  @Test
+  public void refuse_attached_and_pooled_views() throws Exception {
+    ViewPool pool = new ViewPool();
+    ProteusView view = view();
+    Field field = View.class.getDeclaredField("mParent");
+    field.setAccessible(true);
+
+    field.set(view.getAsView(), mock(ViewParent.class));
+    assertThat(pool.release(A, view), is(false));
+
+    field.set(view.getAsView(), null);
+    assertThat(pool.release(A, view), is(true));
+    assertThat(pool.release(A, view), is(false));
+    assertThat(pool.size(), is(1));
+  }
+
+  @Test
+  public void trim_to_size() throws Exception {
+    ViewPool pool = new ViewPool();
+    for (int i = 0; i < 4; i++) {
+      pool.release(A, view());
+      pool.release(B, view());
+    }
+
+    pool.trimToSize(3);
+    assertThat(pool.size(), is(3));
+
+    pool.clear();
+    assertThat(pool.size(), is(0));
+    assertThat(pool.acquire(A), nullValue());
+  }
+}
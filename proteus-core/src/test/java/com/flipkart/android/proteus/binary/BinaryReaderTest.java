@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.binary;
+
+import com.flipkart.android.proteus.FunctionManager;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.Color;
+import com.flipkart.android.proteus.value.Dimension;
+import com.flipkart.android.proteus.value.DrawableValue;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.Null;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.flipkart.android.proteus.value.BindingTest.context;
+import static com.flipkart.android.proteus.value.BindingTest.data;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * BinaryReaderTest
+ *
+ * @author adityasharat
+ */
+public class BinaryReaderTest {
+
+  private static FunctionManager functions() {
+    return context().getFunctionManager();
+  }
+
+  private static Value roundTrip(Value value) {
+    return new BinaryReader(BinaryWriter.toByteArray(value), functions()).read();
+  }
+
+  @Test
+  public void primitives() throws Exception {
+    assertThat(roundTrip(new Primitive(true)).getAsBoolean(), is(true));
+    assertThat(roundTrip(new Primitive(false)).getAsBoolean(), is(false));
+    assertThat(roundTrip(new Primitive(-42)).getAsPrimitive().getAsNumber(), is((Number) (-42)));
+    assertThat(roundTrip(new Primitive(Long.MAX_VALUE)).getAsPrimitive().getAsNumber(), is((Number) Long.MAX_VALUE));
+    assertThat(roundTrip(new Primitive(1.5f)).getAsPrimitive().getAsNumber(), is((Number) 1.5f));
+    assertThat(roundTrip(new Primitive(-2.25)).getAsPrimitive().getAsNumber(), is((Number) (-2.25)));
+    assertThat(roundTrip(new Primitive("héllo")).getAsString(), is("héllo"));
+    assertThat(roundTrip(Null.INSTANCE), is((Value) Null.INSTANCE));
+  }
+
+  @Test
+  public void object_and_array() throws Exception {
+    ObjectValue object = new ObjectValue();
+    object.addProperty("a", "x");
+    Array array = new Array();
+    array.add(1);
+    array.add("x");
+    object.add("b", array);
+
+    Value value = roundTrip(object);
+    assertThat(value.getAsObject().getAsString("a"), is("x"));
+    assertThat(value.getAsObject().getAsArray("b").size(), is(2));
+    assertThat(value.getAsObject().getAsArray("b").get(1).getAsString(), is("x"));
+  }
+
+  @Test
+  public void decoded_arrays_can_grow() throws Exception {
+    Array array = new Array();
+    array.add(1);
+
+    Array decoded = roundTrip(array).getAsArray();
+    decoded.add(2);
+    decoded.add(0, new Primitive(0));
+    decoded.remove(1);
+    assertThat(decoded.size(), is(2));
+    assertThat(decoded.get(0).getAsInt(), is(0));
+    assertThat(decoded.get(1).getAsInt(), is(2));
+  }
+
+  @Test
+  public void bindings() throws Exception {
+    ProteusContext context = context();
+    ObjectValue data = data();
+    Value binding = Binding.valueOf("@{fn:add(@{a.b.c},'1')}", context, context.getFunctionManager());
+
+    Value value = roundTrip(binding);
+    assertThat(value, instanceOf(Binding.FunctionBinding.class));
+    assertThat(value.toString(), is(binding.toString()));
+    assertThat(value.getAsBinding().evaluate(context, data, 0), is(binding.getAsBinding().evaluate(context, data, 0)));
+
+    binding = Binding.valueOf("@{e[$index]}", context, context.getFunctionManager());
+    value = roundTrip(binding);
+    assertThat(value.getAsBinding().evaluate(context, data, 1), is(binding.getAsBinding().evaluate(context, data, 1)));
+
+    ObjectValue nested = new ObjectValue();
+    nested.add("name", binding);
+    value = roundTrip(NestedBinding.valueOf(nested));
+    assertThat(value, instanceOf(NestedBinding.class));
+  }
+
+  @Test
+  public void compiled_values() throws Exception {
+    Dimension dimension = (Dimension) roundTrip(Dimension.valueOf("12dp"));
+    assertThat(dimension.value, is(12d));
+    assertThat(dimension.unit, is(Dimension.DIMENSION_UNIT_DP));
+
+    assertThat(((Color.Int) roundTrip(Color.Int.valueOf(0xFF00FF00))).value, is(0xFF00FF00));
+
+    Color.StateList colors = (Color.StateList) roundTrip(Color.StateList.valueOf(new int[][]{{1, -2}, {}}, new int[]{3, 4}));
+    assertThat(colors.states[0][1], is(-2));
+    assertThat(colors.states[1].length, is(0));
+    assertThat(colors.colors[1], is(4));
+
+    DrawableValue.ShapeValue shape = DrawableValue.ShapeValue.valueOf(1, null, new DrawableValue.DrawableElement[]{
+      DrawableValue.Solid.valueOf(Color.Int.valueOf(7)),
+      DrawableValue.Size.valueOf(Dimension.valueOf("1dp"), Dimension.valueOf("2dp"))
+    });
+    DrawableValue.ShapeValue result = (DrawableValue.ShapeValue) roundTrip(shape);
+    assertThat(result.shape, is(1));
+    assertThat(result.gradient, nullValue());
+    DrawableValue.Solid solid = (DrawableValue.Solid) result.getElements().next();
+    assertThat(((Color.Int) solid.color).value, is(7));
+
+    DrawableValue.RippleValue ripple = (DrawableValue.RippleValue) roundTrip(DrawableValue.RippleValue.valueOf(Color.Int.valueOf(1), null, DrawableValue.UrlValue.valueOf("url"), null));
+    assertThat(ripple.mask, nullValue());
+    assertThat(((DrawableValue.UrlValue) ripple.content).url, is("url"));
+  }
+
+  @Test
+  public void layout() throws Exception {
+    List<Layout.Attribute> attributes = new ArrayList<>();
+    attributes.add(new Layout.Attribute(3, Dimension.valueOf("4dp")));
+    attributes.add(new Layout.Attribute(7, new Primitive("text")));
+    Map<String, Value> data = new HashMap<>();
+    data.put("key", new Primitive(1));
+    ObjectValue extras = new ObjectValue();
+    extras.addProperty("unknown", "text");
+    Layout child = new Layout("TextView", null, null, null);
+    Array children = new Array();
+    children.add(child);
+    attributes.add(new Layout.Attribute(9, children));
+
+    BinaryWriter writer = new BinaryWriter();
+    writer.write(new Primitive("text"));
+    int offset = writer.write(new Layout("LinearLayout", attributes, data, extras));
+    BinaryReader reader = new BinaryReader(ByteBuffer.wrap(writer.toByteArray()), functions());
+
+    Layout layout = reader.readLayout(offset);
+    assertThat(layout.type, is("LinearLayout"));
+    assertThat(layout.attributes.size(), is(3));
+    assertThat(layout.attributes.get(0).id, is(3));
+    assertThat(((Dimension) layout.attributes.get(0).value).unit, is(Dimension.DIMENSION_UNIT_DP));
+    assertThat(layout.attributes.get(1).value.getAsString(), is("text"));
+    assertThat(layout.data.get("key").getAsInt(), is(1));
+    assertThat(layout.extras.getAsString("unknown"), is("text"));
+    Layout inner = layout.attributes.get(2).value.getAsArray().get(0).getAsLayout();
+    assertThat(inner.type, is("TextView"));
+    assertThat(inner.attributes, nullValue());
+    assertThat(inner.data, nullValue());
+    assertThat(inner.extras, nullValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalid_magic() throws Exception {
+    new BinaryReader(new byte[]{1, 2, 3, 4, 5}, functions());
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.binary;
+
+import com.flipkart.android.proteus.ProteusBuilder;
+import com.flipkart.android.proteus.value.Layout;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+/**
+ * BundleLayoutManagerTest
+ *
+ * @author adityasharat
+ */
+public class BundleLayoutManagerTest {
+
+  @Test
+  public void get_decodes_lazily_and_caches() throws Exception {
+    File file = File.createTempFile("layouts", ".bin");
+    file.deleteOnExit();
+
+    BundleWriter writer = new BundleWriter();
+    writer.addLayout("a", new Layout("TextView", null, null, null));
+    writer.addLayout("b", new Layout("FrameLayout", null, null, null));
+    FileOutputStream out = new FileOutputStream(file);
+    writer.writeTo(out);
+    out.close();
+
+    BundleLayoutManager manager = BundleLayoutManager.map(file, new ProteusBuilder().build(), 1);
+
+    Layout a = manager.get("a");
+    assertThat(a.type, is("TextView"));
+    assertThat(manager.get("a"), sameInstance(a));
+
+    assertThat(manager.get("b").type, is("FrameLayout"));
+    assertThat(manager.get("c"), nullValue());
+    assertThat(manager.getLayouts().size(), is(2));
+  }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.managers;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.BoundAttribute;
+import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.toolbox.Attributes;
+import com.flipkart.android.proteus.toolbox.JsonPatch;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.BindingTest;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.ObservableObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+import static org.mockito.Mockito.when;
+
+/**
+ * ViewManagerTest
+ *
+ * @author adityasharat
+ */
+public class ViewManagerTest {
+
+  private static Layout layout(ProteusContext context, String... values) {
+    List<Layout.Attribute> attributes = new ArrayList<>();
+    for (int i = 0; i < values.length; i++) {
+      Value value = new Primitive(values[i]);
+      if (Binding.isBindingValue(values[i])) {
+        value = Binding.valueOf(values[i], context, context.getFunctionManager());
+      }
+      attributes.add(new Layout.Attribute(i, value));
+    }
+    return new Layout("View", attributes, null, null);
+  }
+
+  @Test
+  public void update_affected_paths() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    View view = mock(View.class);
+    Layout layout = layout(context, "@{a.b.c}", "@{e[0]}", "@{fn:add(@{a.b.c},@{e[1]})}", "plain");
+    ObjectValue data = BindingTest.data();
+    ViewManager manager = new ViewManager(context, parser, view, layout, DataContext.create(context, data, 0));
+
+    data.getAsObject("a").getAsObject("b").addProperty("c", 11);
+    manager.update(Collections.singleton("a.b.c"));
+
+    verify(parser, times(1)).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parser, never()).handleAttribute(eq(view), eq(1), any(Value.class));
+    verify(parser, times(1)).handleAttribute(eq(view), eq(2), any(Value.class));
+
+    data.getAsArray("e").set(1, new Primitive(3));
+    manager.update(Collections.singleton("e"));
+
+    verify(parser, times(1)).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parser, times(1)).handleAttribute(eq(view), eq(1), any(Value.class));
+    verify(parser, times(2)).handleAttribute(eq(view), eq(2), any(Value.class));
+
+    manager.update(Collections.singleton("x.y"));
+
+    verify(parser, times(4)).handleAttribute(eq(view), anyInt(), any(Value.class));
+    verify(parser, never()).handleAttribute(eq(view), eq(3), any(Value.class));
+  }
+
+  @Test
+  public void update_path_value() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    View view = mock(View.class);
+    ObjectValue data = BindingTest.data();
+    Layout layout = layout(context, "@{a.b.c}", "@{e[0]}");
+    ViewManager manager = new ViewManager(context, parser, view, layout, DataContext.create(context, data, 0));
+
+    manager.update("e[0]", new Primitive("beta"));
+
+    assertThat(data.getAsArray("e").get(0).getAsString(), is("beta"));
+    verify(parser, never()).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parser, times(1)).handleAttribute(eq(view), eq(1), any(Value.class));
+  }
+
+  @Test
+  public void observe() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    View view = mock(View.class);
+    ObservableObjectValue data = ObservableObjectValue.valueOf(BindingTest.data());
+    Layout layout = layout(context, "@{a.b.c}", "@{e[0]}");
+    ViewManager manager = new ViewManager(context, parser, view, layout, DataContext.create(context, data, 0));
+
+    assertThat(manager.observe(), is(true));
+
+    data.getAsArray("e").set(0, new Primitive("beta"));
+    manager.update("a.b.c", new Primitive(20));
+
+    verify(parser, times(1)).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parser, times(1)).handleAttribute(eq(view), eq(1), any(Value.class));
+
+    manager.unobserve();
+    data.getAsArray("e").set(0, new Primitive("gamma"));
+
+    verify(parser, times(1)).handleAttribute(eq(view), eq(1), any(Value.class));
+  }
+
+  @Test
+  public void skip_unchanged_values() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    View view = mock(View.class);
+    ObjectValue data = BindingTest.data();
+    Layout layout = layout(context, "@{a.b.c}", "@{a}");
+    ViewManager manager = new ViewManager(context, parser, view, layout, DataContext.create(context, data, 0));
+
+    BoundAttribute.resetCounts();
+    manager.update(data);
+    manager.update(data);
+    data.getAsObject("a").getAsObject("b").addProperty("c", 11);
+    manager.update(data);
+
+    verify(parser, times(2)).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parser, times(3)).handleAttribute(eq(view), eq(1), any(Value.class));
+    assertThat(BoundAttribute.getSkippedCount(), is(1L));
+    assertThat(BoundAttribute.getAppliedCount(), is(5L));
+  }
+
+  @Test
+  public void render_patch() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    View view = mock(View.class);
+    ObjectValue data = BindingTest.data();
+    Layout layout = layout(context, "@{a.b.c}", "@{e[0]}");
+    ViewManager manager = new ViewManager(context, parser, view, layout, DataContext.create(context, data, 0));
+    ProteusView proteusView = mock(ProteusView.class);
+    when(proteusView.getViewManager()).thenReturn(manager);
+
+    manager.update(data);
+    ObjectValue next = data.copy();
+    next.getAsObject("a").getAsObject("b").addProperty("c", 42);
+    RenderPatch patch = RenderPatch.create(proteusView, next);
+
+    assertThat(patch.size(), is(3));
+    assertThat(manager.getDataContext().getData(), is(data));
+    verify(parser, times(1)).handleAttribute(eq(view), eq(0), any(Value.class));
+
+    patch.apply();
+
+    assertThat(manager.getDataContext().getData(), is(next));
+    verify(parser, times(1)).handleAttribute(view, 0, new Primitive(42));
+    verify(parser, times(1)).handleAttribute(eq(view), eq(1), any(Value.class));
+  }
+
+  @Test
+  public void refresh() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    View view = mock(View.class);
+    ObjectValue data = BindingTest.data();
+    Layout layout = layout(context, "@{a.b.c}", "@{e[0]}");
+    ViewManager manager = new ViewManager(context, parser, view, layout, DataContext.create(context, data, 0));
+
+    ObjectValue next = BindingTest.data();
+    next.getAsObject("a").getAsObject("b").addProperty("c", 42);
+    manager.refresh(next, null);
+
+    assertThat(manager.getDataContext().getData(), is(next));
+    verify(parser, times(1)).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parser, never()).handleAttribute(eq(view), eq(1), any(Value.class));
+  }
+
+  @Test
+  public void refresh_hands_the_data_to_child_views() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ObjectValue data = BindingTest.data();
+    ViewGroup view = mock(ViewGroup.class);
+    ViewGroupManager manager = new ViewGroupManager(context, mock(ViewTypeParser.class), view, layout(context, "@{a.b.c}"), DataContext.create(context, data, 0));
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    View child = mock(View.class, withSettings().extraInterfaces(ProteusView.class));
+    ViewManager childManager = new ViewManager(context, parser, child, layout(context, "@{e[0]}"), manager.getDataContext().copy());
+    when(((ProteusView) child).getViewManager()).thenReturn(childManager);
+    when(view.getChildCount()).thenReturn(1);
+    when(view.getChildAt(0)).thenReturn(child);
+
+    // nothing changed
+    ObjectValue next = data.copy();
+    manager.refresh(next, null);
+
+    assertThat(childManager.getDataContext().getData(), sameInstance(next));
+    verify(parser, never()).handleAttribute(eq(child), anyInt(), any(Value.class));
+
+    next = next.copy();
+    next.getAsArray("e").set(0, new Primitive("beta"));
+    manager.refresh(next, null);
+
+    assertThat(childManager.getDataContext().getData(), sameInstance(next));
+    verify(parser, times(1)).handleAttribute(eq(child), eq(0), any(Value.class));
+  }
+
+  @Test
+  public void patch() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    View view = mock(View.class);
+    Layout layout = layout(context, "@{a.b.c}", "@{e[0]}");
+    ViewManager manager = new ViewManager(context, parser, view, layout, DataContext.create(context, BindingTest.data(), 0));
+
+    ObjectValue operation = new ObjectValue();
+    operation.addProperty(JsonPatch.OP, JsonPatch.OP_REPLACE);
+    operation.addProperty(JsonPatch.PATH, "/a/b/c");
+    operation.addProperty(JsonPatch.VALUE, 42);
+    Array patch = new Array();
+    patch.add(operation);
+    manager.patch(patch);
+
+    assertThat(manager.getDataContext().getData().getAsObject("a").getAsObject("b").getAsInteger("c"), is(42));
+    verify(parser, times(1)).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parser, never()).handleAttribute(eq(view), eq(1), any(Value.class));
+  }
+
+  @Test
+  public void update_item_of_data_bound_children() throws Exception {
+    ProteusContext context = BindingTest.context();
+    ObjectValue data = new ObjectValue();
+    Array items = new Array();
+    for (String title : new String[]{"a", "b", "c"}) {
+      ObjectValue item = new ObjectValue();
+      item.addProperty("title", title);
+      items.add(item);
+    }
+    data.add("items", items);
+
+    ObjectValue config = new ObjectValue();
+    config.add(ProteusConstants.COLLECTION, Binding.valueOf("@{items}", context, context.getFunctionManager()));
+    config.add(ProteusConstants.LAYOUT, layout(context, "@{item.title}"));
+    List<Layout.Attribute> attributes = new ArrayList<>();
+    attributes.add(new Layout.Attribute(0, NestedBinding.valueOf(config)));
+    ViewTypeParser parser = mock(ViewTypeParser.class);
+    when(parser.getAttributeId(Attributes.ViewGroup.Children)).thenReturn(0);
+    ViewGroup view = mock(ViewGroup.class);
+    ViewGroupManager manager = new ViewGroupManager(context, parser, view, new Layout("ViewGroup", attributes, null, null), DataContext.create(context, data, 0));
+    manager.hasDataBoundChildren = true;
+    manager.collection = "items";
+
+    Map<String, Value> scope = new HashMap<>();
+    scope.put("item", Binding.valueOf("@{items[$index]}", context, context.getFunctionManager()));
+    ViewTypeParser[] parsers = new ViewTypeParser[items.size()];
+    View[] children = new View[items.size()];
+    for (int i = 0; i < children.length; i++) {
+      parsers[i] = mock(ViewTypeParser.class);
+      children[i] = mock(View.class, withSettings().extraInterfaces(ProteusView.class));
+      ViewManager child = new ViewManager(context, parsers[i], children[i], layout(context, "@{item.title}"), manager.getDataContext().createChild(context, scope, i));
+      when(((ProteusView) children[i]).getViewManager()).thenReturn(child);
+      when(view.getChildAt(i)).thenReturn(children[i]);
+    }
+    when(view.getChildCount()).thenReturn(children.length);
+
+    // a change inside an item only updates the child of the item
+    items.get(1).getAsObject().addProperty("title", "x");
+    manager.update(Collections.singleton("items[1].title"));
+
+    verify(parser, never()).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parsers[0], never()).handleAttribute(eq(children[0]), anyInt(), any(Value.class));
+    verify(parsers[1], times(1)).handleAttribute(eq(children[1]), eq(0), any(Value.class));
+    verify(parsers[2], never()).handleAttribute(eq(children[2]), anyInt(), any(Value.class));
+    assertThat(((ProteusView) children[1]).getViewManager().getDataContext().getData().getAsObject("item").getAsString("title"), is("x"));
+
+    // replacing an item evaluates the scope of its child again
+    ObjectValue item = new ObjectValue();
+    item.addProperty("title", "y");
+    manager.update("items[2]", item);
+
+    verify(parser, never()).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parsers[2], times(1)).handleAttribute(eq(children[2]), eq(0), any(Value.class));
+    verify(parsers[0], never()).handleAttribute(eq(children[0]), anyInt(), any(Value.class));
+    assertThat(((ProteusView) children[2]).getViewManager().getDataContext().getData().getAsObject("item").getAsString("title"), is("y"));
+
+    // a change to the collection reconciles the children
+    manager.update(Collections.singleton("items"));
+
+    verify(parser, times(1)).handleAttribute(eq(view), eq(0), any(Value.class));
+    verify(parsers[0], never()).handleAttribute(eq(children[0]), anyInt(), any(Value.class));
+  }
+}
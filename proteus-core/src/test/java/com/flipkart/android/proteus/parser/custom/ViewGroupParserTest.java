@@ -0,0 +1,270 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.parser.custom;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusLayoutInflater;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewPool;
+import com.flipkart.android.proteus.managers.ViewGroupManager;
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.BindingTest;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.NestedBinding;
+import com.flipkart.android.proteus.value.ObjectValue;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ViewGroupParserTest
+ *
+ * @author aditya.sharat
+ */
+public class ViewGroupParserTest {
+
+  static void setParent(View view, ViewParent parent) throws Exception {
+    Field field = View.class.getDeclaredField("mParent");
+    field.setAccessible(true);
+    field.set(view, parent);
+  }
+
+  @Test
+  public void insert_at_top() throws Exception {
+    Fixture fixture = new Fixture(null);
+    fixture.update("a", "b", "c");
+    List<View> before = new ArrayList<>(fixture.children);
+
+    fixture.update("z", "a", "b", "c");
+
+    assertThat(fixture.getKeys(), is(Arrays.asList("z", "a", "b", "c")));
+    assertThat(fixture.children.subList(1, 4), is(before));
+    assertThat(fixture.inflated, is(4));
+    verify(fixture.view, never()).removeViews(anyInt(), anyInt());
+  }
+
+  @Test
+  public void reorder() throws Exception {
+    Fixture fixture = new Fixture(null);
+    fixture.update("a", "b", "c", "d");
+    View a = fixture.children.get(0);
+
+    fixture.update("b", "c", "d", "a");
+
+    assertThat(fixture.getKeys(), is(Arrays.asList("b", "c", "d", "a")));
+    assertThat(fixture.children.get(3), is(a));
+    assertThat(fixture.inflated, is(4));
+    // b, c and d keep their relative order, only a is moved
+    verify(fixture.view, times(1)).removeViews(0, 1);
+    verify(fixture.view, times(1)).removeViews(anyInt(), anyInt());
+  }
+
+  @Test
+  public void duplicate_keys() throws Exception {
+    Fixture fixture = new Fixture(null);
+    fixture.update("a", "b");
+    View a = fixture.children.get(0);
+    View b = fixture.children.get(1);
+
+    fixture.update("a", "a", "b");
+
+    assertThat(fixture.getKeys(), is(Arrays.asList("a", "a", "b")));
+    assertThat(fixture.children.get(0), is(a));
+    assertThat(fixture.children.get(2), is(b));
+    assertThat(fixture.inflated, is(3));
+  }
+
+  @Test
+  public void remove() throws Exception {
+    Fixture fixture = new Fixture(null);
+    fixture.update("a", "b", "c", "d");
+    View a = fixture.children.get(0);
+    View d = fixture.children.get(3);
+
+    fixture.update("a", "d");
+
+    assertThat(fixture.children, is(Arrays.asList(a, d)));
+    assertThat(fixture.inflated, is(4));
+    // adjacent children are removed together
+    verify(fixture.view, times(1)).removeViews(1, 2);
+  }
+
+  @Test
+  public void reuse_removed_children() throws Exception {
+    ViewPool pool = new ViewPool();
+    Fixture fixture = new Fixture(pool);
+    fixture.update("a", "b");
+    View b = fixture.children.get(1);
+
+    fixture.update("a");
+    assertThat(pool.size(), is(1));
+
+    fixture.update("a", "c");
+    assertThat(pool.size(), is(0));
+    assertThat(fixture.children.get(1), is(b));
+    assertThat(fixture.inflated, is(2));
+    verify(((ProteusView) b).getViewManager(), times(1)).update(any(ObjectValue.class));
+  }
+
+  /**
+   * A data bound view group whose children are kept in a list.
+   */
+  private static class Fixture {
+
+    final List<View> children = new ArrayList<>();
+
+    final Map<View, String> keys = new HashMap<>();
+
+    final ProteusContext context = mock(ProteusContext.class);
+
+    final ViewGroup view = mock(ViewGroup.class, withSettings().extraInterfaces(ProteusView.class));
+
+    final ViewGroupParser<ViewGroup> parser = new ViewGroupParser<>();
+
+    final ViewGroupManager manager;
+
+    final Binding binding;
+
+    int inflated;
+
+    Fixture(ViewPool pool) {
+      ProteusContext proteus = BindingTest.context();
+      ObjectValue config = new ObjectValue();
+      config.add(ProteusConstants.COLLECTION, Binding.valueOf("@{items}", proteus, proteus.getFunctionManager()));
+      config.add(ProteusConstants.KEY, Binding.valueOf("@{items[$index].id}", proteus, proteus.getFunctionManager()));
+      config.add(ProteusConstants.LAYOUT, new Layout("View", null, null, null));
+      binding = NestedBinding.valueOf(config);
+
+      ProteusLayoutInflater inflater = mock(ProteusLayoutInflater.class);
+      when(context.getInflater()).thenReturn(inflater);
+      when(context.getViewPool()).thenReturn(pool);
+      manager = new ViewGroupManager(context, parser, view, new Layout("ViewGroup", null, null, null), DataContext.create(context, new ObjectValue(), 0));
+      when(((ProteusView) view).getViewManager()).thenReturn(manager);
+
+      when(inflater.inflate(any(Layout.class), any(ObjectValue.class), any(ViewGroup.class), anyInt())).thenAnswer(new Answer<ProteusView>() {
+        @Override
+        public ProteusView answer(InvocationOnMock invocation) throws Throwable {
+          ObjectValue data = (ObjectValue) invocation.getArguments()[1];
+          int index = (Integer) invocation.getArguments()[3];
+          return inflate(data.getAsArray("items").get(index).getAsObject().getAsString("id"));
+        }
+      });
+      when(view.getChildCount()).thenAnswer(new Answer<Integer>() {
+        @Override
+        public Integer answer(InvocationOnMock invocation) throws Throwable {
+          return children.size();
+        }
+      });
+      when(view.getChildAt(anyInt())).thenAnswer(new Answer<View>() {
+        @Override
+        public View answer(InvocationOnMock invocation) throws Throwable {
+          return children.get((Integer) invocation.getArguments()[0]);
+        }
+      });
+      doAnswer(new Answer<Void>() {
+        @Override
+        public Void answer(InvocationOnMock invocation) throws Throwable {
+          View child = (View) invocation.getArguments()[0];
+          setParent(child, view);
+          children.add(child);
+          return null;
+        }
+      }).when(view).addView(any(View.class));
+      doAnswer(new Answer<Void>() {
+        @Override
+        public Void answer(InvocationOnMock invocation) throws Throwable {
+          View child = (View) invocation.getArguments()[0];
+          setParent(child, view);
+          children.add((Integer) invocation.getArguments()[1], child);
+          return null;
+        }
+      }).when(view).addView(any(View.class), anyInt());
+      doAnswer(new Answer<Void>() {
+        @Override
+        public Void answer(InvocationOnMock invocation) throws Throwable {
+          int start = (Integer) invocation.getArguments()[0];
+          int count = (Integer) invocation.getArguments()[1];
+          List<View> removed = children.subList(start, start + count);
+          for (View child : removed) {
+            setParent(child, null);
+          }
+          removed.clear();
+          return null;
+        }
+      }).when(view).removeViews(anyInt(), anyInt());
+    }
+
+    ProteusView inflate(String key) {
+      View child = mock(View.class, withSettings().extraInterfaces(ProteusView.class));
+      ProteusView.Manager manager = mock(ProteusView.Manager.class);
+      when(manager.getDataContext()).thenReturn(DataContext.create(context, new ObjectValue(), 0));
+      when(((ProteusView) child).getViewManager()).thenReturn(manager);
+      when(((ProteusView) child).getAsView()).thenReturn(child);
+      keys.put(child, key);
+      inflated++;
+      return (ProteusView) child;
+    }
+
+    void update(String... ids) {
+      Array items = new Array();
+      for (String id : ids) {
+        ObjectValue item = new ObjectValue();
+        item.addProperty("id", id);
+        items.add(item);
+      }
+      ObjectValue data = new ObjectValue();
+      data.add("items", items);
+      manager.getDataContext().setData(data);
+      parser.handleDataBoundChildren(view, binding);
+    }
+
+    List<String> getKeys() {
+      List<String> list = new ArrayList<>();
+      for (View child : children) {
+        list.add(keys.get(child));
+      }
+      return list;
+    }
+  }
+}
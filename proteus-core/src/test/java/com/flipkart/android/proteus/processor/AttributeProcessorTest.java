@@ -0,0 +1,289 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.processor;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.flipkart.android.proteus.DataContext;
+import com.flipkart.android.proteus.Function;
+import com.flipkart.android.proteus.ProteusConstants;
+import com.flipkart.android.proteus.ProteusContext;
+import com.flipkart.android.proteus.ProteusLayoutInflater;
+import com.flipkart.android.proteus.ProteusView;
+import com.flipkart.android.proteus.ViewTypeParser;
+import com.flipkart.android.proteus.managers.ViewManager;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.BindingTest;
+import com.flipkart.android.proteus.value.Color;
+import com.flipkart.android.proteus.value.Dimension;
+import com.flipkart.android.proteus.value.DrawableValue;
+import com.flipkart.android.proteus.value.Layout;
+import com.flipkart.android.proteus.value.Null;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+import androidx.annotation.NonNull;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * AttributeProcessorTest
+ *
+ * @author aditya.sharat
+ */
+public class AttributeProcessorTest {
+
+  private static final int ITERATIONS = 10000;
+
+  /**
+   * @return the bytes allocated by the current thread, or {@code -1} if the JVM cannot count them.
+   */
+  private static long getAllocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    try {
+      // only available on HotSpot based JVMs
+      Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+      if (!type.isInstance(bean)) {
+        return -1;
+      }
+      Method method = type.getMethod("getThreadAllocatedBytes", long.class);
+      return (Long) method.invoke(bean, Thread.currentThread().getId());
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Runs the loop once to warm it up, then returns the bytes it allocates per iteration.
+   * The test is skipped if the JVM cannot count allocated bytes.
+   */
+  private static double getAllocatedBytesPerIteration(Runnable loop) {
+    Assume.assumeTrue(getAllocatedBytes() >= 0);
+    loop.run();
+    long before = getAllocatedBytes();
+    loop.run();
+    return (getAllocatedBytes() - before) / (double) ITERATIONS;
+  }
+
+  private static ProteusView view() {
+    ProteusContext context = BindingTest.context();
+    final View view = mock(View.class);
+    final ProteusView.Manager manager = new ViewManager(context, mock(ViewTypeParser.class), view,
+      new Layout("View", null, null, null), DataContext.create(context, BindingTest.data(), 0));
+    return new ProteusView() {
+      @Override
+      public Manager getViewManager() {
+        return manager;
+      }
+
+      @Override
+      public void setViewManager(@NonNull Manager manager) {
+      }
+
+      @Override
+      public View getAsView() {
+        return view;
+      }
+    };
+  }
+
+  private static Value ternary(Value value) {
+    return new Binding.FunctionBinding(Function.TERNARY, new Value[]{ProteusConstants.TRUE, value, Null.INSTANCE});
+  }
+
+  private static Value compile(String string, Context context) {
+    ProteusContext proteus = (ProteusContext) context;
+    return AttributeProcessor.staticPreCompile(new Primitive(string), context, proteus.getFunctionManager());
+  }
+
+  @Test
+  public void fold_constant_function() throws Exception {
+    Value value = compile("@{fn:add(1,2)}", BindingTest.context());
+
+    assertThat(value.isBinding(), is(false));
+    assertThat(value.getAsDouble(), is(3.0));
+  }
+
+  @Test
+  public void fold_nested_constant_function() throws Exception {
+    Value value = compile("@{fn:format('%s items', @{fn:length('abc')})}", BindingTest.context());
+
+    assertThat(value.isBinding(), is(false));
+    assertThat(value.getAsString(), is("3 items"));
+  }
+
+  @Test
+  public void fold_partially_constant_function() throws Exception {
+    ProteusContext context = BindingTest.context();
+    Value value = compile("@{fn:add(@{a.b.c},@{fn:add(1,2)})}", context);
+
+    assertThat(value.isBinding(), is(true));
+    assertThat(value.toString(), is("@{fn:add(@{a.b.c},'3.0')}"));
+    assertThat(value.getAsBinding().evaluate(context, BindingTest.data(), 0).getAsDouble(), is(13.0));
+  }
+
+  @Test
+  public void fold_impure_function() throws Exception {
+    Function impure = new Function() {
+      @NonNull
+      @Override
+      public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
+        return new Primitive(dataIndex);
+      }
+
+      @Override
+      public String getName() {
+        return "impure";
+      }
+    };
+    Binding binding = new Binding.FunctionBinding(impure, new Value[]{new Primitive(1)});
+
+    assertThat(AttributeProcessor.fold(binding, null) == binding, is(true));
+  }
+
+  @Test
+  public void do_not_fold_locale_dependent_function() throws Exception {
+    ProteusContext context = BindingTest.context();
+    Locale locale = Locale.getDefault();
+    try {
+      // the result would differ between the locales, so it is formatted on the device
+      for (Locale compiler : new Locale[]{Locale.US, Locale.GERMANY}) {
+        Locale.setDefault(compiler);
+        Value value = compile("@{fn:number(1234567)}", context);
+        assertThat(value.isBinding(), is(true));
+        assertThat(value.toString(), is("@{fn:number('1234567')}"));
+      }
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+
+  @Test
+  public void precompile_folded_value() throws Exception {
+    ProteusContext context = BindingTest.context();
+    AttributeProcessor<View> processor = new StringAttributeProcessor<View>() {
+      @Override
+      public void setString(View view, String value) {
+      }
+    };
+
+    Value value = processor.precompile(new Primitive("@{fn:trim(' abc ')}"), context, context.getFunctionManager());
+
+    assertThat(value.getAsString(), is("abc"));
+  }
+
+  @Test
+  public void evaluate_does_not_allocate() throws Exception {
+    final ObjectValue data = BindingTest.data();
+    final Value value = new Primitive("value");
+    final Value binding = ternary(value);
+    final Value[] result = new Value[1];
+
+    double allocated = getAllocatedBytesPerIteration(new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < ITERATIONS; i++) {
+          result[0] = AttributeProcessor.evaluate(null, binding, data, 0);
+          result[0] = AttributeProcessor.evaluate(null, result[0], data, 0);
+        }
+      }
+    });
+
+    assertThat(result[0], sameInstance(value));
+    // any allocation per evaluation would be at least 16 bytes, this leaves room for the JIT
+    assertThat(allocated < 1, is(true));
+  }
+
+  @Test
+  public void evaluate_dimension_does_not_allocate() throws Exception {
+    final ProteusView view = view();
+    final Value binding = ternary(Dimension.valueOf(Dimension.MATCH_PARENT));
+    final float[] result = new float[1];
+
+    double allocated = getAllocatedBytesPerIteration(new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < ITERATIONS; i++) {
+          result[0] = DimensionAttributeProcessor.evaluate(binding, view);
+        }
+      }
+    });
+
+    assertThat(result[0], is((float) ViewGroup.LayoutParams.MATCH_PARENT));
+    assertThat(allocated < 1, is(true));
+  }
+
+  @Test
+  public void evaluate_color_only_allocates_the_result() throws Exception {
+    final ProteusView view = view();
+    final Value binding = ternary(Color.Int.valueOf(0xFF00FF00));
+    final Color.Result[] result = new Color.Result[1];
+
+    double allocated = getAllocatedBytesPerIteration(new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < ITERATIONS; i++) {
+          result[0] = ColorResourceProcessor.evaluate(binding, view);
+        }
+      }
+    });
+
+    assertThat(result[0].color, is(0xFF00FF00));
+    // the returned Color.Result is the only allocation, it is at most 32 bytes
+    assertThat(allocated <= 32, is(true));
+  }
+
+  @Test
+  public void evaluate_drawable_does_not_allocate() throws Exception {
+    final ProteusView view = view();
+    final Drawable drawable = mock(Drawable.class);
+    final Value binding = ternary(new DrawableValue() {
+      @Override
+      public void apply(ProteusView view, Context context, ProteusLayoutInflater.ImageLoader loader, Callback callback) {
+        callback.apply(drawable);
+      }
+    });
+    final Drawable[] result = new Drawable[1];
+
+    double allocated = getAllocatedBytesPerIteration(new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < ITERATIONS; i++) {
+          result[0] = DrawableResourceProcessor.evaluate(binding, view);
+        }
+      }
+    });
+
+    assertThat(result[0], sameInstance(drawable));
+    assertThat(allocated < 1, is(true));
+  }
+}
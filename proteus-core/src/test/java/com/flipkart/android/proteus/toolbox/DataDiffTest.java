@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.BindingTest;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.PersistentObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * DataDiffTest
+ *
+ * @author aditya.sharat
+ */
+public class DataDiffTest {
+
+  private static ObjectValue item(int id, String name) {
+    ObjectValue item = new ObjectValue();
+    item.addProperty("id", id);
+    item.addProperty("name", name);
+    return item;
+  }
+
+  private static ObjectValue items(ObjectValue... items) {
+    Array array = new Array();
+    for (ObjectValue item : items) {
+      array.add(item);
+    }
+    ObjectValue data = new ObjectValue();
+    data.add("items", array);
+    return data;
+  }
+
+  @Test
+  public void objects() throws Exception {
+    ObjectValue previous = BindingTest.data();
+    ObjectValue data = BindingTest.data();
+
+    assertThat(DataDiff.diff(previous, data, null).isEmpty(), is(true));
+
+    data.getAsObject("a").getAsObject("b").addProperty("c", 11);
+    data.getAsArray("e").set(2, new Primitive(true));
+    data.remove("f");
+    data.addProperty("h", "new");
+    data.getAsObject("a").getAsObject("b").addProperty("d", true);
+
+    assertThat(DataDiff.diff(previous, data, null).toString(), is("[a.b.c, e.2, f, h]"));
+  }
+
+  @Test
+  public void numbers_which_print_differently() throws Exception {
+    ObjectValue previous = new ObjectValue();
+    previous.addProperty("n", 5);
+    ObjectValue data = new ObjectValue();
+    data.addProperty("n", 5.0);
+
+    assertThat(DataDiff.diff(previous, data, null).toString(), is("[n]"));
+  }
+
+  @Test
+  public void arrays() throws Exception {
+    ObjectValue previous = items(item(1, "one"), item(2, "two"));
+
+    assertThat(DataDiff.diff(previous, items(item(1, "one"), item(2, "TWO")), "id").toString(), is("[items.1.name]"));
+    assertThat(DataDiff.diff(previous, items(item(1, "one")), "id").toString(), is("[items]"));
+    assertThat(DataDiff.diff(previous, items(item(2, "two"), item(1, "one")), "id").toString(), is("[items]"));
+    assertThat(DataDiff.diff(previous, items(item(2, "two"), item(1, "one")), null).toString(), is("[items.0.id, items.0.name, items.1.id, items.1.name]"));
+  }
+
+  @Test
+  public void persistent_versions() throws Exception {
+    PersistentObjectValue previous = PersistentObjectValue.valueOf(BindingTest.data());
+    PersistentObjectValue a = (PersistentObjectValue) previous.getAsObject("a");
+    PersistentObjectValue data = previous.with("a", a.with("x", new Primitive(1)));
+
+    assertThat(DataDiff.diff(previous, data, null).toString(), is("[a.x]"));
+    assertThat(DataDiff.diff(previous, PersistentObjectValue.valueOf(BindingTest.data()), null).isEmpty(), is(true));
+  }
+
+  @Test
+  public void persistent_numbers_which_print_differently() throws Exception {
+    ObjectValue previous = new ObjectValue();
+    previous.add("n", Primitive.parseNumber("1e2"));
+    ObjectValue data = new ObjectValue();
+    data.addProperty("n", 100.0);
+
+    assertThat(DataDiff.diff(PersistentObjectValue.valueOf(previous), PersistentObjectValue.valueOf(data), null).toString(), is("[n]"));
+  }
+}
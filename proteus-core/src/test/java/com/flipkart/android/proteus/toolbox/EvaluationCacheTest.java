@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import android.content.Context;
+
+import com.flipkart.android.proteus.Function;
+import com.flipkart.android.proteus.value.Binding;
+import com.flipkart.android.proteus.value.BindingTest;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import androidx.annotation.NonNull;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * EvaluationCacheTest
+ *
+ * @author aditya.sharat
+ */
+public class EvaluationCacheTest {
+
+  private static Binding counter(final int[] calls) {
+    Function function = new Function() {
+      @NonNull
+      @Override
+      public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
+        calls[0]++;
+        return new Primitive(calls[0]);
+      }
+
+      @Override
+      public String getName() {
+        return "counter";
+      }
+    };
+    return new Binding.FunctionBinding(function, new Value[0]);
+  }
+
+  @Test
+  public void memoize_within_pass() throws Exception {
+    int[] calls = new int[1];
+    Binding binding = counter(calls);
+    ObjectValue data = BindingTest.data();
+
+    EvaluationCache.begin();
+    try {
+      assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(1));
+      assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(1));
+      assertThat(EvaluationCache.evaluate(binding, null, data, 1).getAsInt(), is(2));
+      assertThat(EvaluationCache.evaluate(binding, null, BindingTest.data(), 0).getAsInt(), is(3));
+
+      EvaluationCache.begin();
+      assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(1));
+      EvaluationCache.end();
+      assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(1));
+
+      EvaluationCache.suspend();
+      assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(4));
+      EvaluationCache.resume();
+    } finally {
+      EvaluationCache.end();
+    }
+
+    assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(5));
+    assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(6));
+  }
+
+  @Test
+  public void clear_after_pass() throws Exception {
+    int[] calls = new int[1];
+    Binding binding = counter(calls);
+    ObjectValue data = BindingTest.data();
+
+    EvaluationCache.begin();
+    EvaluationCache.evaluate(binding, null, data, 0);
+    EvaluationCache.end();
+
+    EvaluationCache.begin();
+    try {
+      assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(2));
+      EvaluationCache.invalidate();
+      assertThat(EvaluationCache.evaluate(binding, null, data, 0).getAsInt(), is(3));
+    } finally {
+      EvaluationCache.end();
+    }
+  }
+
+  @Test
+  public void grow() throws Exception {
+    int[] calls = new int[1];
+    Binding binding = counter(calls);
+    ObjectValue data = BindingTest.data();
+
+    EvaluationCache.begin();
+    try {
+      for (int i = 0; i < 2000; i++) {
+        EvaluationCache.evaluate(binding, null, data, i);
+      }
+      for (int i = 0; i < 2000; i++) {
+        assertThat(EvaluationCache.evaluate(binding, null, data, i).getAsInt(), is(i + 1));
+      }
+    } finally {
+      EvaluationCache.end();
+    }
+  }
+}
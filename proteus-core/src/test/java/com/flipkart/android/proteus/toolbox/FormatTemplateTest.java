@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.MissingFormatArgumentException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * FormatTemplateTest
+ *
+ * @author aditya.sharat
+ */
+public class FormatTemplateTest {
+
+  private static String format(String template, String... arguments) {
+    Value[] values = new Value[arguments.length + 1];
+    values[0] = new Primitive(template);
+    for (int i = 0; i < arguments.length; i++) {
+      values[i + 1] = new Primitive(arguments[i]);
+    }
+    return FormatTemplate.valueOf(template).format(values, 1);
+  }
+
+  @Test
+  public void format_simple() throws Exception {
+    String[] templates = {"", "plain", "%s", "%s, %s", "%2$s %1$s %s", "100%% of %s%n", "%s-%s-%1$s"};
+    for (String template : templates) {
+      assertThat(format(template, "a", "b", "c"), is(String.format(template, "a", "b", "c")));
+    }
+  }
+
+  @Test
+  public void format_fallback() throws Exception {
+    String[] templates = {"%5s|", "%-3s|", "%S", "%.1s"};
+    for (String template : templates) {
+      assertThat(format(template, "ab"), is(String.format(template, "ab")));
+    }
+  }
+
+  @Test(expected = MissingFormatArgumentException.class)
+  public void format_missing_argument() throws Exception {
+    format("%s and %s", "a");
+  }
+
+  @Test
+  public void template_cache() throws Exception {
+    assertThat(FormatTemplate.valueOf("%s items"), sameInstance(FormatTemplate.valueOf("%s items")));
+  }
+
+  @Test
+  public void formatters_are_thread_confined() throws Exception {
+    final Object[] other = new Object[2];
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        other[0] = Formatters.getDateFormat("d MMM");
+        other[1] = Formatters.getDecimalFormat("#,###");
+      }
+    });
+    thread.start();
+    thread.join();
+
+    SimpleDateFormat date = Formatters.getDateFormat("d MMM");
+    DecimalFormat decimal = Formatters.getDecimalFormat("#,###");
+
+    assertThat(Formatters.getDateFormat("d MMM"), sameInstance(date));
+    assertThat(Formatters.getDecimalFormat("#,###"), sameInstance(decimal));
+    assertThat(other[0], not(sameInstance((Object) date)));
+    assertThat(other[1], not(sameInstance((Object) decimal)));
+  }
+}
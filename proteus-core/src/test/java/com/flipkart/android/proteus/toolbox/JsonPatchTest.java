@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.toolbox;
+
+import com.flipkart.android.proteus.value.Array;
+import com.flipkart.android.proteus.value.BindingTest;
+import com.flipkart.android.proteus.value.ObjectValue;
+import com.flipkart.android.proteus.value.Observable;
+import com.flipkart.android.proteus.value.ObservableObjectValue;
+import com.flipkart.android.proteus.value.Primitive;
+import com.flipkart.android.proteus.value.Value;
+
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * JsonPatchTest
+ *
+ * @author aditya.sharat
+ */
+public class JsonPatchTest {
+
+  private static ObjectValue operation(String op, String path, Value value) {
+    ObjectValue operation = new ObjectValue();
+    operation.addProperty(JsonPatch.OP, op);
+    operation.addProperty(JsonPatch.PATH, path);
+    if (null != value) {
+      operation.add(JsonPatch.VALUE, value);
+    }
+    return operation;
+  }
+
+  private static ObjectValue move(String from, String path) {
+    ObjectValue operation = operation(JsonPatch.OP_MOVE, path, null);
+    operation.addProperty(JsonPatch.FROM, from);
+    return operation;
+  }
+
+  private static Array patch(ObjectValue... operations) {
+    Array patch = new Array();
+    for (ObjectValue operation : operations) {
+      patch.add(operation);
+    }
+    return patch;
+  }
+
+  @Test
+  public void add_remove_replace() throws Exception {
+    ObjectValue data = BindingTest.data();
+
+    Set<String> paths = JsonPatch.apply(patch(
+      operation(JsonPatch.OP_REPLACE, "/a/b/c", new Primitive(11)),
+      operation(JsonPatch.OP_ADD, "/a/b/x", new Primitive("x")),
+      operation(JsonPatch.OP_REPLACE, "/e/1", new Primitive(3)),
+      operation(JsonPatch.OP_ADD, "/g/-", new Primitive("last")),
+      operation(JsonPatch.OP_REMOVE, "/f", null)
+    ), data);
+
+    assertThat(paths.toString(), is("[a.b.c, a.b.x, e.1, g, f]"));
+    assertThat(data.getAsObject("a").getAsObject("b").getAsInteger("c"), is(11));
+    assertThat(data.getAsObject("a").getAsObject("b").getAsString("x"), is("x"));
+    assertThat(data.getAsArray("e").get(1).getAsInt(), is(3));
+    assertThat(data.getAsArray("g").get(0).getAsString(), is("last"));
+    assertThat(data.has("f"), is(false));
+  }
+
+  @Test
+  public void array_insert_and_remove() throws Exception {
+    ObjectValue data = BindingTest.data();
+
+    Set<String> paths = JsonPatch.apply(patch(
+      operation(JsonPatch.OP_ADD, "/e/0", new Primitive("zero")),
+      operation(JsonPatch.OP_REMOVE, "/e/2", null)
+    ), data);
+
+    assertThat(paths.toString(), is("[e]"));
+    assertThat(data.getAsArray("e").size(), is(3));
+    assertThat(data.getAsArray("e").get(0).getAsString(), is("zero"));
+    assertThat(data.getAsArray("e").get(1).getAsString(), is("alpha"));
+    assertThat(data.getAsArray("e").get(2).getAsBoolean(), is(false));
+  }
+
+  @Test
+  public void move_and_escaped_keys() throws Exception {
+    ObjectValue data = BindingTest.data();
+    ObjectValue b = data.getAsObject("a").getAsObject("b");
+
+    Set<String> paths = JsonPatch.apply(patch(
+      move("/a/b", "/x~1y"),
+      move("/e/2", "/e/0")
+    ), data);
+
+    assertThat(paths.toString(), is("[a.b, x/y, e]"));
+    assertThat(data.get("x/y") == b, is(true));
+    assertThat(data.getAsObject("a").has("b"), is(false));
+    assertThat(data.getAsArray("e").get(0).getAsBoolean(), is(false));
+  }
+
+  @Test
+  public void values_added_to_observable_data_are_observable() throws Exception {
+    ObservableObjectValue data = ObservableObjectValue.valueOf(BindingTest.data());
+    ObjectValue value = new ObjectValue();
+    value.addProperty("k", "v");
+
+    JsonPatch.apply(patch(operation(JsonPatch.OP_ADD, "/a/n", value)), data);
+
+    assertThat(data.getAsObject("a").get("n"), instanceOf(Observable.class));
+    assertThat(data.getAsObject("a").get("n") == value, is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void missing_path() throws Exception {
+    JsonPatch.apply(patch(operation(JsonPatch.OP_REPLACE, "/a/z", new Primitive(1))), BindingTest.data());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupported_operation() throws Exception {
+    JsonPatch.apply(patch(operation("test", "/a/b/c", new Primitive(10))), BindingTest.data());
+  }
+}
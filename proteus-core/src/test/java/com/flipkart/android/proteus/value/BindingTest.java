@@ -18,12 +18,17 @@ package com.flipkart.android.proteus.value;
 
 import android.content.Context;
 
+import com.flipkart.android.proteus.Function;
 import com.flipkart.android.proteus.Proteus;
 import com.flipkart.android.proteus.ProteusBuilder;
 import com.flipkart.android.proteus.ProteusContext;
 
 import org.junit.Test;
 
+import java.util.Set;
+
+import androidx.annotation.NonNull;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.mock;
@@ -107,6 +112,31 @@ public class BindingTest {
     assertThat(value.getAsString(), is("10"));
   }
 
+  @Test
+  public void evaluate_array_references() throws Exception {
+    ObjectValue data = data();
+
+    assertThat(Binding.valueOf("@{e.$length}", null, null).evaluate(null, data, 0).getAsInt(), is(3));
+    assertThat(Binding.valueOf("@{e[$last]}", null, null).evaluate(null, data, 0).getAsBoolean(), is(false));
+    assertThat(Binding.valueOf("@{e[$index]}", null, null).evaluate(null, data, 1).getAsInt(), is(2));
+    assertThat(Binding.valueOf("@{e[0]}", null, null).evaluate(null, data, 1).getAsString(), is("alpha"));
+    assertThat(Binding.valueOf("@{e[3]}", null, null).evaluate(null, data, 0).isNull(), is(true));
+    assertThat(Binding.valueOf("@{e[x]}", null, null).evaluate(null, data, 0).isNull(), is(true));
+    assertThat(Binding.valueOf("@{g[$last]}", null, null).evaluate(null, data, 0).isNull(), is(true));
+  }
+
+  @Test
+  public void token_opcodes() throws Exception {
+    assertThat(new Binding.Token("a", false, false).opcode, is(Binding.Token.OPCODE_KEY));
+    assertThat(new Binding.Token("12", false, true).opcode, is(Binding.Token.OPCODE_LITERAL_INDEX));
+    assertThat(new Binding.Token("12", false, true).index, is(12));
+    assertThat(new Binding.Token("-1", false, true).opcode, is(Binding.Token.OPCODE_KEY));
+    assertThat(new Binding.Token(Binding.INDEX, false, true).opcode, is(Binding.Token.OPCODE_DATA_INDEX));
+    assertThat(new Binding.Token(Binding.ARRAY_DATA_LENGTH_REFERENCE, false, false).opcode, is(Binding.Token.OPCODE_LENGTH));
+    assertThat(new Binding.Token(Binding.ARRAY_DATA_LAST_INDEX_REFERENCE, false, true).opcode, is(Binding.Token.OPCODE_LAST));
+    assertThat(new Binding.Token("", false, false).opcode, is(Binding.Token.OPCODE_EMPTY));
+  }
+
   @Test
   public void evaluate_function() throws Exception {
     ProteusContext context = context();
@@ -117,6 +147,144 @@ public class BindingTest {
     assertThat(value.getAsString(), is("2.0"));
   }
 
+  @Test
+  public void evaluate_nested_function() throws Exception {
+    ProteusContext context = context();
+    Binding binding = Binding.valueOf("@{fn:add(@{fn:length(@{e})},1)}", context, context.getFunctionManager());
+
+    Value value = binding.evaluate(null, data(), 0);
+
+    assertThat(value.getAsString(), is("4.0"));
+  }
+
+  @Test
+  public void evaluate_function_quoted_arguments() throws Exception {
+    ProteusContext context = context();
+    Binding binding = Binding.valueOf("@{fn:format('%s, (%s)', @{a.b.c}, 'it\\'s')}", context, context.getFunctionManager());
+
+    Value value = binding.evaluate(null, data(), 0);
+
+    assertThat(value.getAsString(), is("10, (it's)"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void evaluate_function_unbalanced() throws Exception {
+    ProteusContext context = context();
+    Binding.valueOf("@{fn:add(@{fn:length(@{e}),1)}", context, context.getFunctionManager());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void evaluate_function_unterminated_string() throws Exception {
+    ProteusContext context = context();
+    Binding.valueOf("@{fn:format('%s)}", context, context.getFunctionManager());
+  }
+
+  @Test
+  public void evaluate_function_arity() throws Exception {
+    final int[] calls = new int[5];
+    Function function = new Function() {
+      @NonNull
+      @Override
+      public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
+        calls[4]++;
+        return new Primitive(arguments.length);
+      }
+
+      @NonNull
+      @Override
+      public Value call0(Context context, Value data, int dataIndex) throws Exception {
+        calls[0]++;
+        return new Primitive(0);
+      }
+
+      @NonNull
+      @Override
+      public Value call2(Context context, Value data, int dataIndex, Value x, Value y) throws Exception {
+        calls[2]++;
+        return new Primitive(x.getAsString() + y.getAsString());
+      }
+
+      @Override
+      public String getName() {
+        return "arity";
+      }
+    };
+    Value a = Binding.valueOf("@{a.b.c}", null, null);
+    Value b = new Primitive("b");
+
+    assertThat(new Binding.FunctionBinding(function, new Value[0]).evaluate(null, data(), 0).getAsInt(), is(0));
+    assertThat(new Binding.FunctionBinding(function, new Value[]{a, b}).evaluate(null, data(), 0).getAsString(), is("10b"));
+    assertThat(new Binding.FunctionBinding(function, new Value[]{a}).evaluate(null, data(), 0).getAsInt(), is(1));
+    assertThat(new Binding.FunctionBinding(function, new Value[]{a, b, a, b}).evaluate(null, data(), 0).getAsInt(), is(4));
+    assertThat(calls, is(new int[]{1, 0, 1, 0, 2}));
+  }
+
+  @Test
+  public void evaluate_function_fast_paths() throws Exception {
+    ProteusContext context = context();
+    ObjectValue data = data();
+
+    assertThat(Binding.valueOf("@{fn:add(@{a.b.c},1,2)}", context, context.getFunctionManager()).evaluate(context, data, 0).getAsDouble(), is(13.0));
+    assertThat(Binding.valueOf("@{fn:eq(@{e[0]},'alpha')}", context, context.getFunctionManager()).evaluate(context, data, 0).getAsBoolean(), is(true));
+    assertThat(Binding.valueOf("@{fn:ternary(@{a.b.d},'yes','no')}", context, context.getFunctionManager()).evaluate(context, data, 0).getAsString(), is("yes"));
+    assertThat(Binding.valueOf("@{fn:not(@{a.b.d})}", context, context.getFunctionManager()).evaluate(context, data, 0).getAsBoolean(), is(false));
+    assertThat(Binding.valueOf("@{fn:trim(@{e[0]})}", context, context.getFunctionManager()).evaluate(context, data, 0).getAsString(), is("alpha"));
+  }
+
+  @Test
+  public void evaluate_function_short_circuit() throws Exception {
+    final int[] calls = new int[1];
+    Function counter = new Function() {
+      @NonNull
+      @Override
+      public Value call(Context context, Value data, int dataIndex, Value... arguments) throws Exception {
+        calls[0]++;
+        return new Primitive(true);
+      }
+
+      @Override
+      public String getName() {
+        return "counter";
+      }
+    };
+    Value count = new Binding.FunctionBinding(counter, new Value[0]);
+    Value yes = Binding.valueOf("@{a.b.d}", null, null);
+    Value no = new Primitive(false);
+    ObjectValue data = data();
+
+    assertThat(new Binding.FunctionBinding(Function.TERNARY, new Value[]{yes, new Primitive("t"), count}).evaluate(null, data, 0).getAsString(), is("t"));
+    assertThat(new Binding.FunctionBinding(Function.AND, new Value[]{no, count}).evaluate(null, data, 0).getAsBoolean(), is(false));
+    assertThat(new Binding.FunctionBinding(Function.OR, new Value[]{yes, count}).evaluate(null, data, 0).getAsBoolean(), is(true));
+    assertThat(calls[0], is(0));
+
+    assertThat(new Binding.FunctionBinding(Function.AND, new Value[]{yes, count}).evaluate(null, data, 0).getAsBoolean(), is(true));
+    assertThat(calls[0], is(1));
+  }
+
+  @Test
+  public void binding_paths() throws Exception {
+    ProteusContext context = context();
+
+    assertThat(Binding.valueOf("@{a.b[0].c}", null, null).getPaths().contains("a.b.0.c"), is(true));
+    assertThat(Binding.valueOf("@{$index}", null, null).getPaths().isEmpty(), is(true));
+    Set<String> paths = Binding.valueOf("@{fn:add(@{a.b.c},@{fn:length(@{e})},1)}", context, context.getFunctionManager()).getPaths();
+    assertThat(paths.size(), is(2));
+    assertThat(paths.contains("a.b.c"), is(true));
+    assertThat(paths.contains("e"), is(true));
+  }
+
+  @Test
+  public void is_affected() throws Exception {
+    assertThat(Binding.isAffected("a.b.c", "a.b.c"), is(true));
+    assertThat(Binding.isAffected("a.b.c", "a"), is(true));
+    assertThat(Binding.isAffected("a.b", "a.b.c"), is(true));
+    assertThat(Binding.isAffected("a.$index.c", "a.3"), is(true));
+    assertThat(Binding.isAffected("a.$length", "a.3"), is(true));
+    assertThat(Binding.isAffected("a.b.c", "a.bc"), is(false));
+    assertThat(Binding.isAffected("a.b.c", "a.b.d"), is(false));
+    assertThat(Binding.isAffected("ab", "a"), is(false));
+  }
+
   @Test
   public void to_string_1() throws Exception {
     String string = "@{a.b.c}";
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * ObjectValueTest
+ *
+ * @author aditya.sharat
+ */
+public class ObjectValueTest {
+
+  private static ObjectValue create(int size) {
+    ObjectValue object = new ObjectValue();
+    for (int i = 0; i < size; i++) {
+      object.addProperty("k" + i, i);
+    }
+    return object;
+  }
+
+  @Test
+  public void small_and_large() throws Exception {
+    for (int size : new int[]{0, 1, CompactMap.THRESHOLD, CompactMap.THRESHOLD + 1, 40}) {
+      ObjectValue object = create(size);
+      assertThat(object.size(), is(size));
+      for (int i = 0; i < size; i++) {
+        // equal but not identical keys
+        assertThat(object.getAsInteger(new String("k" + i)), is(i));
+      }
+      assertThat(object.get("x"), nullValue());
+      assertThat(object.has("k0"), is(size > 0));
+      assertThat(object, is(create(size)));
+      assertThat(object.hashCode(), is(create(size).hashCode()));
+    }
+  }
+
+  @Test
+  public void replace_and_remove() throws Exception {
+    ObjectValue object = create(3);
+    object.addProperty("k1", "one");
+    object.remove("k0");
+
+    assertThat(object.size(), is(2));
+    assertThat(object.getAsString("k1"), is("one"));
+    assertThat(object.entrySet().iterator().next().getKey(), is("k1"));
+    assertThat(object, not(create(3)));
+  }
+
+  @Test
+  public void entry_set() throws Exception {
+    ObjectValue object = create(4);
+
+    Iterator<Map.Entry<String, Value>> iterator = object.entrySet().iterator();
+    Map.Entry<String, Value> first = iterator.next();
+    iterator.remove();
+    Map.Entry<String, Value> second = iterator.next();
+    second.setValue(new Primitive("two"));
+
+    // the entry is still valid after the members have moved
+    object.remove("k2");
+    second.setValue(new Primitive("three"));
+
+    assertThat(first.getKey(), is("k0"));
+    assertThat(object.has("k0"), is(false));
+    assertThat(object.getAsString("k1"), is("three"));
+    assertThat(object.size(), is(2));
+  }
+}
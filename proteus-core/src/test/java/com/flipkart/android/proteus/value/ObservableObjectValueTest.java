@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import androidx.annotation.NonNull;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * ObservableObjectValueTest
+ *
+ * @author aditya.sharat
+ */
+public class ObservableObjectValueTest {
+
+  private static class Recorder implements Observable.Observer {
+
+    final List<String> paths = new ArrayList<>();
+
+    @Override
+    public void onChanged(@NonNull String path) {
+      paths.add(path);
+    }
+  }
+
+  @Test
+  public void add_and_remove() throws Exception {
+    ObservableObjectValue data = new ObservableObjectValue();
+    Recorder recorder = new Recorder();
+    data.addObserver(recorder);
+
+    data.addProperty("a", 1);
+    data.add("b", new Primitive(2));
+    data.remove("a");
+    data.remove("x");
+
+    assertThat(recorder.paths.toString(), is("[a, b, a]"));
+
+    data.removeObserver(recorder);
+    data.addProperty("c", 3);
+    assertThat(recorder.paths.size(), is(3));
+  }
+
+  @Test
+  public void nested_paths() throws Exception {
+    ObservableObjectValue data = ObservableObjectValue.valueOf(BindingTest.data());
+    Recorder recorder = new Recorder();
+    data.addObserver(recorder);
+
+    data.getAsObject("a").getAsObject("b").addProperty("c", 20);
+    data.getAsArray("e").set(1, new Primitive(3));
+    data.getAsArray("e").add(new Primitive(4));
+    data.getAsArray("e").remove(0);
+
+    assertThat(recorder.paths.toString(), is("[a.b.c, e.1, e.3, e]"));
+  }
+
+  @Test
+  public void detach_replaced_values() throws Exception {
+    ObservableObjectValue data = new ObservableObjectValue();
+    ObservableObjectValue child = new ObservableObjectValue();
+    data.add("a", child);
+    data.add("a", new ObservableObjectValue());
+    Recorder recorder = new Recorder();
+    data.addObserver(recorder);
+
+    child.addProperty("b", 1);
+    data.getAsObject("a").addProperty("b", 1);
+
+    assertThat(recorder.paths.toString(), is("[a.b]"));
+  }
+
+  @Test
+  public void assign() throws Exception {
+    ObservableObjectValue data = ObservableObjectValue.valueOf(BindingTest.data());
+    Recorder recorder = new Recorder();
+    data.addObserver(recorder);
+
+    Binding.DataBinding.valueOf("x.y[1].z").assign(new Primitive(1), data, 0);
+    Binding.DataBinding.valueOf("x.y[1].z").assign(new Primitive(2), data, 0);
+    Binding.DataBinding.valueOf("e[0]").assign(new Primitive("beta"), data, 0);
+
+    assertThat(data.getAsObject("x"), instanceOf(ObservableObjectValue.class));
+    assertThat(data.getAsObject("x").getAsArray("y"), instanceOf(ObservableArray.class));
+    assertThat(recorder.paths.get(recorder.paths.size() - 2), is("x.y.1.z"));
+    assertThat(recorder.paths.get(recorder.paths.size() - 1), is("e.0"));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * PersistentValueTest
+ *
+ * @author aditya.sharat
+ */
+public class PersistentValueTest {
+
+  @Test
+  public void object_with_and_without() throws Exception {
+    ObjectValue expected = new ObjectValue();
+    PersistentObjectValue object = PersistentObjectValue.EMPTY;
+    for (int i = 0; i < 2000; i++) {
+      object = object.with("k" + i, new Primitive(i));
+      expected.addProperty("k" + i, i);
+    }
+    PersistentObjectValue snapshot = object;
+
+    assertThat(object.size(), is(2000));
+    assertThat(object.getAsInteger("k1234"), is(1234));
+    assertThat((ObjectValue) object, is(expected));
+    assertThat(expected, is((ObjectValue) object));
+    assertThat(object.hashCode(), is(expected.hashCode()));
+    assertThat(object.with("k7", object.get("k7")), sameInstance(object));
+
+    for (int i = 0; i < 2000; i += 2) {
+      object = object.without("k" + i);
+    }
+
+    assertThat(object.size(), is(1000));
+    assertThat(object.get("k10"), nullValue());
+    assertThat(object.getAsInteger("k11"), is(11));
+    assertThat(snapshot.size(), is(2000));
+    assertThat(snapshot.getAsInteger("k10"), is(10));
+  }
+
+  @Test
+  public void object_hash_collisions() throws Exception {
+    // "Aa" and "BB" have the same hash code
+    PersistentObjectValue object = PersistentObjectValue.EMPTY.with("Aa", new Primitive(1)).with("BB", new Primitive(2));
+
+    assertThat(object.getAsInteger("Aa"), is(1));
+    assertThat(object.getAsInteger("BB"), is(2));
+    assertThat(object.without("Aa").has("BB"), is(true));
+    assertThat(object.without("Aa").without("BB"), is((ObjectValue) PersistentObjectValue.EMPTY));
+  }
+
+  @Test
+  public void deep_conversion() throws Exception {
+    ObjectValue data = BindingTest.data();
+    PersistentObjectValue object = PersistentObjectValue.valueOf(data);
+
+    assertThat((ObjectValue) object, is(data));
+    assertThat(object.getAsObject("a") instanceof PersistentObjectValue, is(true));
+    assertThat(object.getAsArray("e") instanceof PersistentArray, is(true));
+    assertThat(object.copy(), sameInstance(object));
+    assertThat((ObjectValue) object.with("f", new Primitive(1)), not(data));
+  }
+
+  @Test
+  public void array_with_and_plus() throws Exception {
+    Array expected = new Array();
+    PersistentArray array = PersistentArray.EMPTY;
+    for (int i = 0; i < 40000; i++) {
+      array = array.plus(new Primitive(i));
+      expected.add(i);
+    }
+    PersistentArray snapshot = array;
+
+    assertThat(array.size(), is(40000));
+    assertThat((Array) array, is(expected));
+    assertThat(array.hashCode(), is(expected.hashCode()));
+
+    for (int i = 0; i < 40000; i += 999) {
+      array = array.with(i, new Primitive(-i));
+    }
+
+    assertThat(array.get(999).getAsInt(), is(-999));
+    assertThat(array.get(1000).getAsInt(), is(1000));
+    assertThat(snapshot.get(999).getAsInt(), is(999));
+    assertThat(array.with(1000, array.get(1000)), sameInstance(array));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutable() throws Exception {
+    PersistentArray.EMPTY.add(new Primitive(1));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Flipkart Internet Pvt. Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.flipkart.android.proteus.value;
+
+import com.flipkart.android.proteus.toolbox.LazilyParsedNumber;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * PrimitiveTest
+ *
+ * @author aditya.sharat
+ */
+public class PrimitiveTest {
+
+  @Test
+  public void parse_number() throws Exception {
+    assertThat(Primitive.parseNumber("42"), instanceOf(IntPrimitive.class));
+    assertThat(Primitive.parseNumber("4200000000"), instanceOf(LongPrimitive.class));
+    assertThat(Primitive.parseNumber("4.5"), instanceOf(DoublePrimitive.class));
+
+    // literals which would not be printed back as they were keep their representation
+    assertThat(Primitive.parseNumber("4.50").getAsString(), is("4.50"));
+    assertThat(Primitive.parseNumber("1e3").getAsString(), is("1e3"));
+    assertThat(Primitive.parseNumber("007").getAsString(), is("007"));
+    assertThat(Primitive.parseNumber("4.50").getAsDouble(), is(4.5));
+  }
+
+  @Test
+  public void specialized_equals_generic() throws Exception {
+    assertThat(new IntPrimitive(7), is(new Primitive(7)));
+    assertThat(new Primitive(7L), is((Primitive) new IntPrimitive(7)));
+    assertThat(new IntPrimitive(7).hashCode(), is(new Primitive(7).hashCode()));
+    assertThat(new DoublePrimitive(7.5), is(new Primitive(7.5)));
+    assertThat(new DoublePrimitive(7.0), is((Primitive) new Primitive(new LazilyParsedNumber("7"))));
+    assertThat(BooleanPrimitive.TRUE, is(new Primitive(true)));
+    assertThat(new StringPrimitive("7"), is(new Primitive("7")));
+    assertThat(new StringPrimitive("7").hashCode(), is(new Primitive("7").hashCode()));
+    assertThat(new StringPrimitive("7"), not((Primitive) new IntPrimitive(7)));
+    assertThat(new StringPrimitive("true"), not((Primitive) BooleanPrimitive.TRUE));
+  }
+
+  @Test
+  public void accessors() throws Exception {
+    assertThat(new IntPrimitive(3).getAsString(), is("3"));
+    assertThat(new LongPrimitive(3L).getAsDouble(), is(3.0));
+    assertThat(new DoublePrimitive(3.75).getAsInt(), is(3));
+    assertThat(new DoublePrimitive(3.0).getAsString(), is("3.0"));
+    assertThat(BooleanPrimitive.FALSE.getAsString(), is("false"));
+
+    StringPrimitive string = new StringPrimitive("12");
+    assertThat(string.getAsInt(), is(12));
+    assertThat(string.getAsDouble(), is(12.0));
+    assertThat(string.getAsNumber() == string.getAsNumber(), is(true));
+    assertThat(string.isNumber(), is(false));
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void string_out_of_int_range() throws Exception {
+    new StringPrimitive("4200000000").getAsInt();
+  }
+}